@@ -577,6 +577,10 @@ def genJavaImpl(spec):
     def printMethodArgumentReader():
         print()
         print("    public static Method readMethodFrom(DataInputStream in) throws IOException {")
+        print("        return readMethodFrom(in, null);")
+        print("    }")
+        print()
+        print("    public static Method readMethodFrom(DataInputStream in, ShortStringCache shortStringCache) throws IOException {")
         print("        int classId = in.readShort();")
         print("        int methodId = in.readShort();")
         print("        switch (classId) {")
@@ -586,7 +590,7 @@ def genJavaImpl(spec):
             for m in c.allMethods():
                 fq_name = java_class_name(c.name) + '.' + java_class_name(m.name)
                 print("                    case %s: {" % (m.index))
-                print("                        return new %s(new MethodArgumentReader(new ValueReader(in)));" % (fq_name))
+                print("                        return new %s(new MethodArgumentReader(new ValueReader(in, shortStringCache)));" % (fq_name))
                 print("                    }")
             print("                    default: break;")
             print("                } break;")
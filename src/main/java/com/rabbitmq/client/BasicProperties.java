@@ -18,6 +18,17 @@ package com.rabbitmq.client;
 import java.util.Date;
 import java.util.Map;
 
+/**
+ * Properties of a message.
+ * <p>
+ * The properties of an instance are encoded the first time it is published
+ * and the encoded form is reused when the same instance is published again.
+ * Mutable values (the headers table and its nested tables and arrays, the timestamp)
+ * must therefore not be modified after the instance has been published.
+ * This includes the properties of a received message that is published again.
+ * Publish a new instance, built with {@link AMQP.BasicProperties.Builder}
+ * and new mutable values, instead.
+ */
 public interface BasicProperties {
     
     /**
@@ -34,7 +45,8 @@ public interface BasicProperties {
     
     /**
      * Retrieve the table in the headers field as a map of fields names and
-     * values. 
+     * values. The table must not be modified once the properties have been
+     * published.
      * @return headers table, or null if the headers field has not been set.
      */
     public abstract Map<String, Object> getHeaders();
@@ -0,0 +1,36 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client;
+
+/**
+ * Marker interface for {@link Consumer}s that keep a reference to the
+ * message body once {@link Consumer#handleDelivery} has returned, e.g.
+ * to process the message asynchronously.
+ * <p>
+ * This matters only when inbound buffers are pooled (see
+ * {@link ConnectionFactory#setByteArrayPool(com.rabbitmq.client.impl.ByteArrayPool)}):
+ * the body of a delivery is then given back to the pool as soon as
+ * {@link Consumer#handleDelivery} returns, unless the consumer implements
+ * this interface. Such a consumer can give the body back explicitly
+ * with {@link com.rabbitmq.client.impl.ByteArrayPool#release(byte[])}
+ * once it is done with it, or let the garbage collector reclaim it.
+ *
+ * @see ConnectionFactory#setByteArrayPool(com.rabbitmq.client.impl.ByteArrayPool)
+ * @since 6.0.0
+ */
+public interface BodyRetainingConsumer extends Consumer {
+
+}
@@ -245,6 +245,10 @@ public interface Channel extends ShutdownNotifier, AutoCloseable {
      * Invocations of <code>Channel#basicPublish</code> will eventually block if a
      * <a href="http://www.rabbitmq.com/alarms.html">resource-driven alarm</a> is in effect.
      *
+     * The properties are encoded once per instance: their headers and timestamp
+     * must not be modified after the first publish of the instance,
+     * see {@link com.rabbitmq.client.BasicProperties}.
+     *
      * @see com.rabbitmq.client.AMQP.Basic.Publish
      * @see <a href="http://www.rabbitmq.com/alarms.html">Resource-driven alarms</a>
      * @param exchange the exchange to publish the message to
@@ -261,6 +265,10 @@ public interface Channel extends ShutdownNotifier, AutoCloseable {
      * Invocations of <code>Channel#basicPublish</code> will eventually block if a
      * <a href="http://www.rabbitmq.com/alarms.html">resource-driven alarm</a> is in effect.
      *
+     * The properties are encoded once per instance: their headers and timestamp
+     * must not be modified after the first publish of the instance,
+     * see {@link com.rabbitmq.client.BasicProperties}.
+     *
      * @see com.rabbitmq.client.AMQP.Basic.Publish
      * @see <a href="http://www.rabbitmq.com/alarms.html">Resource-driven alarms</a>
      * @param exchange the exchange to publish the message to
@@ -282,6 +290,10 @@ public interface Channel extends ShutdownNotifier, AutoCloseable {
      * Invocations of <code>Channel#basicPublish</code> will eventually block if a
      * <a href="http://www.rabbitmq.com/alarms.html">resource-driven alarm</a> is in effect.
      *
+     * The properties are encoded once per instance: their headers and timestamp
+     * must not be modified after the first publish of the instance,
+     * see {@link com.rabbitmq.client.BasicProperties}.
+     *
      * @see com.rabbitmq.client.AMQP.Basic.Publish
      * @see <a href="http://www.rabbitmq.com/alarms.html">Resource-driven alarms</a>
      * @param exchange the exchange to publish the message to
@@ -296,6 +308,68 @@ public interface Channel extends ShutdownNotifier, AutoCloseable {
     void basicPublish(String exchange, String routingKey, boolean mandatory, boolean immediate, BasicProperties props, byte[] body)
             throws IOException;
 
+    /**
+     * Publish a batch of messages.
+     *
+     * The messages are sent in order under a single acquisition of the
+     * channel lock and the connection is flushed once, after the last message.
+     * If publisher confirms are enabled, the messages get contiguous sequence
+     * numbers, starting at the value {@link #getNextPublishSeqNo()} would
+     * have returned before the call.
+     *
+     * Invocations of <code>Channel#basicPublishBatch</code> will eventually block if a
+     * <a href="http://www.rabbitmq.com/alarms.html">resource-driven alarm</a> is in effect.
+     *
+     * @see #basicPublish(String, String, boolean, BasicProperties, byte[])
+     * @see <a href="http://www.rabbitmq.com/alarms.html">Resource-driven alarms</a>
+     * @param batch the messages to publish
+     * @throws java.io.IOException if an error is encountered
+     * @since 6.0.0
+     */
+    void basicPublishBatch(PublishBatch batch) throws IOException;
+
+    /**
+     * Publish a message and get a future completed when the broker confirms it.
+     *
+     * Publisher confirms must be enabled on the channel with {@link #confirmSelect()}.
+     * The future completes normally when the message is ack'ed, and exceptionally with
+     * a {@link PublishNackedException} when it is nack'ed. It completes exceptionally
+     * with a {@link ShutdownSignalException} if the channel is closed before the confirm
+     * arrives. Futures are completed on the connection thread, so dependent actions
+     * should not block.
+     *
+     * @see #basicPublish(String, String, BasicProperties, byte[])
+     * @see <a href="http://www.rabbitmq.com/confirms.html">Publisher Confirms</a>
+     * @param exchange the exchange to publish the message to
+     * @param routingKey the routing key
+     * @param props other properties for the message - routing headers etc
+     * @param body the message body
+     * @return a future completed when the message is confirmed
+     * @throws java.io.IOException if an error is encountered
+     * @throws IllegalStateException if publisher confirms are not enabled
+     * @since 6.0.0
+     */
+    CompletableFuture<Void> basicPublishAsync(String exchange, String routingKey, BasicProperties props, byte[] body)
+            throws IOException;
+
+    /**
+     * Publish a message and get a future completed when the broker confirms it.
+     *
+     * @see #basicPublishAsync(String, String, BasicProperties, byte[])
+     * @see <a href="http://www.rabbitmq.com/confirms.html">Publisher Confirms</a>
+     * @param exchange the exchange to publish the message to
+     * @param routingKey the routing key
+     * @param mandatory true if the 'mandatory' flag is to be set
+     * @param props other properties for the message - routing headers etc
+     * @param body the message body
+     * @return a future completed when the message is confirmed
+     * @throws java.io.IOException if an error is encountered
+     * @throws IllegalStateException if publisher confirms are not enabled
+     * @since 6.0.0
+     */
+    CompletableFuture<Void> basicPublishAsync(String exchange, String routingKey, boolean mandatory, BasicProperties props, byte[] body)
+            throws IOException;
+
     /**
      * Actively declare a non-autodelete, non-durable exchange with no extra arguments
      * @see com.rabbitmq.client.AMQP.Exchange.Declare
@@ -16,6 +16,7 @@
 package com.rabbitmq.client;
 
 import com.rabbitmq.client.impl.AMQConnection;
+import com.rabbitmq.client.impl.ByteArrayPool;
 import com.rabbitmq.client.impl.ConnectionParams;
 import com.rabbitmq.client.impl.CredentialsProvider;
 import com.rabbitmq.client.impl.DefaultCredentialsProvider;
@@ -23,12 +24,18 @@ import com.rabbitmq.client.impl.DefaultExceptionHandler;
 import com.rabbitmq.client.impl.ErrorOnWriteListener;
 import com.rabbitmq.client.impl.FrameHandler;
 import com.rabbitmq.client.impl.FrameHandlerFactory;
+import com.rabbitmq.client.impl.ShortStringCache;
 import com.rabbitmq.client.impl.SocketFrameHandlerFactory;
+import com.rabbitmq.client.impl.VirtualThreads;
+import com.rabbitmq.client.impl.nio.NioLoopMetrics;
 import com.rabbitmq.client.impl.nio.NioParams;
 import com.rabbitmq.client.impl.nio.SocketChannelFrameHandlerFactory;
 import com.rabbitmq.client.impl.recovery.AutorecoveringConnection;
 import com.rabbitmq.client.impl.recovery.RetryHandler;
 import com.rabbitmq.client.impl.recovery.TopologyRecoveryFilter;
+import com.rabbitmq.client.impl.transport.Transport;
+import com.rabbitmq.client.impl.transport.TransportFrameHandlerFactory;
+import com.rabbitmq.client.impl.transport.Transports;
 
 import javax.net.SocketFactory;
 import javax.net.ssl.SSLContext;
@@ -152,6 +159,12 @@ public class ConnectionFactory implements Cloneable {
     private FrameHandlerFactory frameHandlerFactory;
     private NioParams nioParams = new NioParams();
 
+    /**
+     * Transport to use instead of blocking IO or NIO.
+     * @since 6.0.0
+     */
+    private Transport transport;
+
     private SslContextFactory sslContextFactory;
 
     /**
@@ -209,6 +222,59 @@ public class ConnectionFactory implements Cloneable {
      */
     private TrafficListener trafficListener = TrafficListener.NO_OP;
 
+    /**
+     * Pool for inbound frame payloads and message bodies.
+     * Default is no pooling.
+     *
+     * @since 6.0.0
+     */
+    private ByteArrayPool byteArrayPool;
+
+    /**
+     * Whether consumer work runs on virtual threads.
+     *
+     * @since 6.0.0
+     */
+    private boolean virtualThreadDispatch = false;
+
+    /**
+     * Time a flush waits for other writers in blocking IO mode, in microseconds.
+     * Default is 0 (no write coalescing).
+     *
+     * @since 6.0.0
+     */
+    private int flushCoalescingInterval = 0;
+
+    /**
+     * Unflushed bytes that trigger an immediate flush with write coalescing.
+     * Default is 0 (the size of the output buffer).
+     *
+     * @since 6.0.0
+     */
+    private int flushCoalescingThreshold = 0;
+
+    /**
+     * Decode the properties of inbound messages on demand.
+     * Default is false (properties are decoded when messages arrive).
+     *
+     * @since 6.0.0
+     */
+    private boolean lazyPropertiesDecoding = false;
+
+    /**
+     * Number of entries of the per-connection cache for inbound short strings.
+     *
+     * @since 6.0.0
+     */
+    private int shortStringCacheSize = ShortStringCache.DEFAULT_SIZE;
+
+    /**
+     * Number of channels to pipeline topology recovery on, 0 to disable pipelining.
+     *
+     * @since 6.0.0
+     */
+    private int pipelinedTopologyRecoveryChannels = 0;
+
     /** @return the default host to use for connections */
     public String getHost() {
         return host;
@@ -855,16 +921,24 @@ public class ConnectionFactory implements Cloneable {
     }
 
     protected synchronized FrameHandlerFactory createFrameHandlerFactory() throws IOException {
-        if(nio) {
+        if(transport != null && transport.isAvailable() && (!isSSL() || transport.supportsTls())) {
+            if(this.frameHandlerFactory == null) {
+                this.frameHandlerFactory = new TransportFrameHandlerFactory(connectionTimeout, transport, isSSL(), sslContextFactory,
+                    getThreadFactory(), this.shutdownExecutor, byteArrayPool);
+            }
+            return this.frameHandlerFactory;
+        } else if(nio || transport != null) {
+            // NIO is the fallback when the transport cannot be used
             if(this.frameHandlerFactory == null) {
                 if(this.nioParams.getNioExecutor() == null && this.nioParams.getThreadFactory() == null) {
                     this.nioParams.setThreadFactory(getThreadFactory());
                 }
-                this.frameHandlerFactory = new SocketChannelFrameHandlerFactory(connectionTimeout, nioParams, isSSL(), sslContextFactory);
+                this.frameHandlerFactory = new SocketChannelFrameHandlerFactory(connectionTimeout, nioParams, isSSL(), sslContextFactory, byteArrayPool);
             }
             return this.frameHandlerFactory;
         } else {
-            return new SocketFrameHandlerFactory(connectionTimeout, socketFactory, socketConf, isSSL(), this.shutdownExecutor, sslContextFactory);
+            return new SocketFrameHandlerFactory(connectionTimeout, socketFactory, socketConf, isSSL(), this.shutdownExecutor, sslContextFactory,
+                byteArrayPool, flushCoalescingInterval, flushCoalescingThreshold);
         }
 
     }
@@ -1159,6 +1233,10 @@ public class ConnectionFactory implements Cloneable {
         result.setConnectionRecoveryTriggeringCondition(connectionRecoveryTriggeringCondition);
         result.setTopologyRecoveryRetryHandler(topologyRecoveryRetryHandler);
         result.setTrafficListener(trafficListener);
+        result.setVirtualThreadDispatch(virtualThreadDispatch);
+        result.setLazyPropertiesDecoding(lazyPropertiesDecoding);
+        result.setShortStringCacheSize(shortStringCacheSize);
+        result.setPipelinedTopologyRecoveryChannels(pipelinedTopologyRecoveryChannels);
         return result;
     }
 
@@ -1409,6 +1487,44 @@ public class ConnectionFactory implements Cloneable {
         this.nio = true;
     }
 
+    /**
+     * Use a {@link Transport} for communication with the server.
+     * <p>
+     * Transports are typically provided by optional modules, e.g. to use
+     * Linux epoll or io_uring to handle many connections with few threads.
+     * The factory falls back to NIO if the transport is not available
+     * in the current environment, or if it does not support TLS
+     * and TLS is enabled.
+     * <p>
+     * Use {@link NioParams} to tune NIO in case of fallback.
+     *
+     * @param transport the transport to use, null to use blocking IO or NIO
+     * @see Transport
+     * @see #useNativeTransport()
+     * @since 6.0.0
+     */
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Use the first available {@link Transport} provided by an optional module
+     * on the classpath, or NIO if there is none.
+     *
+     * @see Transports#discover()
+     * @see #setTransport(Transport)
+     * @see #useNio()
+     * @since 6.0.0
+     */
+    public void useNativeTransport() {
+        this.transport = Transports.discover();
+        this.nio = true;
+    }
+
     /**
      * Use blocking IO for communication with the server.
      * With blocking IO, each connection creates its own thread
@@ -1416,6 +1532,7 @@ public class ConnectionFactory implements Cloneable {
      */
     public void useBlockingIo() {
         this.nio = false;
+        this.transport = null;
     }
 
     /**
@@ -1492,6 +1609,22 @@ public class ConnectionFactory implements Cloneable {
         return workPoolTimeout;
     }
 
+    /**
+     * Metrics of the NIO loops used by the connections of this factory, one entry per IO thread.
+     * Empty if NIO is not used or if no connection has been created yet.
+     *
+     * @return the metrics of each NIO loop
+     * @see #useNio()
+     * @see NioParams#setNbIoThreads(int)
+     * @since 6.0.0
+     */
+    public synchronized List<NioLoopMetrics> getNioLoopMetrics() {
+        if (this.frameHandlerFactory instanceof SocketChannelFrameHandlerFactory) {
+            return ((SocketChannelFrameHandlerFactory) this.frameHandlerFactory).getNioLoopMetrics();
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * Set a listener to be called when connection gets an IO error trying to write on the socket.
      * Default listener triggers connection recovery asynchronously and propagates
@@ -1549,4 +1682,189 @@ public class ConnectionFactory implements Cloneable {
     public void setTrafficListener(TrafficListener trafficListener) {
         this.trafficListener = trafficListener;
     }
+
+    /**
+     * Set a pool to take inbound frame payloads and message bodies from.
+     * <p>
+     * This reduces allocation for high-throughput consumers. Frame payloads are
+     * given back to the pool as soon as they have been decoded. The body
+     * of a delivery is given back once {@link Consumer#handleDelivery} has returned,
+     * so consumers must not keep a reference to the body after the callback.
+     * Consumers that process messages asynchronously must implement
+     * {@link BodyRetainingConsumer}, their bodies are not given back automatically
+     * but can be released with {@link ByteArrayPool#release(byte[])}.
+     * <p>
+     * The pool can be shared by several connections.
+     * Default is no pooling.
+     *
+     * @param byteArrayPool the pool, null to disable pooling
+     * @see ByteArrayPool
+     * @see BodyRetainingConsumer
+     * @since 6.0.0
+     */
+    public void setByteArrayPool(ByteArrayPool byteArrayPool) {
+        this.byteArrayPool = byteArrayPool;
+    }
+
+    public ByteArrayPool getByteArrayPool() {
+        return byteArrayPool;
+    }
+
+    /**
+     * Run consumer work on virtual threads.
+     * <p>
+     * Instead of a fixed-size thread pool, each channel's consumer work runs on a virtual
+     * thread, one at a time per channel, so deliveries of a channel are still processed
+     * in order. This suits consumers that make blocking calls (database, HTTP) in
+     * {@link Consumer#handleDelivery}, as there is no thread pool to size.
+     * <p>
+     * This setting has no effect on connections created with a consumer executor
+     * (see {@link #setSharedExecutor(ExecutorService)} and {@link #newConnection(ExecutorService)}).
+     * Virtual threads require Java 21 or more.
+     *
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     * @see #setVirtualThreadDispatch(boolean)
+     * @since 6.0.0
+     */
+    public void useVirtualThreadDispatch() {
+        setVirtualThreadDispatch(true);
+    }
+
+    /**
+     * Enable or disable consumer work on virtual threads.
+     *
+     * @param virtualThreadDispatch true to run consumer work on virtual threads
+     * @throws IllegalStateException if virtual threads are requested but not supported by the JVM
+     * @see #useVirtualThreadDispatch()
+     * @since 6.0.0
+     */
+    public void setVirtualThreadDispatch(boolean virtualThreadDispatch) {
+        if (virtualThreadDispatch && !VirtualThreads.isAvailable()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or more");
+        }
+        this.virtualThreadDispatch = virtualThreadDispatch;
+    }
+
+    public boolean isVirtualThreadDispatch() {
+        return virtualThreadDispatch;
+    }
+
+    /**
+     * Combine the writes of the threads using a connection, in blocking IO mode.
+     * <p>
+     * Each command sent by a thread (e.g. a published message) is followed by a flush
+     * of the connection output, that is a system call. With write coalescing, the first
+     * thread to flush waits up to the given interval for other threads to send commands,
+     * and then flushes all the commands at once. Threads that flush meanwhile do not
+     * wait nor write to the socket. This increases throughput when many threads
+     * send small messages on the same connection, at the cost of latency:
+     * commands are sent at most the interval later.
+     * <p>
+     * A flush happens right away when the unflushed bytes reach the threshold.
+     * <p>
+     * This setting has no effect in NIO mode. Default is no write coalescing.
+     *
+     * @param intervalInMicros time to wait for other writers, in microseconds, 0 to disable write coalescing
+     * @param thresholdInBytes number of unflushed bytes that triggers a flush, 0 for the default output buffer size (8 KB)
+     * @see #useBlockingIo()
+     * @since 6.0.0
+     */
+    public void setWriteCoalescing(int intervalInMicros, int thresholdInBytes) {
+        if (intervalInMicros < 0 || thresholdInBytes < 0) {
+            throw new IllegalArgumentException("Write coalescing interval and threshold must be positive or 0");
+        }
+        this.flushCoalescingInterval = intervalInMicros;
+        this.flushCoalescingThreshold = thresholdInBytes;
+    }
+
+    public int getWriteCoalescingInterval() {
+        return flushCoalescingInterval;
+    }
+
+    public int getWriteCoalescingThreshold() {
+        return flushCoalescingThreshold;
+    }
+
+    /**
+     * Decode the properties of inbound messages on demand.
+     * <p>
+     * By default, the properties of a message (content type, headers, etc.)
+     * are fully decoded when the message arrives. With lazy decoding,
+     * the connection keeps the encoded properties and decodes each property
+     * on its first access. Header values are decoded only when looked up
+     * with {@link java.util.Map#get(Object)}, iterating the headers
+     * decodes all of them. This saves allocations for consumers that read
+     * no or few properties.
+     * <p>
+     * With lazy decoding, {@link AMQP.BasicProperties} instances of deliveries
+     * are not equal to instances created with a builder.
+     * Default is false.
+     *
+     * @param lazyPropertiesDecoding true to decode message properties on demand
+     * @since 6.0.0
+     */
+    public void setLazyPropertiesDecoding(boolean lazyPropertiesDecoding) {
+        this.lazyPropertiesDecoding = lazyPropertiesDecoding;
+    }
+
+    public boolean isLazyPropertiesDecoding() {
+        return lazyPropertiesDecoding;
+    }
+
+    /**
+     * Set the size of the cache connections use to decode inbound short strings.
+     * <p>
+     * Consumer tags, exchange names and routing keys are short strings
+     * that come back in each delivery. With the cache, each connection
+     * decodes them once and then reuses the same {@link String} instances,
+     * which saves allocations and speeds up the lookup of consumers.
+     * A string replaces another one when they compete for the same entry,
+     * so the cache never grows beyond its size.
+     * <p>
+     * Default is {@link ShortStringCache#DEFAULT_SIZE} entries.
+     *
+     * @param shortStringCacheSize number of entries, 0 to disable the cache
+     * @since 6.0.0
+     */
+    public void setShortStringCacheSize(int shortStringCacheSize) {
+        if (shortStringCacheSize < 0) {
+            throw new IllegalArgumentException("Short string cache size must be positive or 0");
+        }
+        this.shortStringCacheSize = shortStringCacheSize;
+    }
+
+    public int getShortStringCacheSize() {
+        return shortStringCacheSize;
+    }
+
+    /**
+     * Pipeline the recovery of exchanges, queues and bindings.
+     * <p>
+     * By default, topology recovery declares entities one synchronous
+     * request at a time. With pipelining, the declarations are sent
+     * with the <code>nowait</code> flag on dedicated recovery channels,
+     * and each phase of the recovery (exchanges, queues, bindings) waits
+     * only for one synchronous round trip per recovery channel.
+     * If a recovery channel fails, the entities it was recovering
+     * are recovered again the usual way, with the configured
+     * {@link RetryHandler} and {@link ExceptionHandler}.
+     * Server-named queues and consumers are always recovered synchronously.
+     * <p>
+     * Pipelining takes precedence over the {@link #setTopologyRecoveryExecutor(ExecutorService)}
+     * for exchanges, queues and bindings. Default is no pipelining.
+     *
+     * @param recoveryChannels number of recovery channels, 0 to disable pipelining
+     * @see RecoveryListener#handleTopologyRecoveryPhase(Recoverable, TopologyRecoveryPhase, int, java.time.Duration)
+     * @since 6.0.0
+     */
+    public void setPipelinedTopologyRecovery(int recoveryChannels) {
+        if (recoveryChannels < 0) {
+            throw new IllegalArgumentException("Number of recovery channels must be positive or 0");
+        }
+        this.pipelinedTopologyRecoveryChannels = recoveryChannels;
+    }
+
+    public int getPipelinedTopologyRecoveryChannels() {
+        return pipelinedTopologyRecoveryChannels;
+    }
 }
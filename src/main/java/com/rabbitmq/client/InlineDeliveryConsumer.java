@@ -0,0 +1,50 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client;
+
+/**
+ * Marker interface for {@link Consumer}s whose {@link Consumer#handleDelivery}
+ * is called directly on the thread that reads from the socket, instead of being
+ * handed off to the consumer work pool. This removes the hand-off latency for
+ * consumers that do very little per delivery, e.g. pushing the message to an
+ * in-memory queue or ring buffer.
+ * <p>
+ * While {@link Consumer#handleDelivery} runs, the connection reads nothing else:
+ * no other delivery, no RPC response, no heartbeat. So such a consumer:
+ * <ul>
+ *     <li>must return quickly and must not block;</li>
+ *     <li>must not call synchronous {@link Channel} methods that wait for a response
+ *     from the broker (e.g. {@link Channel#queueDeclare()}), as the response
+ *     could never be read: this would deadlock the connection;</li>
+ *     <li>can call asynchronous methods like {@link Channel#basicAck(long, boolean)},
+ *     but with NIO a full write queue then blocks the reading thread
+ *     (see {@link com.rabbitmq.client.impl.nio.NioParams#setWriteEnqueuingTimeoutInMs(int)}).</li>
+ * </ul>
+ * Only deliveries are dispatched inline, the other callbacks
+ * (e.g. {@link Consumer#handleConsumeOk(String)}, {@link Consumer#handleCancel(String)},
+ * {@link Consumer#handleShutdownSignal(String, ShutdownSignalException)}) still go through
+ * the consumer work pool, so {@link Consumer#handleConsumeOk(String)} can run after the first
+ * deliveries, and concurrently with them.
+ * Exceptions thrown by {@link Consumer#handleDelivery} are handled by the connection's
+ * {@link ExceptionHandler}, as for other consumers, but on the consumer work pool,
+ * as the handler may close the channel.
+ *
+ * @since 6.0.0
+ */
+public interface InlineDeliveryConsumer extends Consumer {
+
+}
@@ -0,0 +1,48 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client;
+
+import java.io.IOException;
+
+/**
+ * Signals that the broker negatively acknowledged (nack'ed) a message published
+ * with {@link Channel#basicPublishAsync(String, String, boolean, AMQP.BasicProperties, byte[])}:
+ * the broker could not take responsibility for the message.
+ *
+ * @since 6.0.0
+ */
+public class PublishNackedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The sequence number of the message.
+     */
+    private final long sequenceNumber;
+
+    public PublishNackedException(long sequenceNumber) {
+        super("Message with sequence number " + sequenceNumber + " has been nack'ed by the broker");
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * @return the publisher confirm sequence number of the message
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+}
@@ -15,6 +15,8 @@
 
 package com.rabbitmq.client;
 
+import java.time.Duration;
+
 /**
  * A RecoveryListener receives notifications about completed automatic connection
  * recovery.
@@ -36,4 +38,18 @@ public interface RecoveryListener {
      * @param recoverable a {@link Recoverable} connection.
      */
     void handleRecoveryStarted(Recoverable recoverable);
+
+    /**
+     * Invoked when a phase of topology recovery has completed,
+     * before {@link #handleRecovery(Recoverable)} is invoked.
+     * Does nothing by default.
+     * @param recoverable a {@link Recoverable} connection.
+     * @param phase the completed phase
+     * @param entityCount the number of recorded entities of this phase
+     * @param duration the time it took to recover the entities
+     * @since 6.0.0
+     */
+    default void handleTopologyRecoveryPhase(Recoverable recoverable, TopologyRecoveryPhase phase,
+                                             int entityCount, Duration duration) {
+    }
 }
@@ -26,13 +26,21 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.rabbitmq.client.impl.Environment;
 import com.rabbitmq.client.impl.MethodArgumentReader;
 import com.rabbitmq.client.impl.MethodArgumentWriter;
 import com.rabbitmq.client.impl.ValueReader;
 import com.rabbitmq.client.impl.ValueWriter;
-import com.rabbitmq.utility.BlockingCell;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +49,10 @@ import org.slf4j.LoggerFactory;
  * The class is agnostic about the format of RPC arguments / return values.
  * It simply provides a mechanism for sending a message to an exchange with a given routing key,
  * and waiting for a response.
+ * <p>
+ * Calls can also be made asynchronously with {@link #asyncCall(AMQP.BasicProperties, byte[], int)}:
+ * the calling thread does not wait for the response, and any number of calls can be in flight
+ * at the same time on the same client.
 */
 public class RpcClient {
 
@@ -56,16 +68,16 @@ public class RpcClient {
     private final String _replyTo;
     /** timeout to use on call responses */
     private final int _timeout;
-    /** NO_TIMEOUT value must match convention on {@link BlockingCell#uninterruptibleGet(int)} */
+    /** Value of the timeout to wait forever for responses */
     protected final static int NO_TIMEOUT = -1;
 
-    /** Map from request correlation ID to continuation BlockingCell */
-    private final Map<String, BlockingCell<Object>> _continuationMap = new HashMap<String, BlockingCell<Object>>();
+    /** Map from request correlation ID to continuation */
+    private final Map<String, CompletableFuture<Response>> _continuationMap = new ConcurrentHashMap<String, CompletableFuture<Response>>();
     /** Contains the most recently-used request correlation ID */
-    private int _correlationId;
+    private final AtomicInteger _correlationId = new AtomicInteger(0);
 
     /** Consumer attached to our reply queue */
-    private DefaultConsumer _consumer;
+    private volatile DefaultConsumer _consumer;
 
     /**
      * Construct a new RpcClient that will communicate on the given channel, sending
@@ -87,7 +99,6 @@ public class RpcClient {
         _replyTo = replyTo;
         if (timeout < NO_TIMEOUT) throw new IllegalArgumentException("Timeout arguument must be NO_TIMEOUT(-1) or non-negative.");
         _timeout = timeout;
-        _correlationId = 0;
 
         _consumer = setupConsumer();
     }
@@ -175,15 +186,15 @@ public class RpcClient {
      * @return the newly created and registered consumer
      */
     protected DefaultConsumer setupConsumer() throws IOException {
-        DefaultConsumer consumer = new DefaultConsumer(_channel) {
+        DefaultConsumer consumer = new ReplyConsumer(_channel) {
             @Override
             public void handleShutdownSignal(String consumerTag,
                                              ShutdownSignalException signal) {
-                synchronized (_continuationMap) {
-                    for (Entry<String, BlockingCell<Object>> entry : _continuationMap.entrySet()) {
-                        entry.getValue().set(signal);
+                _consumer = null;
+                for (Entry<String, CompletableFuture<Response>> entry : _continuationMap.entrySet()) {
+                    if (_continuationMap.remove(entry.getKey(), entry.getValue())) {
+                        entry.getValue().completeExceptionally(signal);
                     }
-                    _consumer = null;
                 }
             }
 
@@ -193,16 +204,14 @@ public class RpcClient {
                                        AMQP.BasicProperties properties,
                                        byte[] body)
                     throws IOException {
-                synchronized (_continuationMap) {
-                    String replyId = properties.getCorrelationId();
-                    BlockingCell<Object> blocker =_continuationMap.remove(replyId);
-                    if (blocker == null) {
-                        // Entry should have been removed if request timed out,
-                        // log a warning nevertheless.
-                        LOGGER.warn("No outstanding request for correlation ID {}", replyId);
-                    } else {
-                        blocker.set(new Response(consumerTag, envelope, properties, body));
-                    }
+                String replyId = properties.getCorrelationId();
+                CompletableFuture<Response> continuation = replyId == null ? null : _continuationMap.remove(replyId);
+                if (continuation == null) {
+                    // Entry should have been removed if request timed out,
+                    // log a warning nevertheless.
+                    LOGGER.warn("No outstanding request for correlation ID {}", replyId);
+                } else {
+                    continuation.complete(new Response(consumerTag, envelope, properties, body));
                 }
             }
         };
@@ -210,6 +219,33 @@ public class RpcClient {
         return consumer;
     }
 
+    /**
+     * Base class of the reply consumer. Replies are handed over to
+     * the calling threads, so their bodies must not go back to a pool.
+     */
+    private static abstract class ReplyConsumer extends DefaultConsumer implements BodyRetainingConsumer {
+
+        ReplyConsumer(Channel channel) {
+            super(channel);
+        }
+    }
+
+    /**
+     * Shared timer to expire the calls that have not received their response
+     * in time. Its only thread is started on the first call with a timeout.
+     */
+    private static final class TimeoutTimer {
+
+        private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                runnable -> Environment.newThread(Executors.defaultThreadFactory(), runnable, "rpc-client-timeout", true));
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
     public void publish(AMQP.BasicProperties props, byte[] message)
         throws IOException
     {
@@ -223,37 +259,100 @@ public class RpcClient {
 
     public Response doCall(AMQP.BasicProperties props, byte[] message, int timeout)
         throws IOException, ShutdownSignalException, TimeoutException {
-        checkConsumer();
-        BlockingCell<Object> k = new BlockingCell<Object>();
-        String replyId;
-        synchronized (_continuationMap) {
-            _correlationId++;
-            replyId = "" + _correlationId;
-            props = ((props==null) ? new AMQP.BasicProperties.Builder() : props.builder())
-                .correlationId(replyId).replyTo(_replyTo).build();
-            _continuationMap.put(replyId, k);
+        CompletableFuture<Response> k = asyncCall(props, message, timeout);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return k.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof ShutdownSignalException) {
+                        ShutdownSignalException sig = (ShutdownSignalException) cause;
+                        ShutdownSignalException wrapper =
+                            new ShutdownSignalException(sig.isHardError(),
+                                                        sig.isInitiatedByApplication(),
+                                                        sig.getReason(),
+                                                        sig.getReference());
+                        wrapper.initCause(sig);
+                        throw wrapper;
+                    } else if (cause instanceof TimeoutException) {
+                        throw (TimeoutException) cause;
+                    } else {
+                        throw new IOException(cause);
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
-        publish(props, message);
-        Object reply;
+    }
+
+    /**
+     * Send a request without waiting for its response, using the configured timeout.
+     * @param props the properties of the request, can be null
+     * @param message the request body
+     * @return the future response
+     * @throws IOException if the client is closed or the request cannot be sent
+     * @see #asyncCall(AMQP.BasicProperties, byte[], int)
+     * @since 6.0.0
+     */
+    public CompletableFuture<Response> asyncCall(AMQP.BasicProperties props, byte[] message)
+        throws IOException {
+        return asyncCall(props, message, _timeout);
+    }
+
+    /**
+     * Send a request without waiting for its response.
+     * <p>
+     * The returned future is completed with the response, or completed exceptionally with
+     * a {@link TimeoutException} if the response does not arrive in time, or with a
+     * {@link ShutdownSignalException} if the channel is closed in the meantime.
+     * The future is completed on the thread dispatching the replies, so
+     * long-running callbacks should use the <code>*Async</code> methods
+     * of {@link CompletableFuture}.
+     * Cancelling the future discards the response when it arrives.
+     * @param props the properties of the request, can be null
+     * @param message the request body
+     * @param timeout milliseconds before timing out on wait for response, or {@link #NO_TIMEOUT}
+     * @return the future response
+     * @throws IOException if the client is closed or the request cannot be sent
+     * @since 6.0.0
+     */
+    public CompletableFuture<Response> asyncCall(AMQP.BasicProperties props, byte[] message, int timeout)
+        throws IOException {
+        checkConsumer();
+        String replyId = Integer.toString(_correlationId.incrementAndGet());
+        props = ((props==null) ? new AMQP.BasicProperties.Builder() : props.builder())
+            .correlationId(replyId).replyTo(_replyTo).build();
+        CompletableFuture<Response> k = new CompletableFuture<Response>();
+        _continuationMap.put(replyId, k);
         try {
-            reply = k.uninterruptibleGet(timeout);
-        } catch (TimeoutException ex) {
-            // Avoid potential leak.  This entry is no longer needed by caller.
-            _continuationMap.remove(replyId);
-            throw ex;
+            publish(props, message);
+        } catch (IOException | RuntimeException e) {
+            _continuationMap.remove(replyId, k);
+            throw e;
         }
-        if (reply instanceof ShutdownSignalException) {
-            ShutdownSignalException sig = (ShutdownSignalException) reply;
-            ShutdownSignalException wrapper =
-                new ShutdownSignalException(sig.isHardError(),
-                                            sig.isInitiatedByApplication(),
-                                            sig.getReason(),
-                                            sig.getReference());
-            wrapper.initCause(sig);
-            throw wrapper;
+        if (timeout != NO_TIMEOUT) {
+            ScheduledFuture<?> timeoutTask = TimeoutTimer.EXECUTOR.schedule(() -> {
+                if (_continuationMap.remove(replyId, k)) {
+                    k.completeExceptionally(new TimeoutException("No response received for correlation ID " + replyId
+                        + " after " + timeout + " ms"));
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+            k.whenComplete((response, throwable) -> {
+                timeoutTask.cancel(false);
+                _continuationMap.remove(replyId, k);
+            });
         } else {
-            return (Response) reply;
+            // removes the entry if the caller cancels the future
+            k.whenComplete((response, throwable) -> _continuationMap.remove(replyId, k));
         }
+        return k;
     }
 
     public byte[] primitiveCall(AMQP.BasicProperties props, byte[] message)
@@ -413,9 +512,9 @@ public class RpcClient {
 
     /**
      * Retrieve the continuation map.
-     * @return the map of objects to blocking cells for this client
+     * @return the map of correlation ids to outstanding calls for this client
      */
-    public Map<String, BlockingCell<Object>> getContinuationMap() {
+    public Map<String, CompletableFuture<Response>> getContinuationMap() {
         return _continuationMap;
     }
 
@@ -424,7 +523,7 @@ public class RpcClient {
      * @return the most recently used correlation id
      */
     public int getCorrelationId() {
-        return _correlationId;
+        return _correlationId.get();
     }
 
     /**
@@ -17,16 +17,25 @@
 package com.rabbitmq.client;
 
 import com.rabbitmq.utility.Utility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Class which manages a request queue for a simple RPC-style service.
  * The class is agnostic about the format of RPC arguments / return values.
+ * <p>
+ * Requests are processed one at a time on the thread running the {@link #mainloop()},
+ * unless concurrent processing is enabled with {@link #enableConcurrentProcessing(Executor, int)}.
 */
 public class RpcServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RpcServer.class);
+
     /** Channel we are communicating on */
     private final Channel _channel;
     /** Queue to receive requests from */
@@ -37,6 +46,9 @@ public class RpcServer {
     /** Consumer attached to our request queue */
     private RpcConsumer _consumer;
 
+    /** Executor processing the requests, null to process them on the mainloop thread */
+    private volatile Executor _executor;
+
     /**
      * Creates an RpcServer listening on a temporary exclusive
      * autodelete queue.
@@ -92,6 +104,39 @@ public class RpcServer {
         return consumer;
     }
 
+    /**
+     * Public API - process requests concurrently on the given executor instead of
+     * on the mainloop thread. Call this before {@link #mainloop()}.
+     * <p>
+     * At most <code>maxInFlightRequests</code> requests are processed at the same time:
+     * this is enforced by the broker with a channel-wide prefetch count
+     * (see {@link Channel#basicQos(int, boolean)}), so a slow request does not stall
+     * the others, while the number of unacknowledged requests stays bounded.
+     * Replies are published from the executor threads. Each request is acknowledged
+     * individually, as soon as it has been processed.
+     * <p>
+     * Any executor can be used, e.g. a thread pool, or an executor creating a virtual thread
+     * per task on JVMs that support it. Request handlers must be thread-safe.
+     * A request whose processing fails is logged and acknowledged.
+     *
+     * @param executor the executor to process the requests with
+     * @param maxInFlightRequests the maximum number of requests processed at the same time
+     * @throws IOException if the prefetch count cannot be set
+     * @since 6.0.0
+     */
+    public void enableConcurrentProcessing(Executor executor, int maxInFlightRequests)
+        throws IOException
+    {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (maxInFlightRequests <= 0 || maxInFlightRequests > 65535) {
+            throw new IllegalArgumentException("Max in-flight requests must be between 1 and 65535");
+        }
+        _channel.basicQos(maxInFlightRequests, true);
+        _executor = executor;
+    }
+
     /**
      * Public API - main server loop. Call this to begin processing
      * requests. Request processing will continue until the Channel
@@ -116,8 +161,22 @@ public class RpcServer {
                 } catch (InterruptedException ie) {
                     continue;
                 }
-                processRequest(request);
-                _channel.basicAck(request.getEnvelope().getDeliveryTag(), false);
+                Executor executor = _executor;
+                if (executor == null) {
+                    processRequest(request);
+                    _channel.basicAck(request.getEnvelope().getDeliveryTag(), false);
+                } else {
+                    long deliveryTag = request.getEnvelope().getDeliveryTag();
+                    executor.execute(() -> {
+                        try {
+                            processRequest(request);
+                        } catch (Exception e) {
+                            LOGGER.warn("Error while processing RPC request with delivery tag {}", deliveryTag, e);
+                        } finally {
+                            acknowledge(deliveryTag);
+                        }
+                    });
+                }
             }
             return null;
         } catch (ShutdownSignalException sse) {
@@ -125,6 +184,18 @@ public class RpcServer {
         }
     }
 
+    /**
+     * Acknowledges a request processed concurrently, right away, so that a request
+     * completing behind a slower one does not keep holding the prefetch count.
+     */
+    private void acknowledge(long deliveryTag) {
+        try {
+            _channel.basicAck(deliveryTag, false);
+        } catch (IOException | ShutdownSignalException e) {
+            LOGGER.debug("Could not acknowledge RPC request with delivery tag {}", deliveryTag, e);
+        }
+    }
+
     /**
      * Call this method to terminate the mainloop.
      *
@@ -258,7 +329,12 @@ public class RpcServer {
         return _queueName;
     }
 
-    public interface RpcConsumer extends Consumer {
+    /**
+     * Consumer handing deliveries over to the server's main loop.
+     * Deliveries are processed after {@link Consumer#handleDelivery}
+     * has returned, hence the {@link BodyRetainingConsumer} contract.
+     */
+    public interface RpcConsumer extends BodyRetainingConsumer {
 
         Delivery nextDelivery() throws InterruptedException, ShutdownSignalException, ConsumerCancelledException;
 
@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
@@ -62,7 +63,7 @@ public abstract class AMQChannel extends ShutdownNotifierComponent {
     private final int _channelNumber;
 
     /** Command being assembled */
-    private AMQCommand _command = new AMQCommand();
+    private AMQCommand _command;
 
     /** The current outstanding RPC request, if any. (Could become a queue in future.) */
     private RpcWrapper _activeRpc = null;
@@ -75,6 +76,10 @@ public abstract class AMQChannel extends ShutdownNotifierComponent {
 
     private final boolean _checkRpcResponseType;
 
+    private final boolean _lazyPropertiesDecoding;
+
+    private final ShortStringCache _shortStringCache;
+
     private final TrafficListener _trafficListener;
 
     /**
@@ -90,6 +95,9 @@ public abstract class AMQChannel extends ShutdownNotifierComponent {
         }
         this._rpcTimeout = connection.getChannelRpcTimeout();
         this._checkRpcResponseType = connection.willCheckRpcResponseType();
+        this._lazyPropertiesDecoding = connection.willDecodePropertiesLazily();
+        this._shortStringCache = connection.getShortStringCache();
+        this._command = new AMQCommand(this._lazyPropertiesDecoding, this._shortStringCache);
         this._trafficListener = connection.getTrafficListener();
     }
 
@@ -110,7 +118,7 @@ public abstract class AMQChannel extends ShutdownNotifierComponent {
     public void handleFrame(Frame frame) throws IOException {
         AMQCommand command = _command;
         if (command.handleFrame(frame)) { // a complete command has rolled off the assembly line
-            _command = new AMQCommand(); // prepare for the next one
+            _command = new AMQCommand(_lazyPropertiesDecoding, _shortStringCache); // prepare for the next one
             handleCompleteInboundCommand(command);
         }
     }
@@ -437,22 +445,52 @@ public abstract class AMQChannel extends ShutdownNotifierComponent {
     public void quiescingTransmit(AMQCommand c) throws IOException {
         synchronized (_channelMutex) {
             if (c.getMethod().hasContent()) {
-                while (_blockContent) {
-                    try {
-                        _channelMutex.wait();
-                    } catch (InterruptedException ignored) {}
-
-                    // This is to catch a situation when the thread wakes up during
-                    // shutdown. Currently, no command that has content is allowed
-                    // to send anything in a closing state.
-                    ensureIsOpen();
-                }
+                waitForContentUnblocked();
             }
             this._trafficListener.write(c);
             c.transmit(this);
         }
     }
 
+    /**
+     * Protected API - sends the commands in order, under a single acquisition
+     * of the channel lock, and flushes the connection once after the last command.
+     * @param commands the commands to send
+     * @throws IOException if an error is encountered
+     */
+    public void transmit(List<AMQCommand> commands) throws IOException {
+        synchronized (_channelMutex) {
+            ensureIsOpen();
+            quiescingTransmit(commands);
+        }
+    }
+
+    public void quiescingTransmit(List<AMQCommand> commands) throws IOException {
+        synchronized (_channelMutex) {
+            for (AMQCommand c : commands) {
+                if (c.getMethod().hasContent()) {
+                    waitForContentUnblocked();
+                }
+                this._trafficListener.write(c);
+                c.transmitWithoutFlush(this);
+            }
+            _connection.flush();
+        }
+    }
+
+    private void waitForContentUnblocked() {
+        while (_blockContent) {
+            try {
+                _channelMutex.wait();
+            } catch (InterruptedException ignored) {}
+
+            // This is to catch a situation when the thread wakes up during
+            // shutdown. Currently, no command that has content is allowed
+            // to send anything in a closing state.
+            ensureIsOpen();
+        }
+    }
+
     public AMQConnection getConnection() {
         return _connection;
     }
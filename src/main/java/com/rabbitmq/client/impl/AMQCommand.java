@@ -49,6 +49,25 @@ public class AMQCommand implements Command {
         this(null, null, null);
     }
 
+    /**
+     * Construct a command ready to fill in by reading frames.
+     * @param lazyPropertiesDecoding true to decode basic properties on demand
+     * @since 6.0.0
+     */
+    public AMQCommand(boolean lazyPropertiesDecoding) {
+        this(lazyPropertiesDecoding, null);
+    }
+
+    /**
+     * Construct a command ready to fill in by reading frames.
+     * @param lazyPropertiesDecoding true to decode basic properties on demand
+     * @param shortStringCache cache to decode the short strings of the method, can be null
+     * @since 6.0.0
+     */
+    public AMQCommand(boolean lazyPropertiesDecoding, ShortStringCache shortStringCache) {
+        this.assembler = new CommandAssembler(null, null, null, lazyPropertiesDecoding, shortStringCache);
+    }
+
     /**
      * Construct a command with just a method, and without header or body.
      * @param method the wrapped method
@@ -85,6 +104,15 @@ public class AMQCommand implements Command {
         return this.assembler.getContentBody();
     }
 
+    /**
+     * Private API - the pool the content body array has been taken from.
+     * The body can be given back to this pool once it is no longer used.
+     * @return the pool, or null if the content body is not pooled
+     */
+    public ByteArrayPool getContentBodyPool() {
+        return this.assembler.getContentBodyPool();
+    }
+
     public boolean handleFrame(Frame f) throws IOException {
         return this.assembler.handleFrame(f);
     }
@@ -96,6 +124,18 @@ public class AMQCommand implements Command {
      * @throws IOException if an error is encountered
      */
     public void transmit(AMQChannel channel) throws IOException {
+        transmitWithoutFlush(channel);
+        channel.getConnection().flush();
+    }
+
+    /**
+     * Writes the frames of this command to the channel's connection
+     * without flushing it, so that several commands can be sent with
+     * a single flush.
+     * @param channel the channel on which to transmit the command
+     * @throws IOException if an error is encountered
+     */
+    void transmitWithoutFlush(AMQChannel channel) throws IOException {
         int channelNumber = channel.getChannelNumber();
         AMQConnection connection = channel.getConnection();
 
@@ -130,8 +170,6 @@ public class AMQCommand implements Command {
                 connection.writeFrame(m.toFrame(channelNumber));
             }
         }
-
-        connection.flush();
     }
 
     @Override public String toString() {
@@ -65,6 +65,7 @@ public class AMQConnection extends ShutdownNotifierComponent implements Connecti
     private final ErrorOnWriteListener errorOnWriteListener;
 
     private final int workPoolTimeout;
+    private final boolean virtualThreadDispatch;
 
     private final AtomicBoolean finalShutdownStarted = new AtomicBoolean(false);
 
@@ -141,6 +142,8 @@ public class AMQConnection extends ShutdownNotifierComponent implements Connecti
     protected final MetricsCollector metricsCollector;
     private final int channelRpcTimeout;
     private final boolean channelShouldCheckRpcResponseType;
+    private final boolean lazyPropertiesDecoding;
+    private final ShortStringCache shortStringCache;
     private final TrafficListener trafficListener;
 
     /* State modified after start - all volatile */
@@ -237,6 +240,9 @@ public class AMQConnection extends ShutdownNotifierComponent implements Connecti
         }
         this.channelRpcTimeout = params.getChannelRpcTimeout();
         this.channelShouldCheckRpcResponseType = params.channelShouldCheckRpcResponseType();
+        this.lazyPropertiesDecoding = params.isLazyPropertiesDecoding();
+        this.shortStringCache = params.getShortStringCacheSize() > 0 ?
+            new ShortStringCache(params.getShortStringCacheSize()) : null;
 
         this.trafficListener = params.getTrafficListener() == null ? TrafficListener.NO_OP : params.getTrafficListener();
         this._channel0 = new AMQChannel(this, 0) {
@@ -256,10 +262,12 @@ public class AMQConnection extends ShutdownNotifierComponent implements Connecti
         this.errorOnWriteListener = params.getErrorOnWriteListener() != null ? params.getErrorOnWriteListener() :
             (connection, exception) -> { throw exception; }; // we just propagate the exception for non-recoverable connections
         this.workPoolTimeout = params.getWorkPoolTimeout();
+        this.virtualThreadDispatch = params.isVirtualThreadDispatch();
     }
 
     private void initializeConsumerWorkService() {
-        this._workService  = new ConsumerWorkService(consumerWorkServiceExecutor, threadFactory, workPoolTimeout, shutdownTimeout);
+        this._workService  = new ConsumerWorkService(consumerWorkServiceExecutor, threadFactory, workPoolTimeout, shutdownTimeout,
+            virtualThreadDispatch);
     }
 
     private void initializeHeartbeatSender() {
@@ -681,6 +689,19 @@ public class AMQConnection extends ShutdownNotifierComponent implements Connecti
         }
     }
 
+    /**
+     * private API, counts missed heartbeats when a read operation times out
+     * outside of the main loop. The caller is expected to handle the failure
+     * with {@link #handleIoError(Throwable)}.
+     * @throws SocketTimeoutException if heart-beats have been missed or
+     * the connection negotiation timed out
+     */
+    public void handleReadTimeout() throws SocketTimeoutException {
+        if (_running) {
+            handleSocketTimeout();
+        }
+    }
+
     /** private API */
     public void handleHeartbeatFailure() {
         Exception ex = new MissedHeartbeatException("Heartbeat missing with heartbeat = " +
@@ -1128,6 +1149,17 @@ public class AMQConnection extends ShutdownNotifierComponent implements Connecti
         return channelShouldCheckRpcResponseType;
     }
 
+    public boolean willDecodePropertiesLazily() {
+        return lazyPropertiesDecoding;
+    }
+
+    /**
+     * @return the cache to decode inbound short strings, can be null
+     */
+    public ShortStringCache getShortStringCache() {
+        return shortStringCache;
+    }
+
     public TrafficListener getTrafficListener() {
         return trafficListener;
     }
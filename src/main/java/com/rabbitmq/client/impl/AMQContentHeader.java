@@ -16,14 +16,20 @@
 package com.rabbitmq.client.impl;
 
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.ContentHeader;
 
 /**
  * Implementation of ContentHeader - specialized by autogenerated code in AMQP.java.
+ * <p>
+ * Headers are immutable, so their properties are encoded once, on the first
+ * {@link #toFrame(int, long)}, and the encoded form is reused by later frames.
+ * Building a new header (e.g. with a builder) starts with a fresh encoded form.
+ * Values in the header must not be modified after the first frame
+ * (e.g. arrays or nested tables in headers, the timestamp).
  */
 
 public abstract class AMQContentHeader implements ContentHeader {
@@ -31,6 +37,12 @@ public abstract class AMQContentHeader implements ContentHeader {
      * Private API - Called by {@link AMQChannel#handleFrame}. Parses the header frame.
      */
     private long bodySize; 
+
+    /** Size of the class id, weight and body size fields */
+    private static final int HEADER_PREFIX_SIZE = 2 + 2 + 8;
+
+    /** Cached encoded properties, computed on the first frame */
+    private volatile byte[] encodedProperties;
     
     protected AMQContentHeader() {
         this.bodySize = 0;
@@ -44,12 +56,6 @@ public abstract class AMQContentHeader implements ContentHeader {
     public long getBodySize() { return bodySize; }
     
 
-    private void writeTo(DataOutputStream out, long bodySize) throws IOException {
-        out.writeShort(0); // weight - not currently used
-        out.writeLong(bodySize);
-        writePropertiesTo(new ContentHeaderPropertyWriter(out));
-    }
-
     /**
      * Private API - Autogenerated writer for this header
      */
@@ -72,11 +78,26 @@ public abstract class AMQContentHeader implements ContentHeader {
      * Private API - Called by {@link AMQCommand#transmit}
      */
     public Frame toFrame(int channelNumber, long bodySize) throws IOException {
-        Frame frame = new Frame(AMQP.FRAME_HEADER, channelNumber);
-        DataOutputStream bodyOut = frame.getOutputStream();
-        bodyOut.writeShort(getClassId());
-        writeTo(bodyOut, bodySize);
-        return frame;
+        byte[] properties = encodedProperties();
+        byte[] payload = new byte[HEADER_PREFIX_SIZE + properties.length];
+        ByteBuffer.wrap(payload)
+            .putShort((short) getClassId())
+            .putShort((short) 0) // weight - not currently used
+            .putLong(bodySize)
+            .put(properties);
+        return new Frame(AMQP.FRAME_HEADER, channelNumber, payload);
+    }
+
+    private byte[] encodedProperties() throws IOException {
+        byte[] properties = this.encodedProperties;
+        if (properties == null) {
+            // racing threads encode the same bytes, no need to synchronize
+            ByteArrayDataOutput out = new ByteArrayDataOutput(64);
+            writePropertiesTo(new ContentHeaderPropertyWriter(out));
+            properties = out.toByteArray();
+            this.encodedProperties = properties;
+        }
+        return properties;
     }
     
     @Override
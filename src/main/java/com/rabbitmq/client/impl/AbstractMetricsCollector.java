@@ -150,13 +150,7 @@ public abstract class AbstractMetricsCollector implements MetricsCollector {
     public void basicConsume(Channel channel, String consumerTag, boolean autoAck) {
         try {
             if(!autoAck) {
-                ChannelState channelState = channelState(channel);
-                channelState.lock.lock();
-                try {
-                    channelState(channel).consumersWithManualAck.add(consumerTag);
-                } finally {
-                    channelState.lock.unlock();
-                }
+                channelState(channel).consumersWithManualAck.add(consumerTag);
             }
         } catch(Exception e) {
             LOGGER.info("Error while computing metrics in basicConsume: " + e.getMessage());
@@ -166,13 +160,7 @@ public abstract class AbstractMetricsCollector implements MetricsCollector {
     @Override
     public void basicCancel(Channel channel, String consumerTag) {
         try {
-            ChannelState channelState = channelState(channel);
-            channelState.lock.lock();
-            try {
-                channelState(channel).consumersWithManualAck.remove(consumerTag);
-            } finally {
-                channelState.lock.unlock();
-            }
+            channelState(channel).consumersWithManualAck.remove(consumerTag);
         } catch(Exception e) {
             LOGGER.info("Error while computing metrics in basicCancel: " + e.getMessage());
         }
@@ -201,13 +189,14 @@ public abstract class AbstractMetricsCollector implements MetricsCollector {
         try {
             markConsumedMessage();
             ChannelState channelState = channelState(channel);
-            channelState.lock.lock();
-            try {
-                if(channelState.consumersWithManualAck.contains(consumerTag)) {
+            // no locking for consumers in automatic acknowledgment mode
+            if(channelState.consumersWithManualAck.contains(consumerTag)) {
+                channelState.lock.lock();
+                try {
                     channelState.unackedMessageDeliveryTags.add(deliveryTag);
+                } finally {
+                    channelState.lock.unlock();
                 }
-            } finally {
-                channelState.lock.unlock();
             }
         } catch(Exception e) {
             LOGGER.info("Error while computing metrics in consumedMessage: " + e.getMessage());
@@ -328,7 +317,7 @@ public abstract class AbstractMetricsCollector implements MetricsCollector {
         final Lock lock = new ReentrantLock();
 
         final Set<Long> unackedMessageDeliveryTags = new HashSet<Long>();
-        final Set<String> consumersWithManualAck = new HashSet<String>();
+        final Set<String> consumersWithManualAck = ConcurrentHashMap.newKeySet();
 
         final Channel channel;
 
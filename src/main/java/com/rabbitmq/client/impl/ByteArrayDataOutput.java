@@ -0,0 +1,221 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+
+/**
+ * Unsynchronized {@link DataOutput} writing into a growable byte array.
+ * <p>
+ * Unlike a {@link java.io.DataOutputStream} over a {@link java.io.ByteArrayOutputStream},
+ * it encodes strings in UTF-8 straight into the array, without intermediate byte arrays.
+ * <p>
+ * Private API - used to encode content headers.
+ *
+ * @see ValueWriter
+ * @since 6.0.0
+ */
+public final class ByteArrayDataOutput implements DataOutput {
+
+    private byte[] buffer;
+
+    private int position = 0;
+
+    public ByteArrayDataOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    /**
+     * Encodes a string in UTF-8, with no length prefix.
+     *
+     * @param str the string to encode
+     * @param utf8Length the encoded length, as computed by {@link Frame#utf8Length(String)}
+     */
+    public void writeUtf8(String str, int utf8Length) {
+        ensureCapacity(utf8Length);
+        byte[] b = buffer;
+        int p = position;
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                b[p++] = (byte) (0xF0 | (codePoint >> 18));
+                b[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced like String#getBytes does
+                b[p++] = (byte) '?';
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = p;
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * @return a copy of the bytes written
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, buffer, position, len);
+        position += len;
+    }
+
+    @Override
+    public void writeBoolean(boolean v) {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) {
+        write(v);
+    }
+
+    @Override
+    public void writeShort(int v) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) (v >>> 8);
+        buffer[position++] = (byte) v;
+    }
+
+    @Override
+    public void writeChar(int v) {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        ensureCapacity(4);
+        buffer[position++] = (byte) (v >>> 24);
+        buffer[position++] = (byte) (v >>> 16);
+        buffer[position++] = (byte) (v >>> 8);
+        buffer[position++] = (byte) v;
+    }
+
+    @Override
+    public void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+
+    @Override
+    public void writeFloat(float v) {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(String s) {
+        int length = s.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) s.charAt(i);
+        }
+    }
+
+    @Override
+    public void writeChars(String s) {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    /**
+     * Encodes a string in modified UTF-8, with a 2-byte length prefix,
+     * like {@link java.io.DataOutputStream#writeUTF(String)}.
+     * Not used in AMQP, see {@link #writeUtf8(String, int)}.
+     */
+    @Override
+    public void writeUTF(String s) throws UTFDataFormatException {
+        int length = s.length();
+        int utfLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            utfLength += (c >= 0x0001 && c < 0x0080) ? 1 : (c < 0x0800 ? 2 : 3);
+        }
+        if (utfLength > 65535) {
+            throw new UTFDataFormatException("encoded string too long: " + utfLength + " bytes");
+        }
+        ensureCapacity(2 + utfLength);
+        byte[] b = buffer;
+        int p = position;
+        b[p++] = (byte) (utfLength >>> 8);
+        b[p++] = (byte) utfLength;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c < 0x0080) {
+                b[p++] = (byte) c;
+            } else if (c < 0x0800) {
+                // including the null character, encoded on 2 bytes
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                // including surrogates, encoded separately
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        position = p;
+    }
+}
@@ -0,0 +1,155 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded pool of byte arrays for inbound frame payloads and message bodies.
+ * <p>
+ * Arrays are pooled by exact length: a message body handed to
+ * {@link com.rabbitmq.client.Consumer#handleDelivery} must be exactly
+ * as long as the body, so each distinct length is a size class of its own.
+ * This suits the usual steady-state traffic, where the frames and bodies
+ * of a given flow of messages have the same size. The number of size classes,
+ * the number of arrays per size class, and the length of pooled arrays are bounded;
+ * arrays that do not fit are allocated and left to the garbage collector.
+ * <p>
+ * An array must be released at most once, and must not be used after
+ * it has been released.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see com.rabbitmq.client.ConnectionFactory#setByteArrayPool(ByteArrayPool)
+ * @see com.rabbitmq.client.BodyRetainingConsumer
+ * @since 6.0.0
+ */
+public class ByteArrayPool {
+
+    public static final int DEFAULT_MAX_ARRAY_LENGTH = 128 * 1024;
+    public static final int DEFAULT_MAX_SIZE_CLASSES = 64;
+    public static final int DEFAULT_MAX_ARRAYS_PER_SIZE_CLASS = 256;
+
+    private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+
+    private final int maxArrayLength;
+    private final int maxSizeClasses;
+    private final int maxArraysPerSizeClass;
+
+    /** Open-addressing table of size classes, entries are never removed */
+    private final AtomicReferenceArray<SizeClass> sizeClasses;
+    private final int mask;
+    private final AtomicInteger sizeClassCount = new AtomicInteger(0);
+
+    public ByteArrayPool() {
+        this(DEFAULT_MAX_ARRAY_LENGTH, DEFAULT_MAX_SIZE_CLASSES, DEFAULT_MAX_ARRAYS_PER_SIZE_CLASS);
+    }
+
+    /**
+     * @param maxArrayLength longest array to pool
+     * @param maxSizeClasses maximum number of distinct array lengths to pool
+     * @param maxArraysPerSizeClass maximum number of pooled arrays for a given length
+     */
+    public ByteArrayPool(int maxArrayLength, int maxSizeClasses, int maxArraysPerSizeClass) {
+        if (maxArrayLength <= 0 || maxSizeClasses <= 0 || maxArraysPerSizeClass <= 0) {
+            throw new IllegalArgumentException("Pool bounds must be greater than 0");
+        }
+        this.maxArrayLength = maxArrayLength;
+        this.maxSizeClasses = maxSizeClasses;
+        this.maxArraysPerSizeClass = maxArraysPerSizeClass;
+        // at least twice the number of size classes to keep probing short
+        int capacity = Integer.highestOneBit(maxSizeClasses * 2 - 1) << 1;
+        this.sizeClasses = new AtomicReferenceArray<SizeClass>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Get an array of the given length, from the pool if possible.
+     * The content of the returned array is undefined.
+     *
+     * @param length the length of the array
+     * @return an array of exactly <code>length</code> bytes
+     */
+    public byte[] acquire(int length) {
+        if (length == 0) {
+            return EMPTY_BYTE_ARRAY;
+        }
+        SizeClass sizeClass = sizeClass(length, false);
+        if (sizeClass != null) {
+            byte[] array = sizeClass.arrays.poll();
+            if (array != null) {
+                return array;
+            }
+        }
+        return new byte[length];
+    }
+
+    /**
+     * Give an array back to the pool.
+     * The array is dropped if the pool is full.
+     *
+     * @param array the array to release
+     */
+    public void release(byte[] array) {
+        if (array == null || array.length == 0 || array.length > maxArrayLength) {
+            return;
+        }
+        SizeClass sizeClass = sizeClass(array.length, true);
+        if (sizeClass != null) {
+            sizeClass.arrays.offer(array);
+        }
+    }
+
+    private SizeClass sizeClass(int length, boolean create) {
+        if (length > maxArrayLength) {
+            return null;
+        }
+        int index = (length * 0x9E3779B9) & mask;
+        for (int i = 0; i <= mask; i++) {
+            SizeClass sizeClass = sizeClasses.get(index);
+            if (sizeClass == null) {
+                if (!create || sizeClassCount.get() >= maxSizeClasses) {
+                    return null;
+                }
+                SizeClass newSizeClass = new SizeClass(length, maxArraysPerSizeClass);
+                if (sizeClasses.compareAndSet(index, null, newSizeClass)) {
+                    sizeClassCount.incrementAndGet();
+                    return newSizeClass;
+                }
+                // lost the race, look again at this slot
+                sizeClass = sizeClasses.get(index);
+            }
+            if (sizeClass.length == length) {
+                return sizeClass;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private static final class SizeClass {
+
+        private final int length;
+        private final ArrayBlockingQueue<byte[]> arrays;
+
+        private SizeClass(int length, int capacity) {
+            this.length = length;
+            this.arrays = new ArrayBlockingQueue<byte[]>(capacity);
+        }
+    }
+}
@@ -24,11 +24,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Manages a set of channels, indexed by channel number (<code><b>1.._channelMax</b></code>).
@@ -37,10 +36,18 @@ public class ChannelManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelManager.class);
 
-    /** Monitor for <code>_channelMap</code> and <code>channelNumberAllocator</code> */
+    /** Initial size of the channel table */
+    private static final int INITIAL_CHANNEL_TABLE_SIZE = 64;
+
+    /** Monitor for changes of <code>_channelTable</code> and for <code>channelNumberAllocator</code> */
     private final Object monitor = new Object();
-        /** Mapping from <code><b>1.._channelMax</b></code> to {@link ChannelN} instance */
-        private final Map<Integer, ChannelN> _channelMap = new HashMap<Integer, ChannelN>();
+        /**
+         * Mapping from <code><b>1.._channelMax</b></code> to {@link ChannelN} instance,
+         * indexed by channel number. Read without locking for each inbound frame.
+         * Grows up to <code><b>_channelMax</b></code> + 1 entries as channel numbers
+         * are allocated, and is replaced when it grows.
+         */
+        private volatile AtomicReferenceArray<ChannelN> _channelTable;
         private final IntAllocator channelNumberAllocator;
 
     private final ConsumerWorkService workService;
@@ -77,6 +84,7 @@ public class ChannelManager {
         }
         _channelMax = channelMax;
         channelNumberAllocator = new IntAllocator(1, channelMax);
+        _channelTable = new AtomicReferenceArray<ChannelN>(Math.min(channelMax + 1, INITIAL_CHANNEL_TABLE_SIZE));
 
         this.workService = workService;
         this.threadFactory = threadFactory;
@@ -90,11 +98,32 @@ public class ChannelManager {
      * @throws UnknownChannelException if there is no channel with number <code><b>channelNumber</b></code> on this connection
      */
     public ChannelN getChannel(int channelNumber) {
-        synchronized (this.monitor) {
-            ChannelN ch = _channelMap.get(channelNumber);
-            if(ch == null) throw new UnknownChannelException(channelNumber);
-            return ch;
+        ChannelN ch = lookup(channelNumber);
+        if(ch == null) throw new UnknownChannelException(channelNumber);
+        return ch;
+    }
+
+    private ChannelN lookup(int channelNumber) {
+        AtomicReferenceArray<ChannelN> table = _channelTable;
+        if (channelNumber < 0 || channelNumber >= table.length()) {
+            return null;
         }
+        return table.get(channelNumber);
+    }
+
+    /** Must be called while holding <code>monitor</code>. */
+    private void store(int channelNumber, ChannelN channel) {
+        AtomicReferenceArray<ChannelN> table = _channelTable;
+        if (channelNumber >= table.length()) {
+            int length = Math.min(Math.max(channelNumber + 1, table.length() * 2), _channelMax + 1);
+            AtomicReferenceArray<ChannelN> grown = new AtomicReferenceArray<ChannelN>(length);
+            for (int i = 0; i < table.length(); i++) {
+                grown.set(i, table.get(i));
+            }
+            table = grown;
+            _channelTable = grown;
+        }
+        table.set(channelNumber, channel);
     }
 
     /**
@@ -102,9 +131,15 @@ public class ChannelManager {
      * @param signal reason for shutdown
      */
     public void handleSignal(final ShutdownSignalException signal) {
-        Set<ChannelN> channels;
+        Set<ChannelN> channels = new HashSet<ChannelN>();
         synchronized(this.monitor) {
-            channels = new HashSet<ChannelN>(_channelMap.values());
+            AtomicReferenceArray<ChannelN> table = _channelTable;
+            for (int i = 0; i < table.length(); i++) {
+                ChannelN channel = table.get(i);
+                if (channel != null) {
+                    channels.add(channel);
+                }
+            }
         }
 
         for (final ChannelN channel : channels) {
@@ -191,7 +226,7 @@ public class ChannelManager {
     }
 
     private ChannelN addNewChannel(AMQConnection connection, int channelNumber) {
-        if (_channelMap.containsKey(channelNumber)) {
+        if (lookup(channelNumber) != null) {
             // That number's already allocated! Can't do it
             // This should never happen unless something has gone
             // badly wrong with our implementation.
@@ -201,7 +236,7 @@ public class ChannelManager {
                     + "Please report this as a bug.");
         }
         ChannelN ch = instantiateChannel(connection, channelNumber, this.workService);
-        _channelMap.put(ch.getChannelNumber(), ch);
+        store(ch.getChannelNumber(), ch);
         return ch;
     }
 
@@ -228,16 +263,16 @@ public class ChannelManager {
         // but it's much easier to just catch it here.
         synchronized (this.monitor) {
             int channelNumber = channel.getChannelNumber();
-            ChannelN existing = _channelMap.remove(channelNumber);
+            ChannelN existing = lookup(channelNumber);
             // Nothing to do here. Move along.
             if (existing == null)
                 return;
-            // Oops, we've gone and stomped on someone else's channel. Put it
-            // back and pretend we didn't touch it.
+            // Oops, that's someone else's channel. Leave it
+            // and pretend we didn't touch it.
             else if (existing != channel) {
-                _channelMap.put(channelNumber, existing);
                 return;
             }
+            store(channelNumber, null);
             channelNumberAllocator.free(channelNumber);
         }
     }
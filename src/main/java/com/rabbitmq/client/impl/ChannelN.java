@@ -16,12 +16,10 @@
 package com.rabbitmq.client.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.SortedSet;
-import java.util.TreeSet;
 import java.util.concurrent.*;
 
 import com.rabbitmq.client.ConfirmCallback;
@@ -53,16 +51,15 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
     private static final String UNSPECIFIED_OUT_OF_BAND = "";
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelN.class);
 
-    /** Map from consumer tag to {@link Consumer} instance.
+    /** Registry from consumer tag to {@link Consumer} instance.
      * <p/>
-     * Note that, in general, this map should ONLY ever be accessed
+     * Note that, in general, this registry should ONLY ever be modified
      * from the connection's reader thread. We go to some pains to
      * ensure this is the case - see the use of
      * BlockingRpcContinuation to inject code into the reader thread
      * in basicConsume and basicCancel.
      */
-    private final Map<String, Consumer> _consumers =
-        Collections.synchronizedMap(new HashMap<String, Consumer>());
+    private final ConsumerRegistry _consumers = new ConsumerRegistry();
 
     /* All listeners collections are in CopyOnWriteArrayList objects */
     /** The ReturnListener collection. */
@@ -82,10 +79,15 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
     /** Future boolean for shutting down */
     private volatile CountDownLatch finishedShutdownFlag = null;
 
-    /** Set of currently unconfirmed messages (i.e. messages that have
+    /** Currently unconfirmed messages (i.e. messages that have
      *  not been ack'd or nack'd by the server yet. */
-    private final SortedSet<Long> unconfirmedSet =
-            Collections.synchronizedSortedSet(new TreeSet<Long>());
+    private final ConfirmTracker unconfirmedSet = new ConfirmTracker();
+
+    /** Monitor to wait on for the unconfirmed messages to be confirmed. */
+    private final Object confirmMonitor = new Object();
+
+    /** Futures of the messages published with basicPublishAsync. */
+    private final ConfirmFutures confirmFutures = new ConfirmFutures();
 
     /** Whether any nacks have been received since the last waitForConfirms(). */
     private volatile boolean onlyAcksReceived = true;
@@ -209,7 +211,7 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
         if (nextPublishSeqNo == 0L)
             throw new IllegalStateException("Confirms not selected");
         long startTime = System.currentTimeMillis();
-        synchronized (unconfirmedSet) {
+        synchronized (confirmMonitor) {
             while (true) {
                 if (getCloseReason() != null) {
                     throw Utility.fixStackTrace(getCloseReason());
@@ -220,11 +222,11 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
                     return aux;
                 }
                 if (timeout == 0L) {
-                    unconfirmedSet.wait();
+                    confirmMonitor.wait();
                 } else {
                     long elapsed = System.currentTimeMillis() - startTime;
                     if (timeout > elapsed) {
-                        unconfirmedSet.wait(timeout - elapsed);
+                        confirmMonitor.wait(timeout - elapsed);
                     } else {
                         throw new TimeoutException();
                     }
@@ -280,7 +282,7 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
      * @param signal an exception signalling channel shutdown
      */
     private void broadcastShutdownSignal(ShutdownSignalException signal) {
-        this.finishedShutdownFlag = this.dispatcher.handleShutdownSignal(Utility.copy(_consumers), signal);
+        this.finishedShutdownFlag = this.dispatcher.handleShutdownSignal(_consumers.consumers(), signal);
     }
 
     /**
@@ -300,9 +302,10 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
         this.dispatcher.quiesce();
         broadcastShutdownSignal(getCloseReason());
 
-        synchronized (unconfirmedSet) {
-            unconfirmedSet.notifyAll();
+        synchronized (confirmMonitor) {
+            confirmMonitor.notifyAll();
         }
+        confirmFutures.fail(getCloseReason());
     }
 
     /**
@@ -375,7 +378,7 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
                 handleAckNack(nack.getDeliveryTag(), nack.getMultiple(), true);
                 return true;
             } else if (method instanceof Basic.RecoverOk) {
-                for (Map.Entry<String, Consumer> entry : Utility.copy(_consumers).entrySet()) {
+                for (Map.Entry<String, Consumer> entry : _consumers.consumers().entrySet()) {
                     this.dispatcher.handleRecoverOk(entry.getValue(), entry.getKey());
                 }
                 // Unlike all the other cases we still want this RecoverOk to
@@ -452,11 +455,14 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
             // this way, the message is inside the stats before it is handled
             // in case a manual ack in the callback, the stats will be able to record the ack
             metricsCollector.consumedMessage(this, m.getDeliveryTag(), m.getConsumerTag());
+            ByteArrayPool bodyPool = command instanceof AMQCommand ?
+                ((AMQCommand) command).getContentBodyPool() : null;
             this.dispatcher.handleDelivery(callback,
                                            m.getConsumerTag(),
                                            envelope,
                                            (BasicProperties) command.getContentHeader(),
-                                           command.getContentBody());
+                                           command.getContentBody(),
+                                           bodyPool);
         } catch (WorkPoolFullException e) {
             // couldn't enqueue in work pool, propagating
             throw e;
@@ -687,7 +693,7 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
         throws IOException
     {
         if (nextPublishSeqNo > 0) {
-            unconfirmedSet.add(getNextPublishSeqNo());
+            unconfirmedSet.published(getNextPublishSeqNo());
             nextPublishSeqNo++;
         }
         if (props == null) {
@@ -709,6 +715,101 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
         metricsCollector.basicPublish(this);
     }
 
+    /** Public API - {@inheritDoc} */
+    @Override
+    public CompletableFuture<Void> basicPublishAsync(String exchange, String routingKey,
+                                                     BasicProperties props, byte[] body)
+        throws IOException
+    {
+        return basicPublishAsync(exchange, routingKey, false, props, body);
+    }
+
+    /** Public API - {@inheritDoc} */
+    @Override
+    public CompletableFuture<Void> basicPublishAsync(String exchange, String routingKey,
+                                                     boolean mandatory,
+                                                     BasicProperties props, byte[] body)
+        throws IOException
+    {
+        if (nextPublishSeqNo == 0L)
+            throw new IllegalStateException("Confirms not selected");
+        if (props == null) {
+            props = MessageProperties.MINIMAL_BASIC;
+        }
+        AMQCommand command = new AMQCommand(
+            new Basic.Publish.Builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .mandatory(mandatory)
+                .build(), props, body);
+        CompletableFuture<Void> future = null;
+        try {
+            synchronized (_channelMutex) {
+                ensureIsOpen();
+                // the future is registered under the channel lock,
+                // so futures are kept in sequence number order
+                long seqNo = getNextPublishSeqNo();
+                future = confirmFutures.add(seqNo);
+                unconfirmedSet.published(seqNo);
+                nextPublishSeqNo++;
+                quiescingTransmit(command);
+            }
+        } catch (IOException e) {
+            if (future != null) {
+                future.completeExceptionally(e);
+            }
+            metricsCollector.basicPublishFailure(this, e);
+            throw e;
+        }
+        metricsCollector.basicPublish(this);
+        return future;
+    }
+
+    /** Public API - {@inheritDoc} */
+    @Override
+    public void basicPublishBatch(PublishBatch batch)
+        throws IOException
+    {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<AMQCommand> commands = new ArrayList<AMQCommand>(batch.size());
+        for (PublishBatch.Message message : batch.getMessages()) {
+            BasicProperties props = message.getProps();
+            if (props == null) {
+                props = MessageProperties.MINIMAL_BASIC;
+            }
+            commands.add(new AMQCommand(
+                new Basic.Publish.Builder()
+                    .exchange(message.getExchange())
+                    .routingKey(message.getRoutingKey())
+                    .mandatory(message.isMandatory())
+                    .build(), props, message.getBody()));
+        }
+        try {
+            synchronized (_channelMutex) {
+                ensureIsOpen();
+                // sequence numbers are assigned under the channel lock,
+                // so the messages of the batch get contiguous ones
+                if (nextPublishSeqNo > 0) {
+                    for (int i = 0; i < commands.size(); i++) {
+                        unconfirmedSet.published(getNextPublishSeqNo());
+                        nextPublishSeqNo++;
+                    }
+                }
+                quiescingTransmit(commands);
+            }
+        } catch (IOException e) {
+            for (int i = 0; i < commands.size(); i++) {
+                metricsCollector.basicPublishFailure(this, e);
+            }
+            throw e;
+        }
+        for (int i = 0; i < commands.size(); i++) {
+            metricsCollector.basicPublish(this);
+        }
+    }
+
     /** Public API - {@inheritDoc} */
     @Override
     public Exchange.DeclareOk exchangeDeclare(String exchange, String type,
@@ -1590,15 +1691,17 @@ public class ChannelN extends AMQChannel implements com.rabbitmq.client.Channel
     }
 
     private void handleAckNack(long seqNo, boolean multiple, boolean nack) {
-        if (multiple) {
-            unconfirmedSet.headSet(seqNo + 1).clear();
-        } else {
-            unconfirmedSet.remove(seqNo);
+        unconfirmedSet.confirmed(seqNo, multiple);
+        if (!confirmFutures.isEmpty()) {
+            confirmFutures.confirmed(seqNo, multiple, nack);
         }
-        synchronized (unconfirmedSet) {
-            onlyAcksReceived = onlyAcksReceived && !nack;
-            if (unconfirmedSet.isEmpty())
-                unconfirmedSet.notifyAll();
+        // the monitor is only needed to record a nack or to wake up waiters
+        if (nack || unconfirmedSet.isEmpty()) {
+            synchronized (confirmMonitor) {
+                onlyAcksReceived = onlyAcksReceived && !nack;
+                if (unconfirmedSet.isEmpty())
+                    confirmMonitor.notifyAll();
+            }
         }
     }
 
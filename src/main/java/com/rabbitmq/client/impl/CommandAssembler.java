@@ -52,7 +52,23 @@ final class CommandAssembler {
     /** No bytes of content body not yet accumulated */
     private long remainingBodyBytes;
 
+    /** Pool the fragments of the content body come from, if any */
+    private ByteArrayPool bodyPool;
+
+    /** Whether basic properties are decoded on demand */
+    private final boolean lazyPropertiesDecoding;
+
+    /** Cache for the short strings of methods, can be null */
+    private final ShortStringCache shortStringCache;
+
     public CommandAssembler(Method method, AMQContentHeader contentHeader, byte[] body) {
+        this(method, contentHeader, body, false, null);
+    }
+
+    public CommandAssembler(Method method, AMQContentHeader contentHeader, byte[] body,
+                            boolean lazyPropertiesDecoding, ShortStringCache shortStringCache) {
+        this.lazyPropertiesDecoding = lazyPropertiesDecoding;
+        this.shortStringCache = shortStringCache;
         this.method = method;
         this.contentHeader = contentHeader;
         this.bodyN = new ArrayList<byte[]>(2);
@@ -89,7 +105,8 @@ final class CommandAssembler {
 
     private void consumeMethodFrame(Frame f) throws IOException {
         if (f.type == AMQP.FRAME_METHOD) {
-            this.method = AMQImpl.readMethodFrom(f.getInputStream());
+            this.method = AMQImpl.readMethodFrom(f.getInputStream(), this.shortStringCache);
+            f.releasePayload();
             this.state = this.method.hasContent() ? CAState.EXPECTING_CONTENT_HEADER : CAState.COMPLETE;
         } else {
             throw new UnexpectedFrameError(f, AMQP.FRAME_METHOD);
@@ -98,7 +115,8 @@ final class CommandAssembler {
 
     private void consumeHeaderFrame(Frame f) throws IOException {
         if (f.type == AMQP.FRAME_HEADER) {
-            this.contentHeader = AMQImpl.readContentHeaderFrom(f.getInputStream());
+            this.contentHeader = readContentHeader(f);
+            f.releasePayload();
             this.remainingBodyBytes = this.contentHeader.getBodySize();
             updateContentBodyState();
         } else {
@@ -106,9 +124,22 @@ final class CommandAssembler {
         }
     }
 
+    private AMQContentHeader readContentHeader(Frame f) throws IOException {
+        if (this.lazyPropertiesDecoding) {
+            byte[] payload = f.getPayload();
+            int classId = payload.length < 2 ? -1 : ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF);
+            if (classId == LazyBasicProperties.CLASS_ID) {
+                // the properties keep the payload, it cannot go back to the pool
+                return new LazyBasicProperties(f.getPayloadPool() == null ? payload : payload.clone());
+            }
+        }
+        return AMQImpl.readContentHeaderFrom(f.getInputStream());
+    }
+
     private void consumeBodyFrame(Frame f) {
         if (f.type == AMQP.FRAME_BODY) {
             byte[] fragment = f.getPayload();
+            this.bodyPool = f.getPayloadPool();
             this.remainingBodyBytes -= fragment.length;
             updateContentBodyState();
             if (this.remainingBodyBytes < 0) {
@@ -125,11 +156,14 @@ final class CommandAssembler {
         if (this.bodyLength == 0) return EMPTY_BYTE_ARRAY;
         if (this.bodyN.size() == 1) return this.bodyN.get(0);
 
-        byte[] body = new byte[bodyLength];
+        byte[] body = this.bodyPool == null ? new byte[bodyLength] : this.bodyPool.acquire(bodyLength);
         int offset = 0;
         for (byte[] fragment : this.bodyN) {
             System.arraycopy(fragment, 0, body, offset, fragment.length);
             offset += fragment.length;
+            if (this.bodyPool != null) {
+                this.bodyPool.release(fragment);
+            }
         }
         this.bodyN.clear();
         this.bodyN.add(body);
@@ -140,6 +174,13 @@ final class CommandAssembler {
         return coalesceContentBody();
     }
 
+    /**
+     * @return the pool the content body comes from, or null if it is not pooled
+     */
+    public synchronized ByteArrayPool getContentBodyPool() {
+        return this.bodyPool;
+    }
+
     private void appendBodyFragment(byte[] fragment) {
         if (fragment == null || fragment.length == 0) return;
         bodyN.add(fragment);
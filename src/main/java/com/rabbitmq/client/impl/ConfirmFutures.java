@@ -0,0 +1,117 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl;
+
+import com.rabbitmq.client.PublishNackedException;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Futures of the messages published with
+ * {@link com.rabbitmq.client.Channel#basicPublishAsync(String, String, boolean, com.rabbitmq.client.AMQP.BasicProperties, byte[])}
+ * that wait for their publisher confirm.
+ * <p>
+ * Futures are added in sequence number order (the channel assigns sequence
+ * numbers under its lock), so the queue is sorted: a confirm completes futures
+ * from the head of the queue, a range confirm of k messages is O(k).
+ * Only single confirms that arrive out of order need to scan the queue.
+ * Confirms are dispatched by the connection thread, which is the only
+ * thread that removes futures from the queue, apart from {@link #fail(Throwable)}
+ * on channel shutdown.
+ */
+final class ConfirmFutures {
+
+    private final ConcurrentLinkedQueue<ConfirmFuture> futures = new ConcurrentLinkedQueue<ConfirmFuture>();
+
+    /**
+     * Register a future for a message about to be published.
+     * @param seqNo the sequence number of the message
+     * @return the future, completed when the message is confirmed
+     */
+    CompletableFuture<Void> add(long seqNo) {
+        ConfirmFuture future = new ConfirmFuture(seqNo);
+        futures.offer(future);
+        return future;
+    }
+
+    boolean isEmpty() {
+        return futures.isEmpty();
+    }
+
+    /**
+     * Complete the futures of an ack or a nack.
+     * @param seqNo the sequence number of the ack or nack
+     * @param multiple whether all the messages up to the sequence number are confirmed
+     * @param nack whether the confirm is a nack
+     */
+    void confirmed(long seqNo, boolean multiple, boolean nack) {
+        ConfirmFuture head;
+        while ((head = futures.peek()) != null && head.seqNo <= seqNo) {
+            if (multiple || head.seqNo == seqNo) {
+                futures.poll();
+                complete(head, nack);
+            } else {
+                // single confirm arriving out of order
+                Iterator<ConfirmFuture> iterator = futures.iterator();
+                while (iterator.hasNext()) {
+                    ConfirmFuture future = iterator.next();
+                    if (future.seqNo == seqNo) {
+                        iterator.remove();
+                        complete(future, nack);
+                        return;
+                    } else if (future.seqNo > seqNo) {
+                        return;
+                    }
+                }
+                return;
+            }
+            if (!multiple) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fail all the pending futures, e.g. when the channel is closed.
+     * @param cause the reason of the failure
+     */
+    void fail(Throwable cause) {
+        ConfirmFuture future;
+        while ((future = futures.poll()) != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    private static void complete(ConfirmFuture future, boolean nack) {
+        if (nack) {
+            future.completeExceptionally(new PublishNackedException(future.seqNo));
+        } else {
+            future.complete(null);
+        }
+    }
+
+    private static final class ConfirmFuture extends CompletableFuture<Void> {
+
+        private final long seqNo;
+
+        private ConfirmFuture(long seqNo) {
+            this.seqNo = seqNo;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the publisher confirms a channel is waiting for.
+ * <p>
+ * Sequence numbers are handed out contiguously, so the unconfirmed messages
+ * are the ones between the highest contiguously confirmed sequence number and
+ * the last published one, minus those confirmed individually out of order.
+ * The latter are kept in a bitset used as a ring, so recording a publish is O(1)
+ * and confirming a range of k messages is O(k), without boxing nor locking.
+ * <p>
+ * {@link #published(long)} can be called from any publishing thread, as long
+ * as calls happen in sequence number order (the channel assigns sequence
+ * numbers under its lock). {@link #confirmed(long, boolean)} must always be called
+ * from the same thread, which is the case for acks and nacks, as they are
+ * dispatched by the connection thread. {@link #isEmpty()} can be called
+ * from any thread.
+ */
+final class ConfirmTracker {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Last published sequence number */
+    private volatile long published = 0L;
+
+    /** All sequence numbers up to this one are confirmed */
+    private volatile long confirmedUpTo = 0L;
+
+    /** Sequence numbers confirmed out of order, indexed modulo the capacity */
+    private long[] outOfOrder = new long[INITIAL_CAPACITY >>> 6];
+    private int outOfOrderCount = 0;
+
+    /**
+     * Record a published message.
+     * @param seqNo the sequence number of the message
+     */
+    void published(long seqNo) {
+        this.published = seqNo;
+    }
+
+    /**
+     * Record an ack or a nack.
+     * @param seqNo the sequence number of the ack or nack
+     * @param multiple whether all the messages up to the sequence number are confirmed
+     */
+    void confirmed(long seqNo, boolean multiple) {
+        long upTo = this.confirmedUpTo;
+        if (seqNo <= upTo) {
+            return;
+        }
+        if (multiple || seqNo == upTo + 1) {
+            clearOutOfOrder(upTo + 1, seqNo);
+            upTo = seqNo;
+            while (outOfOrderCount > 0 && clearOutOfOrder(upTo + 1)) {
+                upTo++;
+            }
+            this.confirmedUpTo = upTo;
+        } else {
+            setOutOfOrder(upTo, seqNo);
+        }
+    }
+
+    /**
+     * @return true if all the published messages are confirmed
+     */
+    boolean isEmpty() {
+        // read confirmedUpTo first, published can only grow
+        long upTo = this.confirmedUpTo;
+        return upTo >= this.published;
+    }
+
+    /**
+     * Whether a message is still waiting for a confirm. Must be called
+     * from the confirming thread.
+     * @param seqNo the sequence number of the message
+     * @return true if the message has been published but not confirmed yet
+     */
+    boolean isUnconfirmed(long seqNo) {
+        if (seqNo <= this.confirmedUpTo || seqNo > this.published) {
+            return false;
+        }
+        return !getOutOfOrder(seqNo);
+    }
+
+    private void setOutOfOrder(long upTo, long seqNo) {
+        long capacity = (long) outOfOrder.length << 6;
+        if (seqNo - upTo > capacity) {
+            grow(upTo, seqNo - upTo);
+        }
+        int word = wordIndex(seqNo);
+        long mask = 1L << seqNo;
+        if ((outOfOrder[word] & mask) == 0) {
+            outOfOrder[word] |= mask;
+            outOfOrderCount++;
+        }
+    }
+
+    private boolean getOutOfOrder(long seqNo) {
+        long capacity = (long) outOfOrder.length << 6;
+        if (seqNo - this.confirmedUpTo > capacity) {
+            return false;
+        }
+        return (outOfOrder[wordIndex(seqNo)] & (1L << seqNo)) != 0;
+    }
+
+    private boolean clearOutOfOrder(long seqNo) {
+        int word = wordIndex(seqNo);
+        long mask = 1L << seqNo;
+        if ((outOfOrder[word] & mask) != 0) {
+            outOfOrder[word] &= ~mask;
+            outOfOrderCount--;
+            return true;
+        }
+        return false;
+    }
+
+    private void clearOutOfOrder(long from, long to) {
+        if (outOfOrderCount == 0) {
+            return;
+        }
+        long capacity = (long) outOfOrder.length << 6;
+        if (to - from >= capacity) {
+            // the whole ring is covered
+            Arrays.fill(outOfOrder, 0L);
+            outOfOrderCount = 0;
+            return;
+        }
+        for (long seqNo = from; seqNo <= to && outOfOrderCount > 0; seqNo++) {
+            clearOutOfOrder(seqNo);
+        }
+    }
+
+    private void grow(long upTo, long distance) {
+        long[] previous = outOfOrder;
+        long previousCapacity = (long) previous.length << 6;
+        long capacity = previousCapacity;
+        while (capacity < distance) {
+            capacity <<= 1;
+        }
+        if (capacity > (1L << 36)) {
+            throw new IllegalStateException("Too many unconfirmed messages: " + distance);
+        }
+        outOfOrder = new long[(int) (capacity >>> 6)];
+        // bits of the previous ring cover (upTo, upTo + previousCapacity]
+        for (long seqNo = upTo + 1; seqNo <= upTo + previousCapacity; seqNo++) {
+            if ((previous[(int) ((seqNo >>> 6) & (previous.length - 1))] & (1L << seqNo)) != 0) {
+                outOfOrder[wordIndex(seqNo)] |= 1L << seqNo;
+            }
+        }
+    }
+
+    private int wordIndex(long seqNo) {
+        return (int) ((seqNo >>> 6) & (outOfOrder.length - 1));
+    }
+}
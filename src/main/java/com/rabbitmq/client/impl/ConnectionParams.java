@@ -51,6 +51,10 @@ public class ConnectionParams {
     private boolean channelShouldCheckRpcResponseType;
     private ErrorOnWriteListener errorOnWriteListener;
     private int workPoolTimeout = -1;
+    private boolean virtualThreadDispatch = false;
+    private boolean lazyPropertiesDecoding = false;
+    private int shortStringCacheSize = ShortStringCache.DEFAULT_SIZE;
+    private int pipelinedTopologyRecoveryChannels = 0;
     private TopologyRecoveryFilter topologyRecoveryFilter;
     private Predicate<ShutdownSignalException> connectionRecoveryTriggeringCondition;
     private RetryHandler topologyRecoveryRetryHandler;
@@ -277,4 +281,36 @@ public class ConnectionParams {
     public TrafficListener getTrafficListener() {
         return trafficListener;
     }
+
+    public void setVirtualThreadDispatch(boolean virtualThreadDispatch) {
+        this.virtualThreadDispatch = virtualThreadDispatch;
+    }
+
+    public boolean isVirtualThreadDispatch() {
+        return virtualThreadDispatch;
+    }
+
+    public void setLazyPropertiesDecoding(boolean lazyPropertiesDecoding) {
+        this.lazyPropertiesDecoding = lazyPropertiesDecoding;
+    }
+
+    public boolean isLazyPropertiesDecoding() {
+        return lazyPropertiesDecoding;
+    }
+
+    public void setShortStringCacheSize(int shortStringCacheSize) {
+        this.shortStringCacheSize = shortStringCacheSize;
+    }
+
+    public int getShortStringCacheSize() {
+        return shortStringCacheSize;
+    }
+
+    public void setPipelinedTopologyRecoveryChannels(int pipelinedTopologyRecoveryChannels) {
+        this.pipelinedTopologyRecoveryChannels = pipelinedTopologyRecoveryChannels;
+    }
+
+    public int getPipelinedTopologyRecoveryChannels() {
+        return pipelinedTopologyRecoveryChannels;
+    }
 }
@@ -16,9 +16,11 @@
 package com.rabbitmq.client.impl;
 
 import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.BodyRetainingConsumer;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Consumer;
 import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.InlineDeliveryConsumer;
 import com.rabbitmq.client.ShutdownSignalException;
 import com.rabbitmq.utility.Utility;
 
@@ -141,16 +143,58 @@ final class ConsumerDispatcher {
                                final Envelope envelope,
                                final AMQP.BasicProperties properties,
                                final byte[] body) throws IOException {
+        handleDelivery(delegate, consumerTag, envelope, properties, body, null);
+    }
+
+    /**
+     * Dispatches a delivery whose body may come from a pool. The body
+     * is given back to the pool once the consumer has returned, unless
+     * the consumer is a {@link BodyRetainingConsumer}.
+     * The delivery is dispatched on the calling thread if the consumer
+     * is an {@link InlineDeliveryConsumer}.
+     */
+    public void handleDelivery(final Consumer delegate,
+                               final String consumerTag,
+                               final Envelope envelope,
+                               final AMQP.BasicProperties properties,
+                               final byte[] body,
+                               final ByteArrayPool bodyPool) throws IOException {
+        final boolean releaseBody = bodyPool != null && !(delegate instanceof BodyRetainingConsumer);
+        if (delegate instanceof InlineDeliveryConsumer) {
+            if (!this.shuttingDown) {
+                checkShutdown();
+                deliver(delegate, consumerTag, envelope, properties, body, releaseBody ? bodyPool : null, true);
+            }
+            return;
+        }
         executeUnlessShuttingDown(
         new Runnable() {
             @Override
             public void run() {
-                try {
-                    delegate.handleDelivery(consumerTag,
-                            envelope,
-                            properties,
-                            body);
-                } catch (Throwable ex) {
+                deliver(delegate, consumerTag, envelope, properties, body, releaseBody ? bodyPool : null, false);
+            }
+        });
+    }
+
+    private void deliver(Consumer delegate,
+                         String consumerTag,
+                         Envelope envelope,
+                         AMQP.BasicProperties properties,
+                         byte[] body,
+                         ByteArrayPool releaseTo,
+                         boolean inline) {
+        try {
+            delegate.handleDelivery(consumerTag,
+                    envelope,
+                    properties,
+                    body);
+            if (releaseTo != null) {
+                releaseTo.release(body);
+            }
+        } catch (final Throwable ex) {
+            Runnable handling = new Runnable() {
+                @Override
+                public void run() {
                     connection.getExceptionHandler().handleConsumerException(
                             channel,
                             ex,
@@ -158,8 +202,15 @@ final class ConsumerDispatcher {
                             consumerTag,
                             "handleDelivery");
                 }
+            };
+            if (inline) {
+                // the handler may close the channel, which
+                // cannot complete on the thread reading from the socket
+                executeUnlessShuttingDown(handling);
+            } else {
+                handling.run();
             }
-        });
+        }
     }
 
     public CountDownLatch handleShutdownSignal(final Map<String, Consumer> consumers,
@@ -0,0 +1,102 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import com.rabbitmq.client.Consumer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumers of a channel, by consumer tag.
+ * <p>
+ * Lookups happen on each delivery, registrations only on
+ * <code>basic.consume</code> and <code>basic.cancel</code>. So lookups
+ * read an immutable snapshot without locking, and registrations copy it.
+ * A channel with a single consumer, the common case, has a snapshot with
+ * no map: a lookup is a reference comparison of the consumer tags, as
+ * inbound consumer tags come from the connection short string cache,
+ * or a string comparison if they do not.
+ *
+ * @see ChannelN
+ * @see ShortStringCache
+ */
+final class ConsumerRegistry {
+
+    private static final Snapshot EMPTY = new Snapshot(null, null, Collections.<String, Consumer>emptyMap());
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    Consumer get(String consumerTag) {
+        Snapshot s = this.snapshot;
+        String singleTag = s.singleTag;
+        if (singleTag != null) {
+            return singleTag == consumerTag || singleTag.equals(consumerTag) ? s.singleConsumer : null;
+        }
+        return s.consumers.get(consumerTag);
+    }
+
+    synchronized void put(String consumerTag, Consumer consumer) {
+        Map<String, Consumer> consumers = new HashMap<String, Consumer>(this.snapshot.consumers);
+        consumers.put(consumerTag, consumer);
+        this.snapshot = Snapshot.of(consumers);
+    }
+
+    synchronized Consumer remove(String consumerTag) {
+        Snapshot s = this.snapshot;
+        if (!s.consumers.containsKey(consumerTag)) {
+            return null;
+        }
+        Map<String, Consumer> consumers = new HashMap<String, Consumer>(s.consumers);
+        Consumer removed = consumers.remove(consumerTag);
+        this.snapshot = Snapshot.of(consumers);
+        return removed;
+    }
+
+    /**
+     * @return an immutable view of the current consumers
+     */
+    Map<String, Consumer> consumers() {
+        return this.snapshot.consumers;
+    }
+
+    private static final class Snapshot {
+
+        /** Set only when there is a single consumer */
+        private final String singleTag;
+        private final Consumer singleConsumer;
+        private final Map<String, Consumer> consumers;
+
+        private Snapshot(String singleTag, Consumer singleConsumer, Map<String, Consumer> consumers) {
+            this.singleTag = singleTag;
+            this.singleConsumer = singleConsumer;
+            this.consumers = consumers;
+        }
+
+        private static Snapshot of(Map<String, Consumer> consumers) {
+            if (consumers.isEmpty()) {
+                return EMPTY;
+            } else if (consumers.size() == 1) {
+                Map.Entry<String, Consumer> entry = consumers.entrySet().iterator().next();
+                return new Snapshot(entry.getKey(), entry.getValue(),
+                    Collections.singletonMap(entry.getKey(), entry.getValue()));
+            } else {
+                return new Snapshot(null, null, Collections.unmodifiableMap(consumers));
+            }
+        }
+    }
+}
@@ -32,9 +32,34 @@ final public class ConsumerWorkService {
     private final int shutdownTimeout;
 
     public ConsumerWorkService(ExecutorService executor, ThreadFactory threadFactory, int queueingTimeout, int shutdownTimeout) {
+        this(executor, threadFactory, queueingTimeout, shutdownTimeout, false);
+    }
+
+    /**
+     * Create a work service.
+     * <p>
+     * With virtual threads and no executor provided, each block of a channel's
+     * consumer work runs on a new virtual thread. The work pool lets only one
+     * block of a given channel be in progress at a time, so each channel uses
+     * at most one virtual thread at a time and its deliveries are processed in order.
+     *
+     * @param executor executor to run consumer work, null to use a private one
+     * @param threadFactory thread factory of the private executor, if not using virtual threads
+     * @param queueingTimeout timeout for enqueueing work, -1 for no timeout
+     * @param shutdownTimeout timeout for the consumer work to finish on shutdown
+     * @param virtualThreads whether the private executor should use virtual threads
+     * @since 6.0.0
+     */
+    public ConsumerWorkService(ExecutorService executor, ThreadFactory threadFactory, int queueingTimeout, int shutdownTimeout,
+                               boolean virtualThreads) {
         this.privateExecutor = (executor == null);
-        this.executor = (executor == null) ? Executors.newFixedThreadPool(DEFAULT_NUM_THREADS, threadFactory)
-                                           : executor;
+        if (executor != null) {
+            this.executor = executor;
+        } else if (virtualThreads) {
+            this.executor = VirtualThreads.newThreadPerTaskExecutor("rabbitmq-consumer-");
+        } else {
+            this.executor = Executors.newFixedThreadPool(DEFAULT_NUM_THREADS, threadFactory);
+        }
         this.workPool = new WorkPool<>(queueingTimeout);
         this.shutdownTimeout = shutdownTimeout;
     }
@@ -16,6 +16,7 @@
 
 package com.rabbitmq.client.impl;
 
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Date;
@@ -42,6 +43,15 @@ public class ContentHeaderPropertyWriter {
      * Constructs a fresh ContentHeaderPropertyWriter.
      */
     public ContentHeaderPropertyWriter(DataOutputStream out) {
+        this((DataOutput) out);
+    }
+
+    /**
+     * Constructs a fresh ContentHeaderPropertyWriter on any {@link DataOutput}.
+     *
+     * @since 6.0.0
+     */
+    public ContentHeaderPropertyWriter(DataOutput out) {
         this.out = new ValueWriter(out);
         this.flagWord = 0;
         this.bitCount = 0;
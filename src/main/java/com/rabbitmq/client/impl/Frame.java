@@ -23,6 +23,7 @@ import java.io.*;
 import java.math.BigDecimal;
 import java.net.SocketTimeoutException;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -38,9 +39,24 @@ public class Frame {
     /** Frame channel number, 0-65535 */
     public final int channel;
 
-    /** Frame payload bytes (for inbound frames) */
+    /**
+     * Frame payload bytes (for inbound frames and for outbound body
+     * fragments, which reference the message body without copying it)
+     */
     private final byte[] payload;
 
+    /** Offset of the payload in {@link #payload} */
+    private final int payloadOffset;
+
+    /** Length of the payload in {@link #payload} */
+    private final int payloadLength;
+
+    /** Whether {@link #payload} is a slice of an array owned by the application */
+    private final boolean payloadShared;
+
+    /** Pool {@link #payload} has been taken from, if any (for inbound frames) */
+    private final ByteArrayPool payloadPool;
+
     /** Frame payload (for outbound frames) */
     private final ByteArrayOutputStream accumulator;
 
@@ -54,6 +70,10 @@ public class Frame {
         this.type = type;
         this.channel = channel;
         this.payload = null;
+        this.payloadOffset = 0;
+        this.payloadLength = 0;
+        this.payloadShared = false;
+        this.payloadPool = null;
         this.accumulator = new ByteArrayOutputStream();
     }
 
@@ -62,19 +82,64 @@ public class Frame {
      * payload byte array.
      */
     public Frame(int type, int channel, byte[] payload) {
+        this(type, channel, payload, 0, payload.length, false, null);
+    }
+
+    /**
+     * Constructs a frame for input with a type, a channel number and a
+     * payload byte array taken from a pool.
+     *
+     * @see #releasePayload()
+     */
+    public Frame(int type, int channel, byte[] payload, ByteArrayPool payloadPool) {
+        this(type, channel, payload, 0, payload.length, false, payloadPool);
+    }
+
+    private Frame(int type, int channel, byte[] payload, int offset, int length, boolean shared, ByteArrayPool pool) {
         this.type = type;
         this.channel = channel;
         this.payload = payload;
+        this.payloadOffset = offset;
+        this.payloadLength = length;
+        this.payloadShared = shared;
+        this.payloadPool = pool;
         this.accumulator = null;
     }
 
-    public static Frame fromBodyFragment(int channelNumber, byte[] body, int offset, int length)
-        throws IOException
-    {
-        Frame frame = new Frame(AMQP.FRAME_BODY, channelNumber);
-        DataOutputStream bodyOut = frame.getOutputStream();
-        bodyOut.write(body, offset, length);
-        return frame;
+    /**
+     * Creates a body frame for a fragment of a message body.
+     * <p>
+     * The frame references the given array instead of copying the fragment,
+     * so the array must not be modified until the frame has been written.
+     * Use {@link #ownedCopy()} if the frame is written asynchronously.
+     *
+     * @param channelNumber the channel number
+     * @param body the message body
+     * @param offset offset of the fragment in the body
+     * @param length length of the fragment
+     * @return the body frame
+     */
+    public static Frame fromBodyFragment(int channelNumber, byte[] body, int offset, int length) {
+        return new Frame(AMQP.FRAME_BODY, channelNumber, body, offset, length, true, null);
+    }
+
+    /**
+     * Returns a frame that does not share its payload with the application.
+     * <p>
+     * Body fragments created with {@link #fromBodyFragment(int, byte[], int, int)}
+     * reference the message body of the caller. Frame handlers that write frames
+     * after {@link FrameHandler#writeFrame(Frame)} has returned (e.g. NIO) must
+     * use this method, as the caller is free to reuse the body array once the
+     * publishing method has returned.
+     *
+     * @return this frame if its payload is not shared, a copy otherwise
+     */
+    public Frame ownedCopy() {
+        if (!payloadShared) {
+            return this;
+        }
+        byte[] copy = Arrays.copyOfRange(payload, payloadOffset, payloadOffset + payloadLength);
+        return new Frame(type, channel, copy);
     }
 
     /**
@@ -84,6 +149,19 @@ public class Frame {
      * @return a new Frame if we read a frame successfully, otherwise null
      */
     public static Frame readFrom(DataInputStream is) throws IOException {
+        return readFrom(is, null);
+    }
+
+    /**
+     * Protected API - Factory method to instantiate a Frame by reading an
+     * AMQP-wire-protocol frame from the given input stream, with a
+     * payload array taken from the given pool.
+     *
+     * @param is the input stream
+     * @param payloadPool pool for the payload array, can be null
+     * @return a new Frame if we read a frame successfully, otherwise null
+     */
+    public static Frame readFrom(DataInputStream is, ByteArrayPool payloadPool) throws IOException {
         int type;
         int channel;
 
@@ -109,7 +187,7 @@ public class Frame {
 
         channel = is.readUnsignedShort();
         int payloadSize = is.readInt();
-        byte[] payload = new byte[payloadSize];
+        byte[] payload = payloadPool == null ? new byte[payloadSize] : payloadPool.acquire(payloadSize);
         is.readFully(payload);
 
         int frameEndMarker = is.readUnsignedByte();
@@ -117,7 +195,7 @@ public class Frame {
             throw new MalformedFrameException("Bad frame end marker: " + frameEndMarker);
         }
 
-        return new Frame(type, channel, payload);
+        return new Frame(type, channel, payload, payloadPool);
     }
 
     /**
@@ -188,8 +266,8 @@ public class Frame {
             os.writeInt(accumulator.size());
             accumulator.writeTo(os);
         } else {
-            os.writeInt(payload.length);
-            os.write(payload);
+            os.writeInt(payloadLength);
+            os.write(payload, payloadOffset, payloadLength);
         }
         os.write(AMQP.FRAME_END);
     }
@@ -198,7 +276,7 @@ public class Frame {
         if(accumulator != null) {
             return accumulator.size() + NON_BODY_SIZE;
         } else {
-            return payload.length + NON_BODY_SIZE;
+            return payloadLength + NON_BODY_SIZE;
         }
     }
 
@@ -206,7 +284,12 @@ public class Frame {
      * Public API - retrieves the frame payload
      */
     public byte[] getPayload() {
-        if (payload != null) return payload;
+        if (payload != null) {
+            if (payloadOffset == 0 && payloadLength == payload.length) {
+                return payload;
+            }
+            return Arrays.copyOfRange(payload, payloadOffset, payloadOffset + payloadLength);
+        }
 
         // This is a Frame we've constructed ourselves. For some reason (e.g.
         // testing), we're acting as if we received it even though it
@@ -214,10 +297,32 @@ public class Frame {
         return accumulator.toByteArray();
     }
 
+    /**
+     * Private API - the pool the payload array has been taken from.
+     *
+     * @return the pool, or null if the payload is not pooled
+     */
+    public ByteArrayPool getPayloadPool() {
+        return payloadPool;
+    }
+
+    /**
+     * Private API - gives the payload array back to its pool, if any.
+     * The payload must not be used after this call.
+     */
+    public void releasePayload() {
+        if (payloadPool != null) {
+            payloadPool.release(payload);
+        }
+    }
+
     /**
      * Public API - retrieves a new DataInputStream streaming over the payload
      */
     public DataInputStream getInputStream() {
+        if (payload != null) {
+            return new DataInputStream(new ByteArrayInputStream(payload, payloadOffset, payloadLength));
+        }
         return new DataInputStream(new ByteArrayInputStream(getPayload()));
     }
 
@@ -232,7 +337,7 @@ public class Frame {
         StringBuilder sb = new StringBuilder();
         sb.append("Frame(type=").append(type).append(", channel=").append(channel).append(", ");
         if (accumulator == null) {
-            sb.append(payload.length).append(" bytes of payload)");
+            sb.append(payloadLength).append(" bytes of payload)");
         } else {
             sb.append(accumulator.size()).append(" bytes of accumulator)");
         }
@@ -334,15 +439,40 @@ public class Frame {
 
     /** Computes the AMQP wire-protocol length of a protocol-encoded long string. */
     private static int longStrSize(String str)
-        throws UnsupportedEncodingException
     {
-        return str.getBytes("utf-8").length + 4;
+        return utf8Length(str) + 4;
     }
 
     /** Computes the AMQP wire-protocol length of a protocol-encoded short string. */
     private static int shortStrSize(String str)
-        throws UnsupportedEncodingException
     {
-        return str.getBytes("utf-8").length + 1;
+        return utf8Length(str) + 1;
+    }
+
+    /**
+     * Private API - computes the length of a string encoded in UTF-8,
+     * without encoding it. Unpaired surrogates count for one byte,
+     * as they are replaced when encoded.
+     */
+    public static int utf8Length(String str)
+    {
+        int length = str.length();
+        int acc = length;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    acc += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    // 4 bytes for 2 chars
+                    acc += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    acc += 2;
+                }
+            }
+        }
+        return acc;
     }
 }
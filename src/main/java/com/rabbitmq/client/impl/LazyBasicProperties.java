@@ -0,0 +1,291 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import com.rabbitmq.client.AMQP;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link AMQP.BasicProperties} decoded on demand from the header frame payload.
+ * <p>
+ * Only the presence flags are read when the header frame arrives.
+ * Each property is decoded on its first access, and the headers
+ * table decodes only the entries that are looked up.
+ * Properties that are never read cost nothing but the payload array.
+ * <p>
+ * Instances are equal only to other instances of this class
+ * with the same property values.
+ *
+ * @see LazyTable
+ * @see com.rabbitmq.client.ConnectionFactory#setLazyPropertiesDecoding(boolean)
+ * @since 6.0.0
+ */
+final class LazyBasicProperties extends AMQP.BasicProperties {
+
+    static final int CLASS_ID = 60;
+
+    private static final int CONTENT_TYPE = 0;
+    private static final int CONTENT_ENCODING = 1;
+    private static final int HEADERS = 2;
+    private static final int DELIVERY_MODE = 3;
+    private static final int PRIORITY = 4;
+    private static final int CORRELATION_ID = 5;
+    private static final int REPLY_TO = 6;
+    private static final int EXPIRATION = 7;
+    private static final int MESSAGE_ID = 8;
+    private static final int TIMESTAMP = 9;
+    private static final int TYPE = 10;
+    private static final int USER_ID = 11;
+    private static final int APP_ID = 12;
+    private static final int CLUSTER_ID = 13;
+    private static final int PROPERTY_COUNT = 14;
+
+    /** Class id, weight and body size */
+    private static final int PREFIX_SIZE = 2 + 2 + 8;
+
+    private static final Object NOT_DECODED = new Object();
+
+    private final byte[] payload;
+    private final long bodySize;
+    private final int flags;
+
+    /** Position of each property in the payload, -1 if absent, computed on first access */
+    private int[] positions;
+
+    /** Decoded properties */
+    private final Object[] values = new Object[PROPERTY_COUNT];
+
+    /**
+     * @param payload the header frame payload, kept by the instance
+     * @throws IOException if the payload is not a basic content header
+     */
+    LazyBasicProperties(byte[] payload) throws IOException {
+        if (payload.length < PREFIX_SIZE + 2 || readShort(payload, 0) != CLASS_ID) {
+            throw new IOException("Not a basic content header");
+        }
+        this.payload = payload;
+        this.bodySize = ((long) LazyTable.readInt(payload, 4) << 32) | (LazyTable.readInt(payload, 8) & 0xFFFFFFFFL);
+        this.flags = readShort(payload, PREFIX_SIZE);
+        if ((flags & 1) != 0) {
+            throw new IOException("Unexpected continuation flag word");
+        }
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            values[i] = NOT_DECODED;
+        }
+    }
+
+    private static int readShort(byte[] bytes, int position) {
+        return ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
+    }
+
+    private boolean isPresent(int property) {
+        return (flags & (1 << (15 - property))) != 0;
+    }
+
+    /** Skips the present properties to find where each one starts. */
+    private int[] positions() {
+        if (positions == null) {
+            int[] p = new int[PROPERTY_COUNT];
+            int position = PREFIX_SIZE + 2;
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                if (isPresent(i)) {
+                    p[i] = position;
+                    position += encodedSize(i, position);
+                } else {
+                    p[i] = -1;
+                }
+            }
+            positions = p;
+        }
+        return positions;
+    }
+
+    private int encodedSize(int property, int position) {
+        switch (property) {
+            case HEADERS:
+                return 4 + LazyTable.readInt(payload, position);
+            case DELIVERY_MODE:
+            case PRIORITY:
+                return 1;
+            case TIMESTAMP:
+                return 8;
+            default:
+                return 1 + (payload[position] & 0xFF);
+        }
+    }
+
+    private synchronized Object value(int property) {
+        Object value = values[property];
+        if (value == NOT_DECODED) {
+            int position = positions()[property];
+            value = position < 0 ? null : decode(property, position);
+            values[property] = value;
+        }
+        return value;
+    }
+
+    private Object decode(int property, int position) {
+        switch (property) {
+            case HEADERS:
+                int length = LazyTable.readInt(payload, position);
+                return new LazyTable(payload, position + 4, length);
+            case DELIVERY_MODE:
+            case PRIORITY:
+                return payload[position] & 0xFF;
+            case TIMESTAMP:
+                long seconds = ((long) LazyTable.readInt(payload, position) << 32)
+                    | (LazyTable.readInt(payload, position + 4) & 0xFFFFFFFFL);
+                return new Date(seconds * 1000);
+            default:
+                return new String(payload, position + 1, payload[position] & 0xFF, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public long getBodySize() {
+        return bodySize;
+    }
+
+    @Override
+    public String getContentType() {
+        return (String) value(CONTENT_TYPE);
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return (String) value(CONTENT_ENCODING);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getHeaders() {
+        return (Map<String, Object>) value(HEADERS);
+    }
+
+    @Override
+    public Integer getDeliveryMode() {
+        return (Integer) value(DELIVERY_MODE);
+    }
+
+    @Override
+    public Integer getPriority() {
+        return (Integer) value(PRIORITY);
+    }
+
+    @Override
+    public String getCorrelationId() {
+        return (String) value(CORRELATION_ID);
+    }
+
+    @Override
+    public String getReplyTo() {
+        return (String) value(REPLY_TO);
+    }
+
+    @Override
+    public String getExpiration() {
+        return (String) value(EXPIRATION);
+    }
+
+    @Override
+    public String getMessageId() {
+        return (String) value(MESSAGE_ID);
+    }
+
+    @Override
+    public Date getTimestamp() {
+        return (Date) value(TIMESTAMP);
+    }
+
+    @Override
+    public String getType() {
+        return (String) value(TYPE);
+    }
+
+    @Override
+    public String getUserId() {
+        return (String) value(USER_ID);
+    }
+
+    @Override
+    public String getAppId() {
+        return (String) value(APP_ID);
+    }
+
+    @Override
+    public String getClusterId() {
+        return (String) value(CLUSTER_ID);
+    }
+
+    @Override
+    public Builder builder() {
+        return new Builder()
+            .contentType(getContentType())
+            .contentEncoding(getContentEncoding())
+            .headers(getHeaders())
+            .deliveryMode(getDeliveryMode())
+            .priority(getPriority())
+            .correlationId(getCorrelationId())
+            .replyTo(getReplyTo())
+            .expiration(getExpiration())
+            .messageId(getMessageId())
+            .timestamp(getTimestamp())
+            .type(getType())
+            .userId(getUserId())
+            .appId(getAppId())
+            .clusterId(getClusterId());
+    }
+
+    @Override
+    public void writePropertiesTo(ContentHeaderPropertyWriter writer) throws IOException {
+        // e.g. when the properties of a delivery are used to publish
+        builder().build().writePropertiesTo(writer);
+    }
+
+    @Override
+    public void appendPropertyDebugStringTo(StringBuilder acc) {
+        builder().build().appendPropertyDebugStringTo(acc);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        LazyBasicProperties that = (LazyBasicProperties) o;
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            if (!Objects.equals(value(i), that.value(i)))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            Object value = value(i);
+            result = 31 * result + (value != null ? value.hashCode() : 0);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,247 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import com.rabbitmq.client.MalformedFrameException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table decoded on demand from its wire form.
+ * <p>
+ * {@link #get(Object)} and {@link #containsKey(Object)} scan the encoded
+ * entries and decode only the value of the requested entry, which is then
+ * returned by later lookups. Other operations decode the whole table once,
+ * with {@link ValueReader}, and use the decoded table from then on, with
+ * the values already returned. A lookup of a name repeated in the table
+ * decodes the whole table too, so that the entry kept is the one
+ * {@link ValueReader} keeps. The table is mutable, like the tables
+ * {@link ValueReader} returns.
+ *
+ * @see LazyBasicProperties
+ */
+final class LazyTable extends AbstractMap<String, Object> {
+
+    /** Returned by {@link #find(Object)} when several entries have the name */
+    private static final int REPEATED = -2;
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    /** Decoded table, null until an operation needs it */
+    private Map<String, Object> table;
+
+    /** Values decoded by lookups before the table is decoded, null until a value is decoded */
+    private Map<String, Object> values;
+
+    /**
+     * @param bytes the array holding the table
+     * @param offset offset of the table, after its length
+     * @param length length of the table
+     */
+    LazyTable(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    private synchronized Map<String, Object> table() {
+        if (table == null) {
+            // the table length prefix is before the offset
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset - 4, length + 4));
+            try {
+                table = new ValueReader(in).readTable();
+            } catch (IOException e) {
+                throw new IllegalStateException("Error while decoding table", e);
+            }
+            if (values != null) {
+                // values returned by lookups may have been modified
+                table.putAll(values);
+                values = null;
+            }
+        }
+        return table;
+    }
+
+    private synchronized boolean decoded() {
+        return table != null;
+    }
+
+    /**
+     * @return the position of the value of the entry with this name, -1 if none,
+     * {@link #REPEATED} if several entries have this name
+     */
+    private int find(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        byte[] name = ((String) key).getBytes(StandardCharsets.UTF_8);
+        int position = offset;
+        int end = offset + length;
+        int found = -1;
+        try {
+            while (position < end) {
+                int nameLength = bytes[position] & 0xFF;
+                int valuePosition = position + 1 + nameLength;
+                if (nameLength == name.length && regionMatches(position + 1, name)) {
+                    if (found >= 0) {
+                        return REPEATED;
+                    }
+                    found = valuePosition;
+                }
+                position = valuePosition + fieldValueSize(bytes, valuePosition);
+            }
+        } catch (MalformedFrameException e) {
+            throw new IllegalStateException("Error while decoding table", e);
+        }
+        return found;
+    }
+
+    private boolean regionMatches(int position, byte[] name) {
+        for (int i = 0; i < name.length; i++) {
+            if (bytes[position + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized Object get(Object key) {
+        if (table != null) {
+            return table.get(key);
+        }
+        if (values != null && values.containsKey(key)) {
+            return values.get(key);
+        }
+        int valuePosition = find(key);
+        if (valuePosition == REPEATED) {
+            return table().get(key);
+        } else if (valuePosition < 0) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, valuePosition, offset + length - valuePosition));
+        Object value;
+        try {
+            value = ValueReader.readFieldValue(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error while decoding table value", e);
+        }
+        if (values == null) {
+            values = new HashMap<>();
+        }
+        values.put((String) key, value);
+        return value;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        if (table != null) {
+            return table.containsKey(key);
+        }
+        if (values != null && values.containsKey(key)) {
+            return true;
+        }
+        return find(key) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return decoded() ? table().isEmpty() : length == 0;
+    }
+
+    @Override
+    public int size() {
+        return table().size();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return table().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return table().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        table().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return table().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return table().values();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return table().entrySet();
+    }
+
+    /**
+     * Computes the length of an encoded field value, type tag included.
+     */
+    static int fieldValueSize(byte[] bytes, int position) throws MalformedFrameException {
+        switch (bytes[position]) {
+            case 'S':
+            case 'F':
+            case 'A':
+            case 'x':
+                return 1 + 4 + readInt(bytes, position + 1);
+            case 'I':
+            case 'f':
+                return 1 + 4;
+            case 'D':
+                return 1 + 5;
+            case 'T':
+            case 'd':
+            case 'l':
+                return 1 + 8;
+            case 's':
+                return 1 + 2;
+            case 'b':
+            case 't':
+                return 1 + 1;
+            case 'V':
+                return 1;
+            default:
+                throw new MalformedFrameException("Unrecognised type in table");
+        }
+    }
+
+    static int readInt(byte[] bytes, int position) {
+        return ((bytes[position] & 0xFF) << 24)
+            | ((bytes[position + 1] & 0xFF) << 16)
+            | ((bytes[position + 2] & 0xFF) << 8)
+            | (bytes[position + 3] & 0xFF);
+    }
+}
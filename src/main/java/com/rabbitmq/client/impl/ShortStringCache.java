@@ -0,0 +1,121 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bounded cache of decoded short strings, keyed on their UTF-8 bytes.
+ * <p>
+ * Inbound methods carry the same short strings over and over (e.g. consumer tag,
+ * exchange and routing key in each <code>basic.deliver</code>). With the cache,
+ * decoding such a string allocates nothing and returns the same {@link String}
+ * instance, which already has its hash code computed for lookups.
+ * <p>
+ * The cache is direct-mapped: a string evicts the entry in its slot. Strings
+ * used on every delivery stay in the cache, and strings seen once (e.g. generated
+ * queue names) do not make it grow.
+ * <p>
+ * Private API - there is one cache per connection.
+ *
+ * @see ValueReader
+ * @since 6.0.0
+ */
+public final class ShortStringCache {
+
+    /** Default number of entries */
+    public static final int DEFAULT_SIZE = 256;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    /** Scratch buffer for the bytes of the string being decoded */
+    private final byte[] buffer = new byte[255];
+
+    /**
+     * @param size number of entries, rounded up to a power of 2
+     */
+    public ShortStringCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Reads a short string of the given length.
+     *
+     * @param in the stream, positioned after the length of the string
+     * @param length the length of the string, at most 255
+     * @return the string
+     * @throws IOException if an error occurs while reading
+     */
+    public synchronized String read(DataInputStream in, int length) throws IOException {
+        byte[] bytes = this.buffer;
+        in.readFully(bytes, 0, length);
+        int hash = hash(bytes, length);
+        int slot = hash & mask;
+        Entry entry = entries[slot];
+        if (entry != null && entry.hash == hash && entry.matches(bytes, length)) {
+            return entry.value;
+        }
+        String value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        entries[slot] = new Entry(Arrays.copyOf(bytes, length), value, hash);
+        return value;
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // spread the high bits to the slot bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+
+        private final byte[] bytes;
+        private final String value;
+        private final int hash;
+
+        private Entry(byte[] bytes, String value, int hash) {
+            this.bytes = bytes;
+            this.value = value;
+            this.hash = hash;
+        }
+
+        private boolean matches(byte[] other, int length) {
+            if (bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
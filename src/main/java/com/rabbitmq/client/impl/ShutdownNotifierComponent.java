@@ -57,9 +57,7 @@ public class ShutdownNotifierComponent implements ShutdownNotifier {
 
     @Override
     public ShutdownSignalException getCloseReason() {
-        synchronized(this.monitor) {
-            return this.shutdownCause;
-        }
+        return this.shutdownCause;
     }
 
     @Override
@@ -91,9 +89,8 @@ public class ShutdownNotifierComponent implements ShutdownNotifier {
 
     @Override
     public boolean isOpen() {
-        synchronized(this.monitor) {
-            return this.shutdownCause == null;
-        }
+        // volatile read, no need to lock: it is called for each inbound frame
+        return this.shutdownCause == null;
     }
 
     /**
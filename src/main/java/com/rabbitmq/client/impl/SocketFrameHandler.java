@@ -25,6 +25,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A socket-based frame handler.
@@ -45,9 +46,30 @@ public class SocketFrameHandler implements FrameHandler {
     /** Socket's outputstream - data to the broker - synchronized on */
     private final DataOutputStream _outputStream;
 
+    /** Pool for inbound frame payloads, can be null */
+    private final ByteArrayPool _byteArrayPool;
+
     /** Time to linger before closing the socket forcefully. */
     public static final int SOCKET_CLOSING_TIMEOUT = 1;
 
+    /** Default size of the output buffer */
+    private static final int DEFAULT_OUTPUT_BUFFER_SIZE = 8192;
+
+    /**
+     * Time a flush waits for other threads to write frames, in nanoseconds.
+     * 0 means write coalescing is disabled.
+     */
+    private final long _flushCoalescingNanos;
+
+    /** Number of unflushed bytes that triggers a flush right away, with write coalescing */
+    private final int _flushCoalescingThreshold;
+
+    /** Bytes written since the last flush - synchronized on {@link #_outputStream} */
+    private int _unflushedBytes = 0;
+
+    /** Thread that will flush the frames of all the writers, with write coalescing */
+    private volatile Thread _flushLeader;
+
     /**
      * @param socket the socket to use
      */
@@ -59,11 +81,46 @@ public class SocketFrameHandler implements FrameHandler {
      * @param socket the socket to use
      */
     public SocketFrameHandler(Socket socket, ExecutorService shutdownExecutor) throws IOException {
+        this(socket, shutdownExecutor, null);
+    }
+
+    /**
+     * @param socket the socket to use
+     * @param shutdownExecutor executor for the final flush, can be null
+     * @param byteArrayPool pool for inbound frame payloads, can be null
+     */
+    public SocketFrameHandler(Socket socket, ExecutorService shutdownExecutor, ByteArrayPool byteArrayPool) throws IOException {
+        this(socket, shutdownExecutor, byteArrayPool, 0, 0);
+    }
+
+    /**
+     * With write coalescing, a flush does not write to the socket right away:
+     * the flushing thread waits for other threads to write frames, up to the
+     * coalescing interval, and then flushes the frames of all the threads at once.
+     * Threads that flush meanwhile return immediately. A flush writes to the socket
+     * right away when the unflushed bytes reach the threshold.
+     *
+     * @param socket the socket to use
+     * @param shutdownExecutor executor for the final flush, can be null
+     * @param byteArrayPool pool for inbound frame payloads, can be null
+     * @param flushCoalescingIntervalMicros time to wait for other writers when flushing,
+     *                                      in microseconds, 0 to disable write coalescing
+     * @param flushCoalescingThreshold number of unflushed bytes that triggers an immediate flush,
+     *                                 0 for the default output buffer size
+     */
+    public SocketFrameHandler(Socket socket, ExecutorService shutdownExecutor, ByteArrayPool byteArrayPool,
+                              int flushCoalescingIntervalMicros, int flushCoalescingThreshold) throws IOException {
         _socket = socket;
         _shutdownExecutor = shutdownExecutor;
+        _byteArrayPool = byteArrayPool;
+        _flushCoalescingNanos = TimeUnit.MICROSECONDS.toNanos(flushCoalescingIntervalMicros);
+        _flushCoalescingThreshold = flushCoalescingThreshold > 0 ? flushCoalescingThreshold : DEFAULT_OUTPUT_BUFFER_SIZE;
 
         _inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
-        _outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        // the buffer must not fill up before the coalescing threshold
+        int outputBufferSize = _flushCoalescingNanos > 0 ?
+            Math.max(DEFAULT_OUTPUT_BUFFER_SIZE, _flushCoalescingThreshold) : DEFAULT_OUTPUT_BUFFER_SIZE;
+        _outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), outputBufferSize));
     }
 
     @Override
@@ -161,7 +218,7 @@ public class SocketFrameHandler implements FrameHandler {
     @Override
     public Frame readFrame() throws IOException {
         synchronized (_inputStream) {
-            return Frame.readFrom(_inputStream);
+            return Frame.readFrom(_inputStream, _byteArrayPool);
         }
     }
 
@@ -169,11 +226,54 @@ public class SocketFrameHandler implements FrameHandler {
     public void writeFrame(Frame frame) throws IOException {
         synchronized (_outputStream) {
             frame.writeTo(_outputStream);
+            _unflushedBytes += frame.size();
         }
     }
 
     @Override
     public void flush() throws IOException {
+        if (_flushCoalescingNanos == 0) {
+            _outputStream.flush();
+            return;
+        }
+        Thread currentThread = Thread.currentThread();
+        synchronized (_outputStream) {
+            if (_unflushedBytes >= _flushCoalescingThreshold) {
+                flushNow();
+                return;
+            }
+            if (_flushLeader != null) {
+                // the leader will flush our frames within the interval
+                return;
+            }
+            _flushLeader = currentThread;
+        }
+        long deadline = System.nanoTime() + _flushCoalescingNanos;
+        long remaining;
+        // woken up early if another thread reaches the threshold and flushes
+        while (_flushLeader == currentThread && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+        synchronized (_outputStream) {
+            if (_flushLeader == currentThread) {
+                _flushLeader = null;
+                flushNow();
+            }
+        }
+    }
+
+    /**
+     * Write the buffered frames to the socket. Must be called
+     * while synchronized on {@link #_outputStream}.
+     */
+    private void flushNow() throws IOException {
+        _unflushedBytes = 0;
+        Thread leader = _flushLeader;
+        if (leader != null) {
+            // nothing left to flush for the leader
+            _flushLeader = null;
+            LockSupport.unpark(leader);
+        }
         _outputStream.flush();
     }
 
@@ -185,7 +285,9 @@ public class SocketFrameHandler implements FrameHandler {
         Callable<Void> flushCallable = new Callable<Void>() {
             @Override
             public Void call() throws Exception {
-                flush();
+                synchronized (_outputStream) {
+                    flushNow();
+                }
                 return null;
             }
         };
@@ -31,6 +31,9 @@ public class SocketFrameHandlerFactory extends AbstractFrameHandlerFactory {
     private final SocketFactory socketFactory;
     private final ExecutorService shutdownExecutor;
     private final SslContextFactory sslContextFactory;
+    private final ByteArrayPool byteArrayPool;
+    private final int flushCoalescingIntervalMicros;
+    private final int flushCoalescingThreshold;
 
     public SocketFrameHandlerFactory(int connectionTimeout, SocketFactory socketFactory, SocketConfigurator configurator,
                                      boolean ssl) {
@@ -44,10 +47,25 @@ public class SocketFrameHandlerFactory extends AbstractFrameHandlerFactory {
 
     public SocketFrameHandlerFactory(int connectionTimeout, SocketFactory socketFactory, SocketConfigurator configurator,
                                      boolean ssl, ExecutorService shutdownExecutor, SslContextFactory sslContextFactory) {
+        this(connectionTimeout, socketFactory, configurator, ssl, shutdownExecutor, sslContextFactory, null);
+    }
+
+    public SocketFrameHandlerFactory(int connectionTimeout, SocketFactory socketFactory, SocketConfigurator configurator,
+                                     boolean ssl, ExecutorService shutdownExecutor, SslContextFactory sslContextFactory,
+                                     ByteArrayPool byteArrayPool) {
+        this(connectionTimeout, socketFactory, configurator, ssl, shutdownExecutor, sslContextFactory, byteArrayPool, 0, 0);
+    }
+
+    public SocketFrameHandlerFactory(int connectionTimeout, SocketFactory socketFactory, SocketConfigurator configurator,
+                                     boolean ssl, ExecutorService shutdownExecutor, SslContextFactory sslContextFactory,
+                                     ByteArrayPool byteArrayPool, int flushCoalescingIntervalMicros, int flushCoalescingThreshold) {
         super(connectionTimeout, configurator, ssl);
         this.socketFactory = socketFactory;
         this.shutdownExecutor = shutdownExecutor;
         this.sslContextFactory = sslContextFactory;
+        this.byteArrayPool = byteArrayPool;
+        this.flushCoalescingIntervalMicros = flushCoalescingIntervalMicros;
+        this.flushCoalescingThreshold = flushCoalescingThreshold;
     }
 
     public FrameHandler create(Address addr, String connectionName) throws IOException {
@@ -81,7 +99,8 @@ public class SocketFrameHandlerFactory extends AbstractFrameHandlerFactory {
 
     public FrameHandler create(Socket sock) throws IOException
     {
-        return new SocketFrameHandler(sock, this.shutdownExecutor);
+        return new SocketFrameHandler(sock, this.shutdownExecutor, this.byteArrayPool,
+            this.flushCoalescingIntervalMicros, this.flushCoalescingThreshold);
     }
 
     private static void quietTrySocketClose(Socket socket) {
@@ -50,12 +50,26 @@ public class ValueReader
     /** The stream we are reading from. */
     private final DataInputStream in;
 
+    /** Cache for short strings, can be null. */
+    private final ShortStringCache shortStringCache;
+
     /**
      * Construct a MethodArgumentReader streaming over the given DataInputStream.
      */
     public ValueReader(DataInputStream in)
+    {
+        this(in, null);
+    }
+
+    /**
+     * Construct a MethodArgumentReader streaming over the given DataInputStream,
+     * decoding short strings with the given cache.
+     * @since 6.0.0
+     */
+    public ValueReader(DataInputStream in, ShortStringCache shortStringCache)
     {
         this.in = in;
+        this.shortStringCache = shortStringCache;
     }
 
     /** Convenience method - reads a short string from a DataInput
@@ -73,6 +87,9 @@ public class ValueReader
     public final String readShortstr()
         throws IOException
     {
+        if (this.shortStringCache != null) {
+            return this.shortStringCache.read(this.in, this.in.readUnsignedByte());
+        }
         return readShortstr(this.in);
     }
 
@@ -153,7 +170,7 @@ public class ValueReader
         return table;
     }
 
-    private static Object readFieldValue(DataInputStream in)
+    static Object readFieldValue(DataInputStream in)
         throws IOException {
         Object value = null;
         switch(in.readUnsignedByte()) {
@@ -16,10 +16,11 @@
 
 package com.rabbitmq.client.impl;
 
+import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
@@ -33,9 +34,20 @@ import com.rabbitmq.client.LongString;
  */
 public class ValueWriter
 {
-    private final DataOutputStream out;
+    private final DataOutput out;
 
     public ValueWriter(DataOutputStream out)
+    {
+        this((DataOutput) out);
+    }
+
+    /**
+     * Strings are encoded straight into the output if it is
+     * a {@link ByteArrayDataOutput}.
+     *
+     * @since 6.0.0
+     */
+    public ValueWriter(DataOutput out)
     {
         this.out = out;
     }
@@ -44,15 +56,25 @@ public class ValueWriter
     public final void writeShortstr(String str)
         throws IOException
     {
-        byte [] bytes = str.getBytes("utf-8");
-        int length = bytes.length;
+        if (out instanceof ByteArrayDataOutput) {
+            int length = Frame.utf8Length(str);
+            checkShortstrLength(length);
+            out.writeByte(length);
+            ((ByteArrayDataOutput) out).writeUtf8(str, length);
+        } else {
+            byte [] bytes = str.getBytes("utf-8");
+            checkShortstrLength(bytes.length);
+            out.writeByte(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void checkShortstrLength(int length) {
         if (length > 255) {
             throw new IllegalArgumentException(
                     "Short string too long; utf-8 encoded length = " + length +
                     ", max = 255.");
         }
-        out.writeByte(bytes.length);
-        out.write(bytes);
     }
 
     /** Public API - encodes a long string from a LongString. */
@@ -65,7 +87,7 @@ public class ValueWriter
 
     private static final int COPY_BUFFER_SIZE = 4096;
 
-    private static void copy(InputStream input, OutputStream output) throws IOException {
+    private static void copy(InputStream input, DataOutput output) throws IOException {
         byte[] buffer = new byte[COPY_BUFFER_SIZE];
         int biteSize = input.read(buffer);
         while (-1 != biteSize) {
@@ -78,9 +100,15 @@ public class ValueWriter
     public final void writeLongstr(String str)
         throws IOException
     {
-        byte [] bytes = str.getBytes("utf-8");
-        writeLong(bytes.length);
-        out.write(bytes);
+        if (out instanceof ByteArrayDataOutput) {
+            int length = Frame.utf8Length(str);
+            writeLong(length);
+            ((ByteArrayDataOutput) out).writeUtf8(str, length);
+        } else {
+            byte [] bytes = str.getBytes("utf-8");
+            writeLong(bytes.length);
+            out.write(bytes);
+        }
     }
 
     /** Public API - encodes a short integer. */
@@ -266,6 +294,8 @@ public class ValueWriter
     public void flush()
         throws IOException
     {
-        out.flush();
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
     }
 }
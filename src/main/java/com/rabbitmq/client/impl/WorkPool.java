@@ -16,12 +16,12 @@
 package com.rabbitmq.client.impl;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 /**
@@ -49,20 +49,29 @@ import java.util.function.BiConsumer;
  * All clients may be unregistered with <code><b>unregisterAllKeys()</b></code>.
  * <h2>Concurrent Semantics</h2>
  * This implementation is thread-safe.
+ * The state of each client is an atomic integer and the <i>ready</i> clients
+ * are kept in a lock-free queue, so adding work items, retrieving work blocks
+ * and finishing them do not contend on a shared lock. A client is in the
+ * <i>ready</i> queue at most once, as it is enqueued only by the thread that moves it
+ * to the <i>ready</i> state, and it is <i>in progress</i> for at most one thread at a time,
+ * so items of a given client are processed in order.
+ * Registration and queue capacity changes are rare and synchronized.
  * @param <K> Key -- type of client
  * @param <W> Work -- type of work item
  */
 public class WorkPool<K, W> {
     private static final int MAX_QUEUE_LENGTH = 1000;
 
-    /** An injective queue of <i>ready</i> clients. */
-    private final SetQueue<K> ready = new SetQueue<K>();
-    /** The set of clients which have work <i>in progress</i>. */
-    private final Set<K> inProgress = new HashSet<K>();
-    /** The pool of registered clients, with their work queues. */
-    private final Map<K, VariableLinkedBlockingQueue<W>> pool = new HashMap<K, VariableLinkedBlockingQueue<W>>();
+    private static final int DORMANT = 0;
+    private static final int READY = 1;
+    private static final int IN_PROGRESS = 2;
+
+    /** A queue of <i>ready</i> clients, unregistered clients are skipped when polled. */
+    private final ConcurrentLinkedQueue<Client<K, W>> ready = new ConcurrentLinkedQueue<Client<K, W>>();
+    /** The pool of registered clients, with their work queues and states. */
+    private final Map<K, Client<K, W>> pool = new ConcurrentHashMap<K, Client<K, W>>();
     /** Those keys which want limits to be removed. We do not limit queue size if this is non-empty. */
-    private final Set<K> unlimited = new HashSet<K>();
+    private final Set<K> unlimited = ConcurrentHashMap.newKeySet();
     private final BiConsumer<VariableLinkedBlockingQueue<W>, W> enqueueingCallback;
 
     public WorkPool(final int queueingTimeout) {
@@ -98,7 +107,7 @@ public class WorkPool<K, W> {
         synchronized (this) {
             if (!this.pool.containsKey(key)) {
                 int initialCapacity = unlimited.isEmpty() ? MAX_QUEUE_LENGTH : Integer.MAX_VALUE;
-                this.pool.put(key, new VariableLinkedBlockingQueue<W>(initialCapacity));
+                this.pool.put(key, new Client<K, W>(key, new VariableLinkedBlockingQueue<W>(initialCapacity)));
             }
         }
     }
@@ -118,9 +127,8 @@ public class WorkPool<K, W> {
     }
 
     private void setCapacities(int capacity) {
-        Iterator<VariableLinkedBlockingQueue<W>> it = pool.values().iterator();
-        while (it.hasNext()) {
-            it.next().setCapacity(capacity);
+        for (Client<K, W> client : pool.values()) {
+            client.queue.setCapacity(capacity);
         }
     }
 
@@ -130,9 +138,10 @@ public class WorkPool<K, W> {
      */
     public void unregisterKey(K key) {
         synchronized (this) {
-            this.pool.remove(key);
-            this.ready.remove(key);
-            this.inProgress.remove(key);
+            Client<K, W> client = this.pool.remove(key);
+            if (client != null) {
+                client.registered = false;
+            }
             this.unlimited.remove(key);
         }
     }
@@ -142,9 +151,11 @@ public class WorkPool<K, W> {
      */
     public void unregisterAllKeys() {
         synchronized (this) {
+            for (Client<K, W> client : this.pool.values()) {
+                client.registered = false;
+            }
             this.pool.clear();
             this.ready.clear();
-            this.inProgress.clear();
             this.unlimited.clear();
         }
     }
@@ -159,14 +170,14 @@ public class WorkPool<K, W> {
      * @return key of client to whom items belong, or <code><b>null</b></code> if there is none.
      */
     public K nextWorkBlock(Collection<W> to, int size) {
-        synchronized (this) {
-            K nextKey = readyToInProgress();
-            if (nextKey != null) {
-                VariableLinkedBlockingQueue<W> queue = this.pool.get(nextKey);
-                drainTo(queue, to, size);
+        Client<K, W> client;
+        while ((client = this.ready.poll()) != null) {
+            if (client.registered && client.state.compareAndSet(READY, IN_PROGRESS)) {
+                drainTo(client.queue, to, size);
+                return client.key;
             }
-            return nextKey;
         }
+        return null;
     }
 
     /**
@@ -198,20 +209,11 @@ public class WorkPool<K, W> {
      * &mdash; <i>as a result of this work item</i>
      */
     public boolean addWorkItem(K key, W item) {
-        VariableLinkedBlockingQueue<W> queue;
-        synchronized (this) {
-            queue = this.pool.get(key);
-        }
-        // The put operation may block. We need to make sure we are not holding the lock while that happens.
-        if (queue != null) {
-            enqueueingCallback.accept(queue, item);
-
-            synchronized (this) {
-                if (isDormant(key)) {
-                    dormantToReady(key);
-                    return true;
-                }
-            }
+        Client<K, W> client = this.pool.get(key);
+        // The put operation may block, no lock is held while that happens.
+        if (client != null) {
+            enqueueingCallback.accept(client.queue, item);
+            return dormantToReady(client);
         }
         return false;
     }
@@ -224,46 +226,44 @@ public class WorkPool<K, W> {
      * @throws IllegalStateException if registered client not <i>in progress</i>
      */
     public boolean finishWorkBlock(K key) {
-        synchronized (this) {
-            if (!this.isRegistered(key))
-                return false;
-            if (!this.inProgress.contains(key)) {
-                throw new IllegalStateException("Client " + key + " not in progress");
-            }
+        Client<K, W> client = this.pool.get(key);
+        if (client == null)
+            return false;
+        if (client.state.get() != IN_PROGRESS) {
+            throw new IllegalStateException("Client " + key + " not in progress");
+        }
 
-            if (moreWorkItems(key)) {
-                inProgressToReady(key);
-                return true;
-            } else {
-                inProgressToDormant(key);
-                return false;
-            }
+        if (!client.queue.isEmpty()) {
+            client.state.set(READY);
+            this.ready.offer(client);
+            return true;
+        } else {
+            client.state.set(DORMANT);
+            // an item may have been added after the emptiness check, while the
+            // client was still in progress: its producer did not make the client ready
+            return !client.queue.isEmpty() && dormantToReady(client);
         }
     }
 
-    private boolean moreWorkItems(K key) {
-        VariableLinkedBlockingQueue<W> leList = this.pool.get(key);
-        return leList != null && !leList.isEmpty();
+    private boolean dormantToReady(Client<K, W> client) {
+        if (client.state.compareAndSet(DORMANT, READY)) {
+            this.ready.offer(client);
+            return true;
+        }
+        return false;
     }
 
-    /* State identification functions */
-    private boolean isInProgress(K key){ return this.inProgress.contains(key); }
-    private boolean isReady(K key){ return this.ready.contains(key); }
-    private boolean isRegistered(K key) { return this.pool.containsKey(key); }
-    private boolean isDormant(K key){ return !isInProgress(key) && !isReady(key) && isRegistered(key); }
+    /** A registered client, with its work queue and its state. */
+    private static final class Client<K, W> {
 
-    /* State transition methods - all assume key registered */
-    private void inProgressToReady(K key){ this.inProgress.remove(key); this.ready.addIfNotPresent(key); }
-    private void inProgressToDormant(K key){ this.inProgress.remove(key); }
-    private void dormantToReady(K key){ this.ready.addIfNotPresent(key); }
+        private final K key;
+        private final VariableLinkedBlockingQueue<W> queue;
+        private final AtomicInteger state = new AtomicInteger(DORMANT);
+        private volatile boolean registered = true;
 
-    /* Basic work selector and state transition step */
-    private K readyToInProgress() {
-        K key = this.ready.poll();
-        if (key != null) {
-            this.inProgress.add(key);
+        private Client(K key, VariableLinkedBlockingQueue<W> queue) {
+            this.key = key;
+            this.queue = queue;
         }
-        return key;
     }
-
 }
@@ -0,0 +1,145 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Non-blocking channel that keeps what the socket could not take.
+ * <p>
+ * Writes always consume all the bytes of the source buffers: the bytes the socket
+ * does not accept are copied in a backlog, and the following writes are
+ * appended to the backlog until it's written with {@link #writeBacklog()},
+ * typically once the socket is ready for write again.
+ * <p>
+ * Used by the single-selector NIO loop, which cannot spin on a full socket.
+ *
+ * @since 6.0.0
+ */
+public class BufferedWriteChannel implements GatheringByteChannel {
+
+    private final GatheringByteChannel delegate;
+
+    private final int initialBacklogCapacity;
+
+    /** bytes not written yet, in write mode, null until the first partial write */
+    private ByteBuffer backlog;
+
+    public BufferedWriteChannel(GatheringByteChannel delegate, int initialBacklogCapacity) {
+        this.delegate = delegate;
+        this.initialBacklogCapacity = initialBacklogCapacity;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += srcs[i].remaining();
+        }
+        if (!hasBacklog()) {
+            long written = delegate.write(srcs, offset, length);
+            if (written == total) {
+                return total;
+            }
+        }
+        for (int i = offset; i < offset + length; i++) {
+            appendToBacklog(srcs[i]);
+        }
+        return total;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+        return write(srcs, 0, srcs.length);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        int total = src.remaining();
+        if (!hasBacklog()) {
+            delegate.write(src);
+        }
+        appendToBacklog(src);
+        return total;
+    }
+
+    /**
+     * Whether some bytes are waiting for the socket.
+     *
+     * @return true if the backlog is not empty
+     */
+    public boolean hasBacklog() {
+        return backlog != null && backlog.position() > 0;
+    }
+
+    /**
+     * Write as much of the backlog as the socket takes.
+     *
+     * @return true if the whole backlog has been written
+     * @throws IOException if the write fails
+     */
+    public boolean writeBacklog() throws IOException {
+        if (!hasBacklog()) {
+            return true;
+        }
+        backlog.flip();
+        try {
+            delegate.write(backlog);
+        } finally {
+            backlog.compact();
+        }
+        if (hasBacklog()) {
+            return false;
+        }
+        if (backlog.capacity() > initialBacklogCapacity) {
+            // don't keep a backlog grown by a burst
+            backlog = null;
+        }
+        return true;
+    }
+
+    private void appendToBacklog(ByteBuffer src) {
+        if (!src.hasRemaining()) {
+            return;
+        }
+        if (backlog == null) {
+            backlog = ByteBuffer.allocate(Math.max(initialBacklogCapacity, src.remaining()));
+        } else if (backlog.remaining() < src.remaining()) {
+            int capacity = backlog.capacity();
+            while (capacity - backlog.position() < src.remaining()) {
+                capacity *= 2;
+            }
+            ByteBuffer newBacklog = ByteBuffer.allocate(capacity);
+            backlog.flip();
+            newBacklog.put(backlog);
+            backlog = newBacklog;
+        }
+        backlog.put(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -18,33 +18,119 @@ package com.rabbitmq.client.impl.nio;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
  * Bridge between the byte buffer and stream worlds.
+ * <p>
+ * Arrays are copied in bulk into the buffer. If the channel supports
+ * gathering writes, large arrays (typically frame payloads) are not copied:
+ * they are referenced until the next {@link #flush()}, which sends
+ * them along with the content of the buffer in one
+ * {@link GatheringByteChannel#write(ByteBuffer[], int, int)} call.
+ * Referenced arrays must then not be modified until the stream is flushed.
  */
 public class ByteBufferOutputStream extends OutputStream {
 
+    /** Arrays at least this large are referenced instead of copied when writes are gathered */
+    static final int GATHERING_THRESHOLD = 1024;
+
+    /** Maximum number of segments in a gathering write */
+    static final int MAX_SEGMENTS = 64;
+
     private final WritableByteChannel channel;
 
+    private final GatheringByteChannel gatheringChannel;
+
     private final ByteBuffer buffer;
 
+    /** segments waiting to be written, only used with gathering writes */
+    private final ByteBuffer[] segments;
+
+    private int segmentCount = 0;
+
+    /**
+     * start of the part of the buffer not yet referenced by a segment.
+     * The buffer can be shared by several streams (e.g. the write buffer of an NIO loop)
+     * and is cleared after each write sequence, so its position at creation time is irrelevant.
+     */
+    private int bufferSegmentStart = 0;
+
     public ByteBufferOutputStream(WritableByteChannel channel, ByteBuffer buffer) {
         this.buffer = buffer;
         this.channel = channel;
+        if (channel instanceof GatheringByteChannel) {
+            this.gatheringChannel = (GatheringByteChannel) channel;
+            this.segments = new ByteBuffer[MAX_SEGMENTS];
+        } else {
+            this.gatheringChannel = null;
+            this.segments = null;
+        }
     }
 
     @Override
     public void write(int b) throws IOException {
         if(!buffer.hasRemaining()) {
-            drain(channel, buffer);
+            drain();
         }
         buffer.put((byte) b);
     }
 
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (gatheringChannel != null && len >= GATHERING_THRESHOLD) {
+            // room for a buffer segment, the array, and the buffer segment that may follow
+            if (segmentCount > MAX_SEGMENTS - 3) {
+                drain();
+            }
+            addBufferSegment();
+            segments[segmentCount++] = ByteBuffer.wrap(b, off, len);
+            return;
+        }
+        while (len > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(len, buffer.remaining());
+            buffer.put(b, off, length);
+            off += length;
+            len -= length;
+        }
+    }
+
     @Override
     public void flush() throws IOException {
-        drain(channel, buffer);
+        drain();
+    }
+
+    private void drain() throws IOException {
+        if (gatheringChannel == null) {
+            drain(channel, buffer);
+        } else {
+            try {
+                addBufferSegment();
+                drain(gatheringChannel, segments, segmentCount);
+            } finally {
+                for (int i = 0; i < segmentCount; i++) {
+                    segments[i] = null;
+                }
+                segmentCount = 0;
+                buffer.clear();
+                bufferSegmentStart = 0;
+            }
+        }
+    }
+
+    private void addBufferSegment() {
+        int position = buffer.position();
+        if (position > bufferSegmentStart) {
+            ByteBuffer segment = buffer.duplicate();
+            segment.limit(position);
+            segment.position(bufferSegmentStart);
+            segments[segmentCount++] = segment;
+            bufferSegmentStart = position;
+        }
     }
 
     public static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
@@ -53,4 +139,15 @@ public class ByteBufferOutputStream extends OutputStream {
         buffer.clear();
     }
 
+    static void drain(GatheringByteChannel channel, ByteBuffer[] segments, int count) throws IOException {
+        int offset = 0;
+        while (offset < count) {
+            if (!segments[offset].hasRemaining()) {
+                offset++;
+            } else if (channel.write(segments, offset, count - offset) == -1) {
+                return;
+            }
+        }
+    }
+
 }
@@ -17,6 +17,7 @@ package com.rabbitmq.client.impl.nio;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.MalformedFrameException;
+import com.rabbitmq.client.impl.ByteArrayPool;
 import com.rabbitmq.client.impl.Frame;
 
 import java.io.DataInputStream;
@@ -43,18 +44,22 @@ public class FrameBuilder {
     protected final ReadableByteChannel channel;
 
     protected final ByteBuffer applicationBuffer;
-    // to store the bytes of the outstanding data
-    // 3 byte-long because the longest we read is an unsigned int
-    // (not need to store the latest byte)
-    private final int[] frameBuffer = new int[3];
+
+    private final ByteArrayPool payloadPool;
     private int frameType;
     private int frameChannel;
+    private int framePayloadSize;
     private byte[] framePayload;
     private int bytesRead = 0;
 
     public FrameBuilder(ReadableByteChannel channel, ByteBuffer buffer) {
+        this(channel, buffer, null);
+    }
+
+    public FrameBuilder(ReadableByteChannel channel, ByteBuffer buffer, ByteArrayPool payloadPool) {
         this.channel = channel;
         this.applicationBuffer = buffer;
+        this.payloadPool = payloadPool;
     }
 
     /**
@@ -62,6 +67,10 @@ public class FrameBuilder {
      * This method returns null f a frame could not have been fully built from
      * the network. The client must then retry later (typically
      * when the channel notifies it has something to read).
+     * <p>
+     * The frame header is parsed in one go when it is fully available in the
+     * buffer, and the payload is bulk-copied from the buffer. The header is read
+     * byte by byte only when it spans several network reads.
      *
      * @return a complete frame or null if a frame couldn't have been fully built
      * @throws IOException
@@ -69,48 +78,73 @@ public class FrameBuilder {
      */
     public Frame readFrame() throws IOException {
         while (somethingToRead()) {
-            if (bytesRead == 0) {
-                // type
-                frameType = readFromBuffer();
-                if (frameType == 'A') {
-                    handleProtocolVersionMismatch();
+            if (bytesRead < PAYLOAD_OFFSET) {
+                if (bytesRead == 0 && applicationBuffer.remaining() >= PAYLOAD_OFFSET) {
+                    // the whole header is in the buffer
+                    frameType = readFromBuffer();
+                    if (frameType == 'A') {
+                        handleProtocolVersionMismatch();
+                    }
+                    frameChannel = applicationBuffer.getShort() & 0xffff;
+                    framePayloadSize = applicationBuffer.getInt();
+                    bytesRead = PAYLOAD_OFFSET;
+                    framePayload = newPayload(framePayloadSize);
+                } else {
+                    readHeaderByte();
                 }
-            } else if (bytesRead == 1) {
-                // channel 1/2
-                frameBuffer[0] = readFromBuffer();
-            } else if (bytesRead == 2) {
-                // channel 2/2
-                frameChannel = (frameBuffer[0] << 8) + (readFromBuffer() << 0);
-            } else if (bytesRead == 3) {
-                // payload size 1/4
-                frameBuffer[0] = readFromBuffer();
-            } else if (bytesRead == 4) {
-                // payload size 2/4
-                frameBuffer[1] = readFromBuffer();
-            } else if (bytesRead == 5) {
-                // payload size 3/4
-                frameBuffer[2] = readFromBuffer();
-            } else if (bytesRead == 6) {
-                // payload size 4/4
-                int framePayloadSize = ((frameBuffer[0] << 24) + (frameBuffer[1] << 16) + (frameBuffer[2] << 8) + (readFromBuffer() << 0));
-                framePayload = new byte[framePayloadSize];
-            } else if (bytesRead >= PAYLOAD_OFFSET && bytesRead < framePayload.length + PAYLOAD_OFFSET) {
-                framePayload[bytesRead - PAYLOAD_OFFSET] = (byte) readFromBuffer();
-            } else if (bytesRead == framePayload.length + PAYLOAD_OFFSET) {
+            } else if (bytesRead < framePayloadSize + PAYLOAD_OFFSET) {
+                int payloadBytesRead = bytesRead - PAYLOAD_OFFSET;
+                int length = Math.min(framePayloadSize - payloadBytesRead, applicationBuffer.remaining());
+                applicationBuffer.get(framePayload, payloadBytesRead, length);
+                bytesRead += length;
+            } else if (bytesRead == framePayloadSize + PAYLOAD_OFFSET) {
                 int frameEndMarker = readFromBuffer();
                 if (frameEndMarker != AMQP.FRAME_END) {
                     throw new MalformedFrameException("Bad frame end marker: " + frameEndMarker);
                 }
                 bytesRead = 0;
-                return new Frame(frameType, frameChannel, framePayload);
+                Frame frame = new Frame(frameType, frameChannel, framePayload, payloadPool);
+                framePayload = null;
+                return frame;
             } else {
                 throw new IllegalStateException("Number of read bytes incorrect: " + bytesRead);
             }
-            bytesRead++;
         }
         return null;
     }
 
+    private byte[] newPayload(int size) {
+        return payloadPool == null ? new byte[size] : payloadPool.acquire(size);
+    }
+
+    /**
+     * Read one byte of a frame header that is split across several reads.
+     *
+     * @throws IOException
+     */
+    private void readHeaderByte() throws IOException {
+        int b = readFromBuffer();
+        if (bytesRead == 0) {
+            // type
+            frameType = b;
+            if (frameType == 'A') {
+                handleProtocolVersionMismatch();
+            }
+            frameChannel = 0;
+            framePayloadSize = 0;
+        } else if (bytesRead < 3) {
+            // channel, 2 bytes
+            frameChannel = (frameChannel << 8) + b;
+        } else {
+            // payload size, 4 bytes
+            framePayloadSize = (framePayloadSize << 8) + b;
+        }
+        bytesRead++;
+        if (bytesRead == PAYLOAD_OFFSET) {
+            framePayload = newPayload(framePayloadSize);
+        }
+    }
+
     /**
      * Tells whether there's something to read in the application buffer or not.
      * Tries to read from the network if necessary.
@@ -0,0 +1,123 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.nio;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded lock-free multi-producer single-consumer {@link NioQueue}.
+ * <p>
+ * Application threads enqueue frames without contending on a lock,
+ * the NIO thread is the only consumer. When the queue is full, the
+ * {@link WriteQueueFullPolicy} decides whether the producer waits
+ * or the frame is rejected.
+ * <p>
+ * {@link #poll()} must be called by only one thread at a time.
+ *
+ * @see NioQueue
+ * @see NioParams#setWriteQueueFullPolicy(WriteQueueFullPolicy)
+ * @since 6.0.0
+ */
+public class MpscNioQueue implements NioQueue {
+
+    private final int capacity;
+
+    private final WriteQueueFullPolicy fullPolicy;
+
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    /** last linked node, producers link new nodes after it */
+    private final AtomicReference<Node> tail;
+
+    /** node before the next request to poll, only used by the consumer */
+    private Node head;
+
+    public MpscNioQueue(int capacity, WriteQueueFullPolicy fullPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.fullPolicy = fullPolicy;
+        this.head = new Node(null);
+        this.tail = new AtomicReference<>(this.head);
+    }
+
+    @Override
+    public boolean offer(WriteRequest writeRequest) throws InterruptedException {
+        long start = 0;
+        while (!reserve()) {
+            if (start == 0) {
+                start = System.nanoTime();
+            }
+            if (!fullPolicy.onQueueFull(writeRequest, System.nanoTime() - start)) {
+                return false;
+            }
+        }
+        Node node = new Node(writeRequest);
+        Node previous = tail.getAndSet(node);
+        // the consumer does not see the node until it's linked,
+        // size() and isEmpty() already account for it though
+        previous.next = node;
+        return true;
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public WriteRequest poll() {
+        Node next = head.next;
+        if (next == null) {
+            return null;
+        }
+        WriteRequest writeRequest = next.writeRequest;
+        next.writeRequest = null;
+        head = next;
+        size.decrementAndGet();
+        return writeRequest;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    private static final class Node {
+
+        private WriteRequest writeRequest;
+
+        private volatile Node next;
+
+        private Node(WriteRequest writeRequest) {
+            this.writeRequest = writeRequest;
+        }
+    }
+}
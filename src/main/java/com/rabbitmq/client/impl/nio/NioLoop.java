@@ -37,26 +37,48 @@ public class NioLoop implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NioLoop.class);
 
+    /** Heartbeat deadlines are checked with a 1-second resolution */
+    private static final long HEARTBEAT_TICK_DURATION = 1000L;
+    private static final int HEARTBEAT_WHEEL_SIZE = 128;
+
     private final NioLoopContext context;
 
     private final NioParams nioParams;
 
     private final ExecutorService connectionShutdownExecutor;
 
+    private final NioLoopMetrics metrics;
+
+    // connections are checked for missed heartbeats only when their deadline
+    // may have been reached, instead of scanning all the keys on each iteration
+    private final TimerWheel<SocketChannelFrameHandlerState> heartbeatWheel =
+        new TimerWheel<SocketChannelFrameHandlerState>(HEARTBEAT_TICK_DURATION, HEARTBEAT_WHEEL_SIZE);
+
     public NioLoop(NioParams nioParams, NioLoopContext loopContext) {
         this.nioParams = nioParams;
         this.context = loopContext;
         this.connectionShutdownExecutor = nioParams.getConnectionShutdownExecutor();
+        this.metrics = loopContext.metrics;
     }
 
     @Override
     public void run() {
+        try {
+            if (nioParams.isSingleSelector()) {
+                runSingleSelector();
+            } else {
+                runReadWriteSelectors();
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error in NIO loop", e);
+        }
+    }
+
+    private void runReadWriteSelectors() throws IOException {
         final SelectorHolder selectorState = context.readSelectorState;
         final Selector selector = selectorState.selector;
         final Set<SocketChannelRegistration> registrations = selectorState.registrations;
 
-        final ByteBuffer buffer = context.readBuffer;
-
         final SelectorHolder writeSelectorState = context.writeSelectorState;
         final Selector writeSelector = writeSelectorState.selector;
         final Set<SocketChannelRegistration> writeRegistrations = writeSelectorState.registrations;
@@ -68,191 +90,343 @@ public class NioLoop implements Runnable {
         // pending writes
         boolean writeRegistered = false;
 
-        try {
-            while (!Thread.currentThread().isInterrupted()) {
-
-                for (SelectionKey selectionKey : selector.keys()) {
-                    SocketChannelFrameHandlerState state = (SocketChannelFrameHandlerState) selectionKey.attachment();
-                    if (state.getConnection() != null && state.getConnection().getHeartbeat() > 0) {
-                        long now = System.currentTimeMillis();
-                        if ((now - state.getLastActivity()) > state.getConnection().getHeartbeat() * 1000 * 2) {
-                            try {
-                                handleHeartbeatFailure(state);
-                            } catch (Exception e) {
-                                LOGGER.warn("Error after heartbeat failure of connection {}", state.getConnection());
-                            } finally {
-                                selectionKey.cancel();
-                            }
-                        }
+        final TimerWheel.DeadlineHandler<SocketChannelFrameHandlerState> heartbeatCheck = heartbeatCheck(selector);
+
+        while (!Thread.currentThread().isInterrupted()) {
+
+            heartbeatWheel.advance(System.currentTimeMillis(), heartbeatCheck);
+
+            int select;
+            if (!writeRegistered && registrations.isEmpty() && writeRegistrations.isEmpty()) {
+                // we can block, registrations will call Selector.wakeup()
+                select = selector.select(1000);
+                if (selector.keys().size() == 0) {
+                    // we haven't been doing anything for a while, shutdown state
+                    boolean clean = context.cleanUp();
+                    if (clean) {
+                        // we stop this thread
+                        return;
                     }
+                    // there may be incoming connections, keep going
                 }
+            } else {
+                // we don't have to block, we need to select and clean cancelled keys before registration
+                select = selector.selectNow();
+            }
+            metrics.select();
 
-                int select;
-                if (!writeRegistered && registrations.isEmpty() && writeRegistrations.isEmpty()) {
-                    // we can block, registrations will call Selector.wakeup()
-                    select = selector.select(1000);
-                    if (selector.keys().size() == 0) {
-                        // we haven't been doing anything for a while, shutdown state
-                        boolean clean = context.cleanUp();
-                        if (clean) {
-                            // we stop this thread
-                            return;
-                        }
-                        // there may be incoming connections, keep going
+            // one clock read for all the keys selected in this iteration
+            final long now = System.currentTimeMillis();
+
+            writeRegistered = false;
+
+            // registrations should be done after select,
+            // once the cancelled keys have been actually removed
+            register(selector, registrations);
+
+            if (select > 0) {
+                Set<SelectionKey> readyKeys = selector.selectedKeys();
+                Iterator<SelectionKey> iterator = readyKeys.iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+
+                    if (key.isReadable()) {
+                        read(key, now);
                     }
-                } else {
-                    // we don't have to block, we need to select and clean cancelled keys before registration
-                    select = selector.selectNow();
                 }
+            }
 
-                writeRegistered = false;
-
-                // registrations should be done after select,
-                // once the cancelled keys have been actually removed
-                SocketChannelRegistration registration;
-                Iterator<SocketChannelRegistration> registrationIterator = registrations.iterator();
-                while (registrationIterator.hasNext()) {
-                    registration = registrationIterator.next();
-                    registrationIterator.remove();
-                    int operations = registration.operations;
-                    registration.state.getChannel().register(selector, operations, registration.state);
+            // write loop
+
+            select = writeSelector.selectNow();
+
+            // registrations should be done after select,
+            // once the cancelled keys have been actually removed
+            SocketChannelRegistration writeRegistration;
+            Iterator<SocketChannelRegistration> writeRegistrationIterator = writeRegistrations.iterator();
+            while (writeRegistrationIterator.hasNext()) {
+                writeRegistration = writeRegistrationIterator.next();
+                writeRegistrationIterator.remove();
+                int operations = writeRegistration.operations;
+                try {
+                    if (writeRegistration.state.getChannel().isOpen()) {
+                        writeRegistration.state.getChannel().register(writeSelector, operations, writeRegistration.state);
+                        writeRegistered = true;
+                    }
+                } catch (Exception e) {
+                    // can happen if the channel has been closed since the operation has been enqueued
+                    LOGGER.info("Error while registering socket channel for write: {}", e.getMessage());
                 }
+            }
 
-                if (select > 0) {
-                    Set<SelectionKey> readyKeys = selector.selectedKeys();
-                    Iterator<SelectionKey> iterator = readyKeys.iterator();
-                    while (iterator.hasNext()) {
-                        SelectionKey key = iterator.next();
-                        iterator.remove();
+            if (select > 0) {
+                Set<SelectionKey> readyKeys = writeSelector.selectedKeys();
+                Iterator<SelectionKey> iterator = readyKeys.iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    SocketChannelFrameHandlerState state = (SocketChannelFrameHandlerState) key.attachment();
 
-                        if (!key.isValid()) {
-                            continue;
-                        }
+                    if (!key.isValid()) {
+                        continue;
+                    }
 
-                        if (key.isReadable()) {
-                            final SocketChannelFrameHandlerState state = (SocketChannelFrameHandlerState) key.attachment();
-
-                            try {
-                                if (!state.getChannel().isOpen()) {
-                                    key.cancel();
-                                    continue;
-                                }
-                                if(state.getConnection() == null) {
-                                    // we're in AMQConnection#start, between the header sending and the FrameHandler#initialize
-                                    // let's wait a bit more
-                                    continue;
-                                }
-
-                                state.prepareForReadSequence();
-
-                                while (state.continueReading()) {
-                                    final Frame frame = state.frameBuilder.readFrame();
-
-                                    if (frame != null) {
-                                        try {
-                                            boolean noProblem = state.getConnection().handleReadFrame(frame);
-                                            if (noProblem && (!state.getConnection().isRunning() || state.getConnection().hasBrokerInitiatedShutdown())) {
-                                                // looks like the frame was Close-Ok or Close
-                                                dispatchShutdownToConnection(state);
-                                                key.cancel();
-                                                break;
-                                            }
-                                        } catch (Throwable ex) {
-                                            // problem during frame processing, tell connection, and
-                                            // we can stop for this channel
-                                            handleIoError(state, ex);
-                                            key.cancel();
-                                            break;
-                                        }
-                                    }
-                                }
-
-                                state.setLastActivity(System.currentTimeMillis());
-                            } catch (final Exception e) {
-                                LOGGER.warn("Error during reading frames", e);
-                                handleIoError(state, e);
-                                key.cancel();
-                            } finally {
-                                buffer.clear();
+                    if (key.isWritable()) {
+                        try {
+                            if (!state.getChannel().isOpen()) {
+                                continue;
                             }
+                            write(state);
+                        } catch (Exception e) {
+                            handleIoError(state, e);
+                        } finally {
+                            key.cancel();
                         }
                     }
                 }
+            }
+        }
+    }
 
-                // write loop
+    /**
+     * Loop with one selection key per connection.
+     * <p>
+     * Outbound frames are written as soon as the loop is told about them,
+     * without waiting for the socket to be ready for write. The key is interested
+     * in {@link SelectionKey#OP_WRITE} only when the socket could not take
+     * all the bytes, until the backlog has been written.
+     */
+    private void runSingleSelector() throws IOException {
+        final SelectorHolder selectorState = context.readSelectorState;
+        final Selector selector = selectorState.selector;
+        final Set<SocketChannelRegistration> registrations = selectorState.registrations;
 
-                select = writeSelector.selectNow();
+        // connections with outbound frames, they share the selector
+        final Set<SocketChannelRegistration> writeRegistrations = context.writeSelectorState.registrations;
 
-                // registrations should be done after select,
-                // once the cancelled keys have been actually removed
-                SocketChannelRegistration writeRegistration;
-                Iterator<SocketChannelRegistration> writeRegistrationIterator = writeRegistrations.iterator();
-                while (writeRegistrationIterator.hasNext()) {
-                    writeRegistration = writeRegistrationIterator.next();
-                    writeRegistrationIterator.remove();
-                    int operations = writeRegistration.operations;
-                    try {
-                        if (writeRegistration.state.getChannel().isOpen()) {
-                            writeRegistration.state.getChannel().register(writeSelector, operations, writeRegistration.state);
-                            writeRegistered = true;
-                        }
-                    } catch (Exception e) {
-                        // can happen if the channel has been closed since the operation has been enqueued
-                        LOGGER.info("Error while registering socket channel for write: {}", e.getMessage());
+        final TimerWheel.DeadlineHandler<SocketChannelFrameHandlerState> heartbeatCheck = heartbeatCheck(selector);
+
+        while (!Thread.currentThread().isInterrupted()) {
+
+            heartbeatWheel.advance(System.currentTimeMillis(), heartbeatCheck);
+
+            int select;
+            if (registrations.isEmpty() && writeRegistrations.isEmpty()) {
+                // we can block, registrations will call Selector.wakeup()
+                select = selector.select(1000);
+                if (selector.keys().size() == 0) {
+                    // we haven't been doing anything for a while, shutdown state
+                    boolean clean = context.cleanUp();
+                    if (clean) {
+                        // we stop this thread
+                        return;
                     }
+                    // there may be incoming connections, keep going
                 }
+            } else {
+                select = selector.selectNow();
+            }
+            metrics.select();
 
-                if (select > 0) {
-                    Set<SelectionKey> readyKeys = writeSelector.selectedKeys();
-                    Iterator<SelectionKey> iterator = readyKeys.iterator();
-                    while (iterator.hasNext()) {
-                        SelectionKey key = iterator.next();
-                        iterator.remove();
-                        SocketChannelFrameHandlerState state = (SocketChannelFrameHandlerState) key.attachment();
+            final long now = System.currentTimeMillis();
 
-                        if (!key.isValid()) {
-                            continue;
-                        }
+            register(selector, registrations);
 
-                        if (key.isWritable()) {
-                            boolean cancelKey = true;
-                            try {
-                                if (!state.getChannel().isOpen()) {
-                                    key.cancel();
-                                    continue;
-                                }
-
-                                state.prepareForWriteSequence();
-
-                                int toBeWritten = state.getWriteQueue().size();
-                                int written = 0;
-
-                                DataOutputStream outputStream = state.outputStream;
-
-                                WriteRequest request;
-                                while (written <= toBeWritten && (request = state.getWriteQueue().poll()) != null) {
-                                    request.handle(outputStream);
-                                    written++;
-                                }
-                                outputStream.flush();
-                                if (!state.getWriteQueue().isEmpty()) {
-                                    cancelKey = true;
-                                }
-                            } catch (Exception e) {
-                                handleIoError(state, e);
-                            } finally {
-                                state.endWriteSequence();
-                                if (cancelKey) {
-                                    key.cancel();
-                                }
+            if (select > 0) {
+                Set<SelectionKey> readyKeys = selector.selectedKeys();
+                Iterator<SelectionKey> iterator = readyKeys.iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+
+                    if (key.isValid() && key.isReadable()) {
+                        read(key, now);
+                    }
+
+                    if (key.isValid() && key.isWritable()) {
+                        SocketChannelFrameHandlerState state = (SocketChannelFrameHandlerState) key.attachment();
+                        try {
+                            if (state.writeBacklog()) {
+                                // the socket took the backlog, back to read only
+                                key.interestOps(SelectionKey.OP_READ);
+                                write(state, key);
                             }
+                        } catch (Exception e) {
+                            handleIoError(state, e);
+                            key.cancel();
                         }
                     }
                 }
             }
-        } catch (Exception e) {
-            LOGGER.error("Error in NIO loop", e);
+
+            Iterator<SocketChannelRegistration> writeRegistrationIterator = writeRegistrations.iterator();
+            while (writeRegistrationIterator.hasNext()) {
+                SocketChannelFrameHandlerState state = writeRegistrationIterator.next().state;
+                SelectionKey key = state.getChannel().keyFor(selector);
+                if (key == null && state.getChannel().isOpen()) {
+                    // the connection is not registered for read yet, it will be in the next iteration
+                    continue;
+                }
+                writeRegistrationIterator.remove();
+                if (key == null || !key.isValid() || state.hasWriteBacklog()) {
+                    // closed, or frames will be written once the socket is ready for write
+                    continue;
+                }
+                try {
+                    write(state, key);
+                } catch (Exception e) {
+                    handleIoError(state, e);
+                    key.cancel();
+                }
+            }
+        }
+    }
+
+    private void write(SocketChannelFrameHandlerState state, SelectionKey key) throws IOException {
+        write(state);
+        if (state.hasWriteBacklog()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Drain the write queue of the connection to the socket.
+     */
+    private void write(SocketChannelFrameHandlerState state) throws IOException {
+        try {
+            state.prepareForWriteSequence();
+
+            int toBeWritten = state.getWriteQueue().size();
+            int written = 0;
+
+            DataOutputStream outputStream = state.outputStream;
+
+            // the queued frames are gathered and sent to the socket
+            // in as few writes as possible when the stream is flushed
+            WriteRequest request;
+            while (written <= toBeWritten && !state.hasWriteBacklog() && (request = state.getWriteQueue().poll()) != null) {
+                request.handle(outputStream);
+                metrics.frameWritten(requestSize(request));
+                written++;
+            }
+            outputStream.flush();
+            if (!state.getWriteQueue().isEmpty() && !state.hasWriteBacklog()) {
+                // the drain is bounded and requests may still be being enqueued,
+                // make sure the remaining ones are written in a next sequence
+                state.scheduleWrite();
+            }
+        } finally {
+            state.endWriteSequence();
+        }
+    }
+
+    private void register(Selector selector, Set<SocketChannelRegistration> registrations) throws IOException {
+        SocketChannelRegistration registration;
+        Iterator<SocketChannelRegistration> registrationIterator = registrations.iterator();
+        while (registrationIterator.hasNext()) {
+            registration = registrationIterator.next();
+            registrationIterator.remove();
+            int operations = registration.operations;
+            registration.state.getChannel().register(selector, operations, registration.state);
+        }
+    }
+
+    private void read(SelectionKey key, long now) {
+        final SocketChannelFrameHandlerState state = (SocketChannelFrameHandlerState) key.attachment();
+        final ByteBuffer buffer = context.readBuffer;
+
+        try {
+            if (!state.getChannel().isOpen()) {
+                key.cancel();
+                return;
+            }
+            if(state.getConnection() == null) {
+                // we're in AMQConnection#start, between the header sending and the FrameHandler#initialize
+                // let's wait a bit more
+                return;
+            }
+
+            state.prepareForReadSequence();
+
+            while (state.continueReading()) {
+                final Frame frame = state.frameBuilder.readFrame();
+
+                if (frame != null) {
+                    metrics.frameRead(frame.size());
+                    try {
+                        boolean noProblem = state.getConnection().handleReadFrame(frame);
+                        if (noProblem && (!state.getConnection().isRunning() || state.getConnection().hasBrokerInitiatedShutdown())) {
+                            // looks like the frame was Close-Ok or Close
+                            dispatchShutdownToConnection(state);
+                            key.cancel();
+                            break;
+                        }
+                    } catch (Throwable ex) {
+                        // problem during frame processing, tell connection, and
+                        // we can stop for this channel
+                        handleIoError(state, ex);
+                        key.cancel();
+                        break;
+                    }
+                }
+            }
+
+            state.setLastActivity(now);
+            if (!state.heartbeatScheduled && state.getConnection().getHeartbeat() > 0) {
+                state.heartbeatScheduled = true;
+                heartbeatWheel.schedule(state, heartbeatDeadline(state));
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Error during reading frames", e);
+            handleIoError(state, e);
+            key.cancel();
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private TimerWheel.DeadlineHandler<SocketChannelFrameHandlerState> heartbeatCheck(final Selector selector) {
+        return (state, now) -> {
+            if (!state.getChannel().isOpen() || state.getConnection() == null) {
+                state.heartbeatScheduled = false;
+                return 0;
+            }
+            long deadline = heartbeatDeadline(state);
+            if (deadline > now) {
+                return deadline;
+            }
+            state.heartbeatScheduled = false;
+            metrics.heartbeatFailure();
+            try {
+                handleHeartbeatFailure(state);
+            } catch (Exception e) {
+                LOGGER.warn("Error after heartbeat failure of connection {}", state.getConnection());
+            } finally {
+                SelectionKey selectionKey = state.getChannel().keyFor(selector);
+                if (selectionKey != null) {
+                    selectionKey.cancel();
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static long heartbeatDeadline(SocketChannelFrameHandlerState state) {
+        return state.getLastActivity() + state.getConnection().getHeartbeat() * 1000L * 2;
+    }
+
+    private static int requestSize(WriteRequest request) {
+        if (request instanceof FrameWriteRequest) {
+            return ((FrameWriteRequest) request).frame.size();
+        } else if (request == HeaderWriteRequest.SINGLETON) {
+            return 8;
         }
+        return 0;
     }
 
     protected void handleIoError(SocketChannelFrameHandlerState state, Throwable ex) {
@@ -22,6 +22,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Selector;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 
@@ -38,16 +41,25 @@ public class NioLoopContext {
 
     private final ThreadFactory threadFactory;
 
+    private final boolean singleSelector;
+
     final ByteBuffer readBuffer, writeBuffer;
 
     SelectorHolder readSelectorState;
     SelectorHolder writeSelectorState;
 
+    /** Connections served by this loop */
+    private final Set<SocketChannelFrameHandlerState> states = Collections
+        .newSetFromMap(new ConcurrentHashMap<SocketChannelFrameHandlerState, Boolean>());
+
+    final NioLoopMetrics metrics = new NioLoopMetrics(this);
+
     public NioLoopContext(SocketChannelFrameHandlerFactory socketChannelFrameHandlerFactory,
         NioParams nioParams) {
         this.socketChannelFrameHandlerFactory = socketChannelFrameHandlerFactory;
         this.executorService = nioParams.getNioExecutor();
         this.threadFactory = nioParams.getThreadFactory();
+        this.singleSelector = nioParams.isSingleSelector();
         NioContext nioContext = new NioContext(nioParams, null);
         this.readBuffer = nioParams.getByteBufferFactory().createReadBuffer(nioContext);
         this.writeBuffer = nioParams.getByteBufferFactory().createWriteBuffer(nioContext);
@@ -57,7 +69,11 @@ public class NioLoopContext {
         // FIXME this should be synchronized
         if (this.readSelectorState == null) {
             this.readSelectorState = new SelectorHolder(Selector.open());
-            this.writeSelectorState = new SelectorHolder(Selector.open());
+            // with a single selector, write registrations are kept apart
+            // and tell the loop which connections have outbound frames
+            this.writeSelectorState = new SelectorHolder(
+                singleSelector ? this.readSelectorState.selector : Selector.open()
+            );
 
             startIoLoops();
         }
@@ -76,6 +92,30 @@ public class NioLoopContext {
         }
     }
 
+    void register(SocketChannelFrameHandlerState state) {
+        states.add(state);
+    }
+
+    void unregister(SocketChannelFrameHandlerState state) {
+        states.remove(state);
+    }
+
+    int getConnectionCount() {
+        return states.size();
+    }
+
+    int getWriteQueueSize() {
+        int size = 0;
+        for (SocketChannelFrameHandlerState state : states) {
+            size += state.getWriteQueue().size();
+        }
+        return size;
+    }
+
+    public NioLoopMetrics getMetrics() {
+        return metrics;
+    }
+
     protected boolean cleanUp() {
         int readRegistrationsCount = readSelectorState.registrations.size();
         if(readRegistrationsCount != 0) {
@@ -93,10 +133,12 @@ public class NioLoopContext {
             } catch (IOException e) {
                 LOGGER.warn("Could not close read selector: {}", e.getMessage());
             }
-            try {
-                writeSelectorState.selector.close();
-            } catch (IOException e) {
-                LOGGER.warn("Could not close write selector: {}", e.getMessage());
+            if (!singleSelector) {
+                try {
+                    writeSelectorState.selector.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Could not close write selector: {}", e.getMessage());
+                }
             }
 
             this.readSelectorState = null;
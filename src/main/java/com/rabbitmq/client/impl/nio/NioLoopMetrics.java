@@ -0,0 +1,120 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.nio;
+
+/**
+ * Counters of an NIO loop, i.e. of one of the IO threads
+ * that serve the connections of a connection factory.
+ * <p>
+ * Counters are updated by the NIO loop thread only and can be
+ * read from any thread. Bytes are frame bytes, they do not include
+ * the TLS overhead.
+ *
+ * @see NioParams#setNbIoThreads(int)
+ * @see com.rabbitmq.client.ConnectionFactory#getNioLoopMetrics()
+ * @since 6.0.0
+ */
+public class NioLoopMetrics {
+
+    private final NioLoopContext context;
+
+    private volatile long selects;
+    private volatile long readFrames;
+    private volatile long readBytes;
+    private volatile long writtenFrames;
+    private volatile long writtenBytes;
+    private volatile long heartbeatFailures;
+
+    NioLoopMetrics(NioLoopContext context) {
+        this.context = context;
+    }
+
+    // single writer (the NIO loop thread), the increments do not need to be atomic
+
+    void select() {
+        selects++;
+    }
+
+    void frameRead(int size) {
+        readFrames++;
+        readBytes += size;
+    }
+
+    void frameWritten(int size) {
+        writtenFrames++;
+        writtenBytes += size;
+    }
+
+    void heartbeatFailure() {
+        heartbeatFailures++;
+    }
+
+    /**
+     * @return number of selector selections
+     */
+    public long getSelects() {
+        return selects;
+    }
+
+    public long getReadFrames() {
+        return readFrames;
+    }
+
+    public long getReadBytes() {
+        return readBytes;
+    }
+
+    public long getWrittenFrames() {
+        return writtenFrames;
+    }
+
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    public long getHeartbeatFailures() {
+        return heartbeatFailures;
+    }
+
+    /**
+     * @return number of connections served by the loop
+     */
+    public int getConnectionCount() {
+        return context.getConnectionCount();
+    }
+
+    /**
+     * @return number of write requests waiting in the write queues of the loop's connections
+     */
+    public int getWriteQueueSize() {
+        return context.getWriteQueueSize();
+    }
+
+    @Override
+    public String toString() {
+        return "NioLoopMetrics{" +
+            "connections=" + getConnectionCount() +
+            ", writeQueueSize=" + getWriteQueueSize() +
+            ", selects=" + selects +
+            ", readFrames=" + readFrames +
+            ", readBytes=" + readBytes +
+            ", writtenFrames=" + writtenFrames +
+            ", writtenBytes=" + writtenBytes +
+            ", heartbeatFailures=" + heartbeatFailures +
+            '}';
+    }
+}
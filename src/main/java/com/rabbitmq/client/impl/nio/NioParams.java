@@ -20,7 +20,6 @@ import com.rabbitmq.client.SocketChannelConfigurators;
 import com.rabbitmq.client.SslEngineConfigurator;
 
 import javax.net.ssl.SSLEngine;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Function;
@@ -35,9 +34,11 @@ import static com.rabbitmq.client.SslEngineConfigurators.ENABLE_HOSTNAME_VERIFIC
 public class NioParams {
 
     static Function<NioContext, NioQueue> DEFAULT_WRITE_QUEUE_FACTORY =
-        ctx -> new BlockingQueueNioQueue(
-            new ArrayBlockingQueue<>(ctx.getNioParams().getWriteQueueCapacity(), true),
-            ctx.getNioParams().getWriteEnqueuingTimeoutInMs()
+        ctx -> new MpscNioQueue(
+            ctx.getNioParams().getWriteQueueCapacity(),
+            ctx.getNioParams().getWriteQueueFullPolicy() == null ?
+                WriteQueueFullPolicy.block(ctx.getNioParams().getWriteEnqueuingTimeoutInMs()) :
+                ctx.getNioParams().getWriteQueueFullPolicy()
         );
 
     /**
@@ -109,6 +110,21 @@ public class NioParams {
     private Function<NioContext, NioQueue> writeQueueFactory =
         DEFAULT_WRITE_QUEUE_FACTORY;
 
+    /**
+     * What to do when the write queue is full.
+     * The default is to block until the enqueuing timeout.
+     *
+     * @since 6.0.0
+     */
+    private WriteQueueFullPolicy writeQueueFullPolicy;
+
+    /**
+     * Whether to use one selector for reads and writes in the NIO loop.
+     *
+     * @since 6.0.0
+     */
+    private boolean singleSelector = false;
+
     public NioParams() {
     }
 
@@ -125,6 +141,8 @@ public class NioParams {
         setConnectionShutdownExecutor(nioParams.getConnectionShutdownExecutor());
         setByteBufferFactory(nioParams.getByteBufferFactory());
         setWriteQueueFactory(nioParams.getWriteQueueFactory());
+        setWriteQueueFullPolicy(nioParams.getWriteQueueFullPolicy());
+        setSingleSelector(nioParams.isSingleSelector());
     }
 
     /**
@@ -221,22 +239,25 @@ public class NioParams {
     /**
      * Sets the timeout for queuing outbound frames. Default is 10,000 ms.
      * Every requests to the server is divided into frames
-     * that are then queued in a {@link java.util.concurrent.BlockingQueue} before
+     * that are then queued in a {@link NioQueue} before
      * being sent on the network by a IO thread.
      * <p>
      * If the IO thread cannot cope with the frames dispatch, the
-     * {@link java.util.concurrent.BlockingQueue} gets filled up and blocks
+     * {@link NioQueue} gets filled up and blocks
      * (blocking the calling thread by the same occasion). This timeout is the
-     * time the {@link java.util.concurrent.BlockingQueue} will wait before
+     * time the {@link NioQueue} will wait before
      * rejecting the outbound frame. The calling thread will then received
      * an exception.
      * <p>
+     * The timeout is not used if a {@link WriteQueueFullPolicy} is set.
+     * <p>
      * The appropriate value depends on the application scenarios:
      * rate of outbound data (published messages, acknowledgment, etc), network speed...
      *
      * @param writeEnqueuingTimeoutInMs
      * @return this {@link NioParams} instance
      * @see NioParams#setWriteQueueCapacity(int)
+     * @see NioParams#setWriteQueueFullPolicy(WriteQueueFullPolicy)
      */
     public NioParams setWriteEnqueuingTimeoutInMs(int writeEnqueuingTimeoutInMs) {
         this.writeEnqueuingTimeoutInMs = writeEnqueuingTimeoutInMs;
@@ -409,7 +430,9 @@ public class NioParams {
     /**
      * Set the factory to create {@link NioQueue}s.
      * <p>
-     * The default uses a {@link ArrayBlockingQueue}.
+     * The default uses a lock-free {@link MpscNioQueue}.
+     * {@link BlockingQueueNioQueue} can be used to enqueue frames
+     * in a {@link java.util.concurrent.BlockingQueue}.
      *
      * @param writeQueueFactory the factory to use
      * @return this {@link NioParams} instance
@@ -425,4 +448,57 @@ public class NioParams {
     public Function<NioContext, NioQueue> getWriteQueueFactory() {
         return writeQueueFactory;
     }
+
+    /**
+     * Set the policy to apply when the write queue is full.
+     * <p>
+     * The default is to block the calling thread until the queue
+     * has some room, for the enqueuing timeout at most. Use
+     * {@link WriteQueueFullPolicy#failFast()} to reject frames immediately
+     * or a custom implementation to e.g. notify the application.
+     * <p>
+     * The policy is used by the default write queue, custom
+     * write queues can ignore it.
+     *
+     * @param writeQueueFullPolicy the policy to use
+     * @return this {@link NioParams} instance
+     * @see WriteQueueFullPolicy
+     * @see NioParams#setWriteEnqueuingTimeoutInMs(int)
+     * @see NioParams#setWriteQueueFactory(Function)
+     * @since 6.0.0
+     */
+    public NioParams setWriteQueueFullPolicy(WriteQueueFullPolicy writeQueueFullPolicy) {
+        this.writeQueueFullPolicy = writeQueueFullPolicy;
+        return this;
+    }
+
+    public WriteQueueFullPolicy getWriteQueueFullPolicy() {
+        return writeQueueFullPolicy;
+    }
+
+    /**
+     * Use one selector for reads and writes in each NIO loop.
+     * <p>
+     * By default, a NIO loop uses a selector for reads and another one
+     * for writes, and registers a connection with the write selector
+     * each time it has outbound frames. With a single selector,
+     * each connection has one selection key and the loop writes outbound
+     * frames as soon as they are enqueued. The loop waits for the socket
+     * to be ready for write only when it could not take all the data,
+     * which saves system calls and latency.
+     * <p>
+     * Default is false.
+     *
+     * @param singleSelector whether to use one selector for reads and writes
+     * @return this {@link NioParams} instance
+     * @since 6.0.0
+     */
+    public NioParams setSingleSelector(boolean singleSelector) {
+        this.singleSelector = singleSelector;
+        return this;
+    }
+
+    public boolean isSingleSelector() {
+        return singleSelector;
+    }
 }
@@ -19,6 +19,7 @@ import com.rabbitmq.client.Address;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.SslContextFactory;
 import com.rabbitmq.client.impl.AbstractFrameHandlerFactory;
+import com.rabbitmq.client.impl.ByteArrayPool;
 import com.rabbitmq.client.impl.FrameHandler;
 
 import javax.net.ssl.SSLContext;
@@ -43,6 +44,8 @@ public class SocketChannelFrameHandlerFactory extends AbstractFrameHandlerFactor
 
     private final SslContextFactory sslContextFactory;
 
+    private final ByteArrayPool byteArrayPool;
+
     private final Lock stateLock = new ReentrantLock();
 
     private final AtomicLong globalConnectionCount = new AtomicLong();
@@ -51,9 +54,15 @@ public class SocketChannelFrameHandlerFactory extends AbstractFrameHandlerFactor
 
     public SocketChannelFrameHandlerFactory(int connectionTimeout, NioParams nioParams, boolean ssl, SslContextFactory sslContextFactory)
         throws IOException {
+        this(connectionTimeout, nioParams, ssl, sslContextFactory, null);
+    }
+
+    public SocketChannelFrameHandlerFactory(int connectionTimeout, NioParams nioParams, boolean ssl, SslContextFactory sslContextFactory,
+        ByteArrayPool byteArrayPool) throws IOException {
         super(connectionTimeout, null, ssl);
         this.nioParams = new NioParams(nioParams);
         this.sslContextFactory = sslContextFactory;
+        this.byteArrayPool = byteArrayPool;
         this.nioLoopContexts = new ArrayList<NioLoopContext>(this.nioParams.getNbIoThreads());
         for (int i = 0; i < this.nioParams.getNbIoThreads(); i++) {
             this.nioLoopContexts.add(new NioLoopContext(this, this.nioParams));
@@ -100,15 +109,16 @@ public class SocketChannelFrameHandlerFactory extends AbstractFrameHandlerFactor
             stateLock.lock();
             NioLoopContext nioLoopContext = null;
             try {
-                long modulo = globalConnectionCount.getAndIncrement() % nioParams.getNbIoThreads();
-                nioLoopContext = nioLoopContexts.get((int) modulo);
+                nioLoopContext = leastLoadedNioLoopContext();
                 nioLoopContext.initStateIfNecessary();
                 SocketChannelFrameHandlerState state = new SocketChannelFrameHandlerState(
                     channel,
                     nioLoopContext,
                     nioParams,
-                    sslEngine
+                    sslEngine,
+                    byteArrayPool
                 );
+                nioLoopContext.register(state);
                 state.startReading();
                 SocketChannelFrameHandler frameHandler = new SocketChannelFrameHandler(state);
                 return frameHandler;
@@ -131,6 +141,37 @@ public class SocketChannelFrameHandlerFactory extends AbstractFrameHandlerFactor
 
     }
 
+    /**
+     * Pick the loop serving the fewest connections, so that connections stay
+     * evenly spread across loops as they get closed and opened.
+     * Ties are broken in a round-robin fashion.
+     */
+    private NioLoopContext leastLoadedNioLoopContext() {
+        int loopCount = nioLoopContexts.size();
+        int start = (int) (globalConnectionCount.getAndIncrement() % loopCount);
+        NioLoopContext leastLoaded = null;
+        for (int i = 0; i < loopCount; i++) {
+            NioLoopContext candidate = nioLoopContexts.get((start + i) % loopCount);
+            if (leastLoaded == null || candidate.getConnectionCount() < leastLoaded.getConnectionCount()) {
+                leastLoaded = candidate;
+            }
+        }
+        return leastLoaded;
+    }
+
+    /**
+     * Metrics of the NIO loops of this factory, one per IO thread.
+     * @return the metrics of each loop
+     * @since 6.0.0
+     */
+    public List<NioLoopMetrics> getNioLoopMetrics() {
+        List<NioLoopMetrics> metrics = new ArrayList<NioLoopMetrics>(nioLoopContexts.size());
+        for (NioLoopContext nioLoopContext : nioLoopContexts) {
+            metrics.add(nioLoopContext.getMetrics());
+        }
+        return metrics;
+    }
+
     void lock() {
         stateLock.lock();
     }
@@ -16,6 +16,7 @@
 package com.rabbitmq.client.impl.nio;
 
 import com.rabbitmq.client.impl.AMQConnection;
+import com.rabbitmq.client.impl.ByteArrayPool;
 import com.rabbitmq.client.impl.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +27,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  *
@@ -46,6 +49,19 @@ public class SocketChannelFrameHandlerState {
     /** should be used only in the NIO read thread */
     private long lastActivity;
 
+    /** whether the heartbeat of the connection is checked, should be used only in the NIO read thread */
+    boolean heartbeatScheduled = false;
+
+    private final NioLoopContext nioLoopContext;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * whether the channel has been registered for write and its write queue
+     * not drained yet, so only the first request after a drain wakes up the NIO thread
+     */
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+
     private final SelectorHolder writeSelectorState;
 
     private final SelectorHolder readSelectorState;
@@ -68,10 +84,19 @@ public class SocketChannelFrameHandlerState {
 
     final DataOutputStream outputStream;
 
+    /** channel that keeps the bytes the socket cannot take, in single-selector mode only */
+    final BufferedWriteChannel bufferedWriteChannel;
+
     final FrameBuilder frameBuilder;
 
     public SocketChannelFrameHandlerState(SocketChannel channel, NioLoopContext nioLoopsState, NioParams nioParams, SSLEngine sslEngine) {
+        this(channel, nioLoopsState, nioParams, sslEngine, null);
+    }
+
+    public SocketChannelFrameHandlerState(SocketChannel channel, NioLoopContext nioLoopsState, NioParams nioParams, SSLEngine sslEngine,
+        ByteArrayPool byteArrayPool) {
         this.channel = channel;
+        this.nioLoopContext = nioLoopsState;
         this.readSelectorState = nioLoopsState.readSelectorState;
         this.writeSelectorState = nioLoopsState.writeSelectorState;
 
@@ -81,6 +106,10 @@ public class SocketChannelFrameHandlerState {
             NioParams.DEFAULT_WRITE_QUEUE_FACTORY.apply(nioContext) :
             nioParams.getWriteQueueFactory().apply(nioContext);
 
+        this.bufferedWriteChannel = nioParams.isSingleSelector() ?
+            new BufferedWriteChannel(channel, nioParams.getWriteByteBufferSize()) : null;
+        WritableByteChannel writeChannel = this.bufferedWriteChannel == null ? channel : this.bufferedWriteChannel;
+
         this.sslEngine = sslEngine;
         if(this.sslEngine == null) {
             this.ssl = false;
@@ -90,10 +119,10 @@ public class SocketChannelFrameHandlerState {
             this.cipherIn = null;
 
             this.outputStream = new DataOutputStream(
-                new ByteBufferOutputStream(channel, plainOut)
+                new ByteBufferOutputStream(writeChannel, plainOut)
             );
 
-            this.frameBuilder = new FrameBuilder(channel, plainIn);
+            this.frameBuilder = new FrameBuilder(channel, plainIn, byteArrayPool);
 
         } else {
             this.ssl = true;
@@ -103,9 +132,9 @@ public class SocketChannelFrameHandlerState {
             this.cipherIn = nioParams.getByteBufferFactory().createEncryptedReadBuffer(nioContext);
 
             this.outputStream = new DataOutputStream(
-                new SslEngineByteBufferOutputStream(sslEngine, plainOut, cipherOut, channel)
+                new SslEngineByteBufferOutputStream(sslEngine, plainOut, cipherOut, writeChannel)
             );
-            this.frameBuilder = new SslEngineFrameBuilder(sslEngine, plainIn, cipherIn, channel);
+            this.frameBuilder = new SslEngineFrameBuilder(sslEngine, plainIn, cipherIn, channel, byteArrayPool);
         }
 
     }
@@ -123,15 +152,16 @@ public class SocketChannelFrameHandlerState {
     }
 
     public void write(Frame frame) throws IOException {
-        sendWriteRequest(new FrameWriteRequest(frame));
+        // the frame is written later by the NIO thread,
+        // it must not reference the caller's message body
+        sendWriteRequest(new FrameWriteRequest(frame.ownedCopy()));
     }
 
     private void sendWriteRequest(WriteRequest writeRequest) throws IOException {
         try {
             boolean offered = this.writeQueue.offer(writeRequest);
             if(offered) {
-                this.writeSelectorState.registerFrameHandlerState(this, SelectionKey.OP_WRITE);
-                this.readSelectorState.selector.wakeup();
+                scheduleWrite();
             } else {
                 throw new IOException("Frame enqueuing failed");
             }
@@ -140,6 +170,19 @@ public class SocketChannelFrameHandlerState {
         }
     }
 
+    /**
+     * Register the channel for write, unless it's already registered
+     * and the NIO thread has not started to drain the write queue.
+     */
+    void scheduleWrite() {
+        if (this.writeScheduled.compareAndSet(false, true)) {
+            this.writeSelectorState.registerFrameHandlerState(this, SelectionKey.OP_WRITE);
+            if (this.readSelectorState.selector != this.writeSelectorState.selector) {
+                this.readSelectorState.selector.wakeup();
+            }
+        }
+    }
+
     public void startReading() {
         this.readSelectorState.registerFrameHandlerState(this, SelectionKey.OP_READ);
     }
@@ -161,6 +204,8 @@ public class SocketChannelFrameHandlerState {
     }
 
     void prepareForWriteSequence() {
+        // requests enqueued from now on may not be drained in this sequence
+        writeScheduled.set(false);
         if(ssl) {
             plainOut.clear();
             cipherOut.clear();
@@ -211,7 +256,31 @@ public class SocketChannelFrameHandlerState {
         }
     }
 
+    /**
+     * Whether some outbound bytes are waiting for the socket
+     * to be ready for write (single-selector mode only).
+     */
+    boolean hasWriteBacklog() {
+        return bufferedWriteChannel != null && bufferedWriteChannel.hasBacklog();
+    }
+
+    /**
+     * Write the outbound bytes the socket could not take previously.
+     *
+     * @return true if all the bytes have been written
+     */
+    boolean writeBacklog() throws IOException {
+        return bufferedWriteChannel == null || bufferedWriteChannel.writeBacklog();
+    }
+
+    NioLoopContext getNioLoopContext() {
+        return nioLoopContext;
+    }
+
     void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            nioLoopContext.unregister(this);
+        }
         if(ssl) {
             SslEngineHelper.close(channel, sslEngine);
         }
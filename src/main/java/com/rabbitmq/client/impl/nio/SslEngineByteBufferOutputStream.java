@@ -47,6 +47,19 @@ public class SslEngineByteBufferOutputStream extends OutputStream {
         plainOut.put((byte) b);
     }
 
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!plainOut.hasRemaining()) {
+                doFlush();
+            }
+            int length = Math.min(len, plainOut.remaining());
+            plainOut.put(b, off, length);
+            off += length;
+            len -= length;
+        }
+    }
+
     @Override
     public void flush() throws IOException {
         if (plainOut.position() > 0) {
@@ -15,6 +15,8 @@
 
 package com.rabbitmq.client.impl.nio;
 
+import com.rabbitmq.client.impl.ByteArrayPool;
+
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
 import javax.net.ssl.SSLException;
@@ -33,7 +35,12 @@ public class SslEngineFrameBuilder extends FrameBuilder {
     private final ByteBuffer cipherBuffer;
 
     public SslEngineFrameBuilder(SSLEngine sslEngine, ByteBuffer plainIn, ByteBuffer cipherIn, ReadableByteChannel channel) {
-        super(channel, plainIn);
+        this(sslEngine, plainIn, cipherIn, channel, null);
+    }
+
+    public SslEngineFrameBuilder(SSLEngine sslEngine, ByteBuffer plainIn, ByteBuffer cipherIn, ReadableByteChannel channel,
+        ByteArrayPool payloadPool) {
+        super(channel, plainIn, payloadPool);
         this.sslEngine = sslEngine;
         this.cipherBuffer = cipherIn;
     }
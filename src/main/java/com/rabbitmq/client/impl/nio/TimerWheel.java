@@ -0,0 +1,144 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.nio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel to check deadlines without scanning all the items
+ * on each check.
+ * <p>
+ * Items are put in slots of <code>tickDuration</code> ms, according to their deadline.
+ * When time advances, only the slots of the elapsed ticks are processed: the
+ * {@link DeadlineHandler} of the wheel is called for each of their items, and tells
+ * whether the item must be checked again later, e.g. because its deadline
+ * has been pushed back in the meantime.
+ * A deadline further than the span of the wheel is checked once per wheel
+ * revolution until it is reached.
+ * <p>
+ * This class is not thread-safe, it is meant to be used by the NIO loop thread only.
+ *
+ * @param <T> type of the items
+ * @since 6.0.0
+ */
+public class TimerWheel<T> {
+
+    private final long tickDuration;
+
+    private final int mask;
+
+    private List<T>[] slots;
+
+    private long currentTick = -1;
+
+    private int size = 0;
+
+    /**
+     * @param tickDuration duration of a slot, in ms
+     * @param wheelSize number of slots, rounded up to a power of 2
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickDuration, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        int slotCount = 1;
+        while (slotCount < wheelSize) {
+            slotCount <<= 1;
+        }
+        this.tickDuration = tickDuration;
+        this.mask = slotCount - 1;
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            this.slots[i] = new ArrayList<T>();
+        }
+    }
+
+    /**
+     * Schedule a check of an item.
+     * @param item the item to check
+     * @param deadline time of the check, in ms
+     */
+    public void schedule(T item, long deadline) {
+        // rounding up, so that the item is never checked before its deadline
+        long tick = deadline / tickDuration + 1;
+        if (currentTick >= 0 && tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+        slots[(int) (tick & mask)].add(item);
+        size++;
+    }
+
+    /**
+     * Process the slots of the ticks elapsed since the last call.
+     * @param now the current time, in ms
+     * @param handler called for each item whose slot is processed
+     */
+    public void advance(long now, DeadlineHandler<T> handler) {
+        long tick = now / tickDuration;
+        if (currentTick < 0) {
+            currentTick = tick;
+            return;
+        }
+        if (tick <= currentTick) {
+            return;
+        }
+        // no need to go more than once around the wheel
+        long from = Math.max(currentTick + 1, tick - mask);
+        currentTick = tick;
+        for (long t = from; t <= tick; t++) {
+            int index = (int) (t & mask);
+            List<T> slot = slots[index];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            // items can be re-scheduled in this very slot, use a fresh list
+            slots[index] = new ArrayList<T>();
+            size -= slot.size();
+            for (T item : slot) {
+                long nextDeadline = handler.check(item, now);
+                if (nextDeadline > 0) {
+                    schedule(item, nextDeadline);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of items in the wheel
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Callback to check an item whose deadline may have been reached.
+     * @param <T> type of the items
+     */
+    public interface DeadlineHandler<T> {
+
+        /**
+         * Check an item.
+         * @param item the item to check
+         * @param now the current time, in ms
+         * @return the next deadline of the item, or 0 or less to remove the item from the wheel
+         */
+        long check(T item, long now);
+
+    }
+}
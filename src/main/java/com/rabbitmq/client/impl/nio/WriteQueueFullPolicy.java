@@ -0,0 +1,84 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.nio;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What to do when an outbound frame cannot be enqueued because
+ * the write queue of the connection is full.
+ * <p>
+ * The policy is called in the thread that is trying to send the frame,
+ * so it can block this thread to apply backpressure, reject the frame
+ * (the calling thread then gets an {@link java.io.IOException}), or notify
+ * the application before making one of these decisions.
+ * <p>
+ * This interface is considered a SPI and is likely to move between
+ * minor and patch releases.
+ *
+ * @see MpscNioQueue
+ * @see NioParams#setWriteQueueFullPolicy(WriteQueueFullPolicy)
+ * @since 6.0.0
+ */
+@FunctionalInterface
+public interface WriteQueueFullPolicy {
+
+    /**
+     * Called when the write queue is full.
+     * <p>
+     * The policy is called again if the queue is still full after a retry.
+     *
+     * @param writeRequest the request that cannot be enqueued
+     * @param waitedNanos the time already spent trying to enqueue the request, in nanoseconds
+     * @return true to try to enqueue the request again, false to reject it
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    boolean onQueueFull(WriteRequest writeRequest, long waitedNanos) throws InterruptedException;
+
+    /**
+     * Rejects the frame as soon as the queue is full.
+     *
+     * @return the policy
+     */
+    static WriteQueueFullPolicy failFast() {
+        return (writeRequest, waitedNanos) -> false;
+    }
+
+    /**
+     * Blocks the calling thread until the queue has some room
+     * or the timeout is reached.
+     *
+     * @param timeoutInMs the maximum time to wait, in milliseconds
+     * @return the policy
+     */
+    static WriteQueueFullPolicy block(int timeoutInMs) {
+        final long timeoutInNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMs);
+        final long maxParkNanos = TimeUnit.MICROSECONDS.toNanos(100);
+        return (writeRequest, waitedNanos) -> {
+            if (waitedNanos >= timeoutInNanos) {
+                return false;
+            }
+            // the NIO thread does not signal producers, so poll with short pauses
+            LockSupport.parkNanos(Math.min(maxParkNanos, timeoutInNanos - waitedNanos));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return true;
+        };
+    }
+}
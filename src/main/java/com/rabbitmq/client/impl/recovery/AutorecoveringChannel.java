@@ -202,6 +202,21 @@ public class AutorecoveringChannel implements RecoverableChannel {
         delegate.basicPublish(exchange, routingKey, mandatory, immediate, props, body);
     }
 
+    @Override
+    public void basicPublishBatch(PublishBatch batch) throws IOException {
+        delegate.basicPublishBatch(batch);
+    }
+
+    @Override
+    public CompletableFuture<Void> basicPublishAsync(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body) throws IOException {
+        return delegate.basicPublishAsync(exchange, routingKey, props, body);
+    }
+
+    @Override
+    public CompletableFuture<Void> basicPublishAsync(String exchange, String routingKey, boolean mandatory, AMQP.BasicProperties props, byte[] body) throws IOException {
+        return delegate.basicPublishAsync(exchange, routingKey, mandatory, props, body);
+    }
+
     @Override
     public AMQP.Exchange.DeclareOk exchangeDeclare(String exchange, String type) throws IOException {
         return exchangeDeclare(exchange, type, false, false, null);
@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -78,9 +79,11 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
 
     // Records topology changes
     private final Map<String, RecordedQueue> recordedQueues = Collections.synchronizedMap(new LinkedHashMap<>());
-    private final List<RecordedBinding> recordedBindings = Collections.synchronizedList(new ArrayList<>());
+    private final RecordedBindings recordedBindings = new RecordedBindings();
     private final Map<String, RecordedExchange> recordedExchanges = Collections.synchronizedMap(new LinkedHashMap<>());
     private final Map<String, RecordedConsumer> consumers = Collections.synchronizedMap(new LinkedHashMap<>());
+    // guarded by consumers
+    private final Map<String, Set<RecordedConsumer>> consumersByQueue = new HashMap<>();
     private final List<ConsumerRecoveryListener> consumerRecoveryListeners = Collections.synchronizedList(new ArrayList<>());
     private final List<QueueRecoveryListener> queueRecoveryListeners = Collections.synchronizedList(new ArrayList<>());
 
@@ -647,36 +650,83 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
         }
     }
     
+    private void notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase phase, int entityCount, long startTime) {
+        Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+        LOGGER.debug("Topology recovery phase {} completed for {} entities in {} ms", phase, entityCount, duration.toMillis());
+        for (RecoveryListener f : Utility.copy(this.recoveryListeners)) {
+            f.handleTopologyRecoveryPhase(this, phase, entityCount, duration);
+        }
+    }
+
     private void recoverTopology(final ExecutorService executor) {
         // The recovery sequence is the following:
         // 1. Recover exchanges
         // 2. Recover queues
         // 3. Recover bindings
         // 4. Recover consumers
+        final Collection<RecordedExchange> exchanges = Utility.copy(recordedExchanges).values();
+        final Map<String, RecordedQueue> queues = Utility.copy(recordedQueues);
+        final List<RecordedBinding> bindings = recordedBindings.snapshot();
+        final Map<String, RecordedConsumer> consumerMap = Utility.copy(consumers);
+        final int pipeliningChannels = this.params.getPipelinedTopologyRecoveryChannels();
+        long start;
+        if (pipeliningChannels > 0) {
+            // declarations are sent without waiting for replies, see recoverEntitiesPipelined
+            start = System.nanoTime();
+            recoverEntitiesPipelined(pipeliningChannels, exchanges);
+            notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.EXCHANGES, exchanges.size(), start);
+            start = System.nanoTime();
+            recoverEntitiesPipelined(pipeliningChannels, queues.values());
+            notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.QUEUES, queues.size(), start);
+            start = System.nanoTime();
+            // bindings of server-named queues have been updated during queue recovery
+            recoverEntitiesPipelined(pipeliningChannels, recordedBindings.snapshot());
+            notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.BINDINGS, bindings.size(), start);
+        }
         if (executor == null) {
             // recover entities in serial on the main connection thread
-            for (final RecordedExchange exchange : Utility.copy(recordedExchanges).values()) {
-                recoverExchange(exchange, true);
-            }
-            for (final Map.Entry<String, RecordedQueue> entry : Utility.copy(recordedQueues).entrySet()) {
-                recoverQueue(entry.getKey(), entry.getValue(), true);
-            }
-            for (final RecordedBinding b : Utility.copy(recordedBindings)) {
-                recoverBinding(b, true);
+            if (pipeliningChannels <= 0) {
+                start = System.nanoTime();
+                for (final RecordedExchange exchange : exchanges) {
+                    recoverExchange(exchange, true);
+                }
+                notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.EXCHANGES, exchanges.size(), start);
+                start = System.nanoTime();
+                for (final Map.Entry<String, RecordedQueue> entry : queues.entrySet()) {
+                    recoverQueue(entry.getKey(), entry.getValue(), true);
+                }
+                notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.QUEUES, queues.size(), start);
+                start = System.nanoTime();
+                for (final RecordedBinding b : bindings) {
+                    recoverBinding(b, true);
+                }
+                notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.BINDINGS, bindings.size(), start);
             }
-            for (final Map.Entry<String, RecordedConsumer> entry : Utility.copy(consumers).entrySet()) {
+            start = System.nanoTime();
+            for (final Map.Entry<String, RecordedConsumer> entry : consumerMap.entrySet()) {
                 recoverConsumer(entry.getKey(), entry.getValue(), true);
             }
+            notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.CONSUMERS, consumerMap.size(), start);
         } else {
             // Support recovering entities in parallel for connections that have a lot of queues, bindings, & consumers
             // A channel is single threaded, so group things by channel and recover 1 entity at a time per channel
             // We also need to recover 1 type of entity at a time in case channel1 has a binding to a queue that is currently owned and being recovered by channel2 for example
             // Note: invokeAll will block until all callables are completed and all returned futures will be complete 
             try {
-                recoverEntitiesAsynchronously(executor, Utility.copy(recordedExchanges).values());
-                recoverEntitiesAsynchronously(executor, Utility.copy(recordedQueues).values());
-                recoverEntitiesAsynchronously(executor, Utility.copy(recordedBindings));
-                recoverEntitiesAsynchronously(executor, Utility.copy(consumers).values());
+                if (pipeliningChannels <= 0) {
+                    start = System.nanoTime();
+                    recoverEntitiesAsynchronously(executor, exchanges);
+                    notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.EXCHANGES, exchanges.size(), start);
+                    start = System.nanoTime();
+                    recoverEntitiesAsynchronously(executor, queues.values());
+                    notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.QUEUES, queues.size(), start);
+                    start = System.nanoTime();
+                    recoverEntitiesAsynchronously(executor, bindings);
+                    notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.BINDINGS, bindings.size(), start);
+                }
+                start = System.nanoTime();
+                recoverEntitiesAsynchronously(executor, consumerMap.values());
+                notifyRecoveryListenersTopologyPhase(TopologyRecoveryPhase.CONSUMERS, consumerMap.size(), start);
             } catch (final Exception cause) {
                 final String message = "Caught an exception while recovering toplogy: " + cause.getMessage();
                 final TopologyRecoveryException e = new TopologyRecoveryException(message, cause);
@@ -685,6 +735,131 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
         }
     }
 
+    /**
+     * Recovers entities of the same type by sending their declarations without waiting
+     * for the broker's replies, on dedicated recovery channels. A single synchronous
+     * round trip per channel then fences the phase: as the broker processes the commands
+     * of a channel in order, its reply means all the declarations have succeeded.
+     * If a recovery channel fails, e.g. because of an invalid declaration, all its entities
+     * are recovered again synchronously, so that the failure is retried and reported as usual.
+     * Server-named queues are always recovered synchronously, to learn their new name.
+     */
+    private <E extends RecordedEntity> void recoverEntitiesPipelined(int channelCount, Collection<E> entities) {
+        final List<List<E>> batches = new ArrayList<>(channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            batches.add(new ArrayList<>());
+        }
+        int index = 0;
+        for (final E entity : entities) {
+            if (entity instanceof RecordedQueue && ((RecordedQueue) entity).isServerNamed()) {
+                final RecordedQueue q = (RecordedQueue) entity;
+                recoverQueue(q.getName(), q, true);
+            } else if (isIncludedInRecovery(entity)) {
+                batches.get(index++ % channelCount).add(entity);
+            }
+        }
+        final List<Channel> recoveryChannels = new ArrayList<>(channelCount);
+        final List<Boolean> sent = new ArrayList<>(channelCount);
+        for (final List<E> batch : batches) {
+            if (batch.isEmpty()) {
+                continue;
+            }
+            Channel recoveryChannel = null;
+            boolean batchSent = false;
+            try {
+                recoveryChannel = this.delegate.createChannel();
+                if (recoveryChannel != null) {
+                    for (final E entity : batch) {
+                        recoverEntityNoWait(entity, recoveryChannel);
+                    }
+                    batchSent = true;
+                }
+            } catch (IOException | ShutdownSignalException e) {
+                LOGGER.debug("Could not pipeline recovery of {} entities, recovering them synchronously", batch.size(), e);
+            }
+            recoveryChannels.add(recoveryChannel);
+            sent.add(batchSent);
+        }
+        int channelIndex = 0;
+        for (final List<E> batch : batches) {
+            if (batch.isEmpty()) {
+                continue;
+            }
+            final Channel recoveryChannel = recoveryChannels.get(channelIndex);
+            boolean recovered = sent.get(channelIndex);
+            channelIndex++;
+            if (recovered) {
+                try {
+                    // a synchronous method, its reply comes after the outcome of all the previous commands
+                    recoveryChannel.basicQos(0);
+                } catch (IOException | ShutdownSignalException e) {
+                    LOGGER.debug("Pipelined recovery of {} entities failed, recovering them synchronously", batch.size(), e);
+                    recovered = false;
+                }
+            }
+            if (recoveryChannel != null) {
+                try {
+                    recoveryChannel.abort();
+                } catch (IOException e) {
+                    // best effort, the channel is no longer used
+                }
+            }
+            for (final E entity : batch) {
+                if (recovered) {
+                    entityRecoveredNoWait(entity);
+                } else {
+                    recoverEntity(entity);
+                }
+            }
+        }
+    }
+
+    private boolean isIncludedInRecovery(RecordedEntity entity) {
+        if (entity instanceof RecordedExchange) {
+            return this.topologyRecoveryFilter.filterExchange((RecordedExchange) entity);
+        } else if (entity instanceof RecordedQueue) {
+            return this.topologyRecoveryFilter.filterQueue((RecordedQueue) entity);
+        } else if (entity instanceof RecordedBinding) {
+            return this.topologyRecoveryFilter.filterBinding((RecordedBinding) entity);
+        } else {
+            throw new IllegalArgumentException("Entity cannot be recovered with pipelining: " + entity);
+        }
+    }
+
+    private void recoverEntityNoWait(RecordedEntity entity, Channel recoveryChannel) throws IOException {
+        if (entity instanceof RecordedExchange) {
+            ((RecordedExchange) entity).recoverNoWait(recoveryChannel);
+        } else if (entity instanceof RecordedQueue) {
+            ((RecordedQueue) entity).recoverNoWait(recoveryChannel);
+        } else if (entity instanceof RecordedBinding) {
+            ((RecordedBinding) entity).recoverNoWait(recoveryChannel);
+        }
+    }
+
+    private void entityRecoveredNoWait(RecordedEntity entity) {
+        if (entity instanceof RecordedQueue) {
+            final String name = ((RecordedQueue) entity).getName();
+            for (QueueRecoveryListener qrl : Utility.copy(this.queueRecoveryListeners)) {
+                qrl.queueRecovered(name, name);
+            }
+        }
+        LOGGER.debug("{} has recovered", entity);
+    }
+
+    private void recoverEntity(RecordedEntity entity) {
+        if (entity instanceof RecordedExchange) {
+            recoverExchange((RecordedExchange) entity, true);
+        } else if (entity instanceof RecordedQueue) {
+            final RecordedQueue q = (RecordedQueue) entity;
+            recoverQueue(q.getName(), q, true);
+        } else if (entity instanceof RecordedBinding) {
+            recoverBinding((RecordedBinding) entity, true);
+        } else if (entity instanceof RecordedConsumer) {
+            final RecordedConsumer c = (RecordedConsumer) entity;
+            recoverConsumer(c.getConsumerTag(), c, true);
+        }
+    }
+
     private void recoverExchange(RecordedExchange x, boolean retry) {
         // recorded exchanges are guaranteed to be non-predefined (we filter out predefined ones in exchangeDeclare). MK.
         try {
@@ -838,17 +1013,17 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
     }
 
     private void propagateQueueNameChangeToBindings(String oldName, String newName) {
-        for (RecordedBinding b : Utility.copy(this.recordedBindings)) {
-            if (b.getDestination().equals(oldName)) {
-                b.setDestination(newName);
-            }
-        }
+        this.recordedBindings.renameDestination(oldName, newName);
     }
 
     private void propagateQueueNameChangeToConsumers(String oldName, String newName) {
-        for (RecordedConsumer c : Utility.copy(this.consumers).values()) {
-            if (c.getQueue().equals(oldName)) {
-                c.setQueue(newName);
+        synchronized (this.consumers) {
+            Set<RecordedConsumer> renamed = this.consumersByQueue.remove(oldName);
+            if (renamed != null) {
+                for (RecordedConsumer c : renamed) {
+                    c.setQueue(newName);
+                }
+                this.consumersByQueue.computeIfAbsent(newName, q -> new LinkedHashSet<>()).addAll(renamed);
             }
         }
     }
@@ -884,17 +1059,7 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
         for (final List<E> entityList : map.values()) {
             callables.add(Executors.callable(() -> {
                 for (final E entity : entityList) {
-                    if (entity instanceof RecordedExchange) {
-                        recoverExchange((RecordedExchange)entity, true);
-                    } else if (entity instanceof RecordedQueue) {
-                        final RecordedQueue q = (RecordedQueue) entity;
-                        recoverQueue(q.getName(), q, true);
-                    } else if (entity instanceof RecordedBinding) {
-                        recoverBinding((RecordedBinding) entity, true);
-                    } else if (entity instanceof RecordedConsumer) {
-                        final RecordedConsumer c = (RecordedConsumer) entity;
-                        recoverConsumer(c.getConsumerTag(), c, true);
-                    }
+                    recoverEntity(entity);
                 }
             }));
         }
@@ -911,8 +1076,7 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
                                          destination(queue).
                                          routingKey(routingKey).
                                          arguments(arguments);
-        this.recordedBindings.remove(binding);
-        this.recordedBindings.add(binding);
+        this.recordedBindings.record(binding);
     }
 
     boolean deleteRecordedQueueBinding(AutorecoveringChannel ch,
@@ -938,8 +1102,7 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
                                           destination(destination).
                                           routingKey(routingKey).
                                           arguments(arguments);
-        this.recordedBindings.remove(binding);
-        this.recordedBindings.add(binding);
+        this.recordedBindings.record(binding);
     }
 
     boolean deleteRecordedExchangeBinding(AutorecoveringChannel ch,
@@ -983,7 +1146,7 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
             // Note: This is basically the same as maybeDeleteRecordedAutoDeleteQueue except it works for non auto-delete queues as well.
             synchronized (this.consumers) {
                 synchronized (this.recordedQueues) {
-                    if (!hasMoreConsumersOnQueue(this.consumers.values(), queue)) {
+                    if (!hasMoreConsumersOnQueue(queue)) {
                         deleteRecordedQueue(queue);
                     }
                 }
@@ -1006,17 +1169,40 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
     }
 
     void recordConsumer(String result, RecordedConsumer consumer) {
-        this.consumers.put(result, consumer);
+        synchronized (this.consumers) {
+            RecordedConsumer previous = this.consumers.put(result, consumer);
+            if (previous != null) {
+                unindexConsumer(previous);
+            }
+            this.consumersByQueue.computeIfAbsent(consumer.getQueue(), q -> new LinkedHashSet<>()).add(consumer);
+        }
     }
 
     RecordedConsumer deleteRecordedConsumer(String consumerTag) {
-        return this.consumers.remove(consumerTag);
+        synchronized (this.consumers) {
+            RecordedConsumer consumer = this.consumers.remove(consumerTag);
+            if (consumer != null) {
+                unindexConsumer(consumer);
+            }
+            return consumer;
+        }
+    }
+
+    // must be called while holding the consumers lock
+    private void unindexConsumer(RecordedConsumer consumer) {
+        Set<RecordedConsumer> queueConsumers = this.consumersByQueue.get(consumer.getQueue());
+        if (queueConsumers != null) {
+            queueConsumers.remove(consumer);
+            if (queueConsumers.isEmpty()) {
+                this.consumersByQueue.remove(consumer.getQueue());
+            }
+        }
     }
 
     void maybeDeleteRecordedAutoDeleteQueue(String queue) {
         synchronized (this.consumers) {
             synchronized (this.recordedQueues) {
-                if(!hasMoreConsumersOnQueue(this.consumers.values(), queue)) {
+                if(!hasMoreConsumersOnQueue(queue)) {
                     RecordedQueue q = this.recordedQueues.get(queue);
                     // last consumer on this connection is gone, remove recorded queue
                     // if it is auto-deleted. See bug 26364.
@@ -1031,7 +1217,7 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
     void maybeDeleteRecordedAutoDeleteExchange(String exchange) {
         synchronized (this.consumers) {
             synchronized (this.recordedExchanges) {
-                if(!hasMoreDestinationsBoundToExchange(Utility.copy(this.recordedBindings), exchange)) {
+                if(!hasMoreDestinationsBoundToExchange(exchange)) {
                     RecordedExchange x = this.recordedExchanges.get(exchange);
                     // last binding where this exchange is the source is gone, remove recorded exchange
                     // if it is auto-deleted. See bug 26364.
@@ -1043,40 +1229,22 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
         }
     }
 
-    boolean hasMoreDestinationsBoundToExchange(List<RecordedBinding> bindings, String exchange) {
-        boolean result = false;
-        for (RecordedBinding b : bindings) {
-            if(exchange.equals(b.getSource())) {
-                result = true;
-                break;
-            }
-        }
-        return result;
+    boolean hasMoreDestinationsBoundToExchange(String exchange) {
+        return this.recordedBindings.hasSource(exchange);
     }
 
-    boolean hasMoreConsumersOnQueue(Collection<RecordedConsumer> consumers, String queue) {
-        boolean result = false;
-        for (RecordedConsumer c : consumers) {
-            if(queue.equals(c.getQueue())) {
-                result = true;
-                break;
-            }
+    boolean hasMoreConsumersOnQueue(String queue) {
+        synchronized (this.consumers) {
+            return this.consumersByQueue.containsKey(queue);
         }
-        return result;
     }
 
     Set<RecordedBinding> removeBindingsWithDestination(String s) {
-        final Set<RecordedBinding> result = new HashSet<RecordedBinding>();
-        synchronized (this.recordedBindings) {
-            for (Iterator<RecordedBinding> it = this.recordedBindings.iterator(); it.hasNext(); ) {
-                RecordedBinding b = it.next();
-                if(b.getDestination().equals(s)) {
-                    it.remove();
-                    result.add(b);
-                }
-            }
-        }
-        return result;
+        return this.recordedBindings.removeWithDestination(s);
+    }
+
+    List<RecordedBinding> getRecordedBindingsWithDestination(String destination) {
+        return this.recordedBindings.withDestination(destination);
     }
 
     public Map<String, RecordedQueue> getRecordedQueues() {
@@ -1087,8 +1255,12 @@ public class AutorecoveringConnection implements RecoverableConnection, NetworkC
         return recordedExchanges;
     }
 
+    /**
+     * Returns a snapshot of the recorded bindings.
+     * @return the recorded bindings, in the order they were recorded
+     */
     public List<RecordedBinding> getRecordedBindings() {
-        return recordedBindings;
+        return recordedBindings.snapshot();
     }
 
     @Override
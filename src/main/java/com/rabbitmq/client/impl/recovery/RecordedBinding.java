@@ -15,6 +15,8 @@
 
 package com.rabbitmq.client.impl.recovery;
 
+import com.rabbitmq.client.Channel;
+
 import java.io.IOException;
 import java.util.Map;
 
@@ -73,6 +75,14 @@ public abstract class RecordedBinding extends RecordedEntity {
 
     public abstract void recover() throws IOException;
 
+    /**
+     * Creates the binding on the given channel, without waiting for the broker's reply.
+     * Defaults to a synchronous recovery on the channel of the binding.
+     */
+    void recoverNoWait(Channel ch) throws IOException {
+        recover();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,126 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl.recovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recorded bindings of a connection, indexed by source and destination,
+ * so that the operations on the bindings of a given queue or exchange
+ * do not have to scan all the bindings.
+ * <p>
+ * Bindings are kept in the order they have been recorded in.
+ * As the equality of bindings depends on their destination,
+ * destinations must be changed only with {@link #renameDestination(String, String)}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 6.0.0
+ */
+final class RecordedBindings {
+
+    private final Set<RecordedBinding> bindings = new LinkedHashSet<>();
+
+    private final Map<String, Set<RecordedBinding>> bindingsBySource = new HashMap<>();
+
+    private final Map<String, Set<RecordedBinding>> bindingsByDestination = new HashMap<>();
+
+    /**
+     * Record a binding, replacing any equal binding.
+     */
+    synchronized void record(RecordedBinding binding) {
+        remove(binding);
+        bindings.add(binding);
+        index(bindingsBySource, binding.getSource(), binding);
+        index(bindingsByDestination, binding.getDestination(), binding);
+    }
+
+    synchronized boolean remove(RecordedBinding binding) {
+        if (!bindings.remove(binding)) {
+            return false;
+        }
+        unindex(bindingsBySource, binding.getSource(), binding);
+        unindex(bindingsByDestination, binding.getDestination(), binding);
+        return true;
+    }
+
+    synchronized Set<RecordedBinding> removeWithDestination(String destination) {
+        Set<RecordedBinding> removed = bindingsByDestination.remove(destination);
+        if (removed == null) {
+            return Collections.emptySet();
+        }
+        for (RecordedBinding binding : removed) {
+            bindings.remove(binding);
+            unindex(bindingsBySource, binding.getSource(), binding);
+        }
+        return removed;
+    }
+
+    synchronized boolean hasSource(String source) {
+        return bindingsBySource.containsKey(source);
+    }
+
+    synchronized List<RecordedBinding> withDestination(String destination) {
+        Set<RecordedBinding> bound = bindingsByDestination.get(destination);
+        return bound == null ? Collections.emptyList() : new ArrayList<>(bound);
+    }
+
+    /**
+     * Change the destination of the bindings of a renamed queue,
+     * e.g. a server-named queue after recovery.
+     */
+    synchronized void renameDestination(String oldName, String newName) {
+        Set<RecordedBinding> renamed = bindingsByDestination.remove(oldName);
+        if (renamed == null) {
+            return;
+        }
+        for (RecordedBinding binding : renamed) {
+            // the hash code depends on the destination, the binding must be re-hashed
+            bindings.remove(binding);
+            unindex(bindingsBySource, binding.getSource(), binding);
+            binding.setDestination(newName);
+            record(binding);
+        }
+    }
+
+    synchronized List<RecordedBinding> snapshot() {
+        return new ArrayList<>(bindings);
+    }
+
+    synchronized int size() {
+        return bindings.size();
+    }
+
+    private static void index(Map<String, Set<RecordedBinding>> index, String key, RecordedBinding binding) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(binding);
+    }
+
+    private static void unindex(Map<String, Set<RecordedBinding>> index, String key, RecordedBinding binding) {
+        Set<RecordedBinding> indexed = index.get(key);
+        if (indexed != null) {
+            indexed.remove(binding);
+            if (indexed.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
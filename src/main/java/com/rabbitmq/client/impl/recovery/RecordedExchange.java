@@ -15,6 +15,8 @@
 
 package com.rabbitmq.client.impl.recovery;
 
+import com.rabbitmq.client.Channel;
+
 import java.io.IOException;
 import java.util.Map;
 
@@ -35,6 +37,13 @@ public class RecordedExchange extends RecordedNamedEntity {
         this.channel.getDelegate().exchangeDeclare(this.name, this.type, this.durable, this.autoDelete, this.arguments);
     }
 
+    /**
+     * Declares the exchange on the given channel, without waiting for the broker's reply.
+     */
+    void recoverNoWait(Channel ch) throws IOException {
+        ch.exchangeDeclareNoWait(this.name, this.type, this.durable, this.autoDelete, false, this.arguments);
+    }
+
     public RecordedExchange durable(boolean value) {
         this.durable = value;
         return this;
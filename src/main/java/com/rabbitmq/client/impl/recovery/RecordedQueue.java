@@ -15,6 +15,8 @@
 
 package com.rabbitmq.client.impl.recovery;
 
+import com.rabbitmq.client.Channel;
+
 import java.io.IOException;
 import java.util.Map;
 
@@ -57,6 +59,14 @@ public class RecordedQueue extends RecordedNamedEntity {
                                                      this.arguments).getQueue();
     }
 
+    /**
+     * Declares the queue on the given channel, without waiting for the broker's reply.
+     * Server-named queues must be recovered with {@link #recover()}, to learn their new name.
+     */
+    void recoverNoWait(Channel ch) throws IOException {
+        ch.queueDeclareNoWait(this.name, this.durable, this.exclusive, this.autoDelete, this.arguments);
+    }
+
     public String getNameToUseForRecovery() {
         if(isServerNamed()) {
             return EMPTY_STRING;
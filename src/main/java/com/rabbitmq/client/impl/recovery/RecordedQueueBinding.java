@@ -15,6 +15,8 @@
 
 package com.rabbitmq.client.impl.recovery;
 
+import com.rabbitmq.client.Channel;
+
 import java.io.IOException;
 
 /**
@@ -29,6 +31,11 @@ public class RecordedQueueBinding extends RecordedBinding {
     public void recover() throws IOException {
         this.channel.getDelegate().queueBind(this.getDestination(), this.getSource(), this.routingKey, this.arguments);
     }
+
+    @Override
+    void recoverNoWait(Channel ch) throws IOException {
+        ch.queueBindNoWait(this.getDestination(), this.getSource(), this.routingKey, this.arguments);
+    }
     
     @Override
     public String toString() {
@@ -17,7 +17,6 @@ package com.rabbitmq.client.impl.recovery;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.ShutdownSignalException;
-import com.rabbitmq.utility.Utility;
 
 import java.util.function.BiPredicate;
 import static com.rabbitmq.client.impl.recovery.TopologyRecoveryRetryHandlerBuilder.builder;
@@ -104,8 +103,8 @@ public abstract class TopologyRecoveryRetryLogic {
     public static final DefaultRetryHandler.RetryOperation<Void> RECOVER_CONSUMER_QUEUE_BINDINGS = context -> {
         if (context.entity() instanceof RecordedConsumer) {
             String queue = context.consumer().getQueue();
-            for (RecordedBinding recordedBinding : Utility.copy(context.connection().getRecordedBindings())) {
-                if (recordedBinding instanceof RecordedQueueBinding && queue.equals(recordedBinding.getDestination())) {
+            for (RecordedBinding recordedBinding : context.connection().getRecordedBindingsWithDestination(queue)) {
+                if (recordedBinding instanceof RecordedQueueBinding) {
                     recordedBinding.recover();
                 }
             }
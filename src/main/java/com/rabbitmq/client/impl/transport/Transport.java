@@ -0,0 +1,85 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Network transport the client can use instead of blocking IO or JDK NIO.
+ * <p>
+ * A transport opens connections to the broker and moves bytes in and out
+ * of them with its own event loops, e.g. with Linux epoll or io_uring.
+ * It knows nothing about AMQP: the client encodes outbound frames into
+ * buffers it hands over to the {@link TransportConnection}, and decodes
+ * the bytes the transport notifies to the {@link TransportListener}.
+ * <p>
+ * Implementations are typically provided by optional modules and discovered
+ * with {@link java.util.ServiceLoader}, see {@link Transports#discover()}.
+ * A transport that cannot work in the current environment (unsupported OS,
+ * missing native library) must return false from {@link #isAvailable()}:
+ * the client then falls back to NIO.
+ * <p>
+ * This interface is considered a SPI and is likely to move between
+ * minor and patch releases.
+ *
+ * @see com.rabbitmq.client.ConnectionFactory#setTransport(Transport)
+ * @see TransportFrameHandlerFactory
+ * @since 6.0.0
+ */
+public interface Transport {
+
+    /**
+     * Name of the transport, e.g. "epoll".
+     *
+     * @return the name of the transport
+     */
+    String getName();
+
+    /**
+     * Whether the transport can be used in the current environment.
+     *
+     * @return true if the transport can be used
+     */
+    boolean isAvailable();
+
+    /**
+     * Whether the transport supports TLS.
+     * <p>
+     * The client falls back to NIO for TLS connections
+     * if the transport does not support TLS.
+     *
+     * @return true if the transport supports TLS
+     * @see TransportContext#getSslContext()
+     */
+    boolean supportsTls();
+
+    /**
+     * Open a connection.
+     * <p>
+     * The transport must not notify the listener of inbound bytes before
+     * {@link TransportConnection#startReading()} is called.
+     *
+     * @param address  the address of the broker
+     * @param context  settings of the connection
+     * @param listener listener for the inbound bytes and events of the connection
+     * @return the open connection
+     * @throws IOException if the connection cannot be opened
+     */
+    TransportConnection connect(InetSocketAddress address, TransportContext context, TransportListener listener) throws IOException;
+
+}
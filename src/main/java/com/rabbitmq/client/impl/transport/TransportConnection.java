@@ -0,0 +1,77 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import com.rabbitmq.client.impl.NetworkConnection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A connection opened by a {@link Transport}.
+ * <p>
+ * This interface is considered a SPI and is likely to move between
+ * minor and patch releases.
+ *
+ * @see Transport
+ * @since 6.0.0
+ */
+public interface TransportConnection extends NetworkConnection {
+
+    /**
+     * Start notifying inbound bytes to the {@link TransportListener}.
+     * <p>
+     * Called once, when the client is ready to handle inbound frames.
+     */
+    void startReading();
+
+    /**
+     * Send bytes to the broker.
+     * <p>
+     * The transport must consume all the remaining bytes of the buffers
+     * before returning, by writing them to the socket or by copying them.
+     * It must not keep references to the buffers after returning, as they
+     * can wrap application data (e.g. message bodies). The method can block
+     * to apply backpressure.
+     * <p>
+     * Calls are serialized by the client.
+     *
+     * @param buffers the buffers to send
+     * @param offset  offset of the first buffer to send
+     * @param length  number of buffers to send
+     * @throws IOException if the bytes cannot be sent
+     */
+    void write(ByteBuffer[] buffers, int offset, int length) throws IOException;
+
+    /**
+     * Set the read timeout.
+     * <p>
+     * The transport calls {@link TransportListener#readTimedOut()} each time no
+     * bytes have been received for this duration. 0 means no timeout.
+     *
+     * @param timeoutMs the timeout in milliseconds
+     */
+    void setReadTimeout(int timeoutMs);
+
+    /**
+     * Close the connection and release its resources.
+     * <p>
+     * Must not fail if the connection is already closed.
+     */
+    void close();
+
+}
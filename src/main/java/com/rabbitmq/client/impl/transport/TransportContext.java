@@ -0,0 +1,81 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import javax.net.ssl.SSLContext;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Settings of a connection opened by a {@link Transport}.
+ *
+ * @see Transport#connect(java.net.InetSocketAddress, TransportContext, TransportListener)
+ * @since 6.0.0
+ */
+public class TransportContext {
+
+    private final String connectionName;
+
+    private final int connectionTimeout;
+
+    private final SSLContext sslContext;
+
+    private final ThreadFactory threadFactory;
+
+    public TransportContext(String connectionName, int connectionTimeout, SSLContext sslContext, ThreadFactory threadFactory) {
+        this.connectionName = connectionName;
+        this.connectionTimeout = connectionTimeout;
+        this.sslContext = sslContext;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Client-provided name of the connection, can be null.
+     *
+     * @return the name of the connection
+     */
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * TCP connection timeout in milliseconds, 0 means no timeout.
+     *
+     * @return the connection timeout
+     */
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * {@link SSLContext} for TLS connections, null for plain connections.
+     *
+     * @return the SSL context
+     */
+    public SSLContext getSslContext() {
+        return sslContext;
+    }
+
+    /**
+     * {@link ThreadFactory} of the {@link com.rabbitmq.client.ConnectionFactory},
+     * that the transport should use to create its threads.
+     *
+     * @return the thread factory
+     */
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+}
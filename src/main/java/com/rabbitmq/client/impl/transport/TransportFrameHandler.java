@@ -0,0 +1,293 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.impl.AMQConnection;
+import com.rabbitmq.client.impl.ByteArrayPool;
+import com.rabbitmq.client.impl.Environment;
+import com.rabbitmq.client.impl.Frame;
+import com.rabbitmq.client.impl.FrameHandler;
+import com.rabbitmq.client.impl.nio.ByteBufferOutputStream;
+import com.rabbitmq.client.impl.nio.FrameBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link FrameHandler} on top of a {@link TransportConnection}.
+ * <p>
+ * Outbound frames are encoded in a buffer and handed over to the transport
+ * on flush, inbound bytes are decoded into frames in the transport thread
+ * and dispatched to the {@link AMQConnection}, like in NIO mode.
+ *
+ * @see Transport
+ * @since 6.0.0
+ */
+public class TransportFrameHandler implements FrameHandler, TransportListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportFrameHandler.class);
+
+    private static final int BUFFER_SIZE = 32768;
+
+    private final ThreadFactory threadFactory;
+
+    private final ExecutorService shutdownExecutor;
+
+    private final Lock writeLock = new ReentrantLock();
+
+    private final DataOutputStream outputStream;
+
+    private final FrameBuilder frameBuilder;
+
+    /** bytes notified by the transport, only used in the transport thread */
+    private ByteBuffer inbound;
+
+    private volatile TransportConnection transportConnection;
+
+    private volatile AMQConnection connection;
+
+    private volatile int timeout = 0;
+
+    public TransportFrameHandler(ThreadFactory threadFactory, ExecutorService shutdownExecutor, ByteArrayPool byteArrayPool) {
+        this.threadFactory = threadFactory;
+        this.shutdownExecutor = shutdownExecutor;
+        this.outputStream = new DataOutputStream(
+            new ByteBufferOutputStream(new TransportWriteChannel(), ByteBuffer.allocate(BUFFER_SIZE))
+        );
+        ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        readBuffer.flip();
+        this.frameBuilder = new FrameBuilder(new TransportReadChannel(), readBuffer, byteArrayPool);
+    }
+
+    /** private API */
+    public void setTransportConnection(TransportConnection transportConnection) {
+        this.transportConnection = transportConnection;
+    }
+
+    public TransportConnection getTransportConnection() {
+        return transportConnection;
+    }
+
+    @Override
+    public InetAddress getLocalAddress() {
+        return transportConnection.getLocalAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return transportConnection.getLocalPort();
+    }
+
+    @Override
+    public InetAddress getAddress() {
+        return transportConnection.getAddress();
+    }
+
+    @Override
+    public int getPort() {
+        return transportConnection.getPort();
+    }
+
+    @Override
+    public void setTimeout(int timeoutMs) {
+        this.timeout = timeoutMs;
+        transportConnection.setReadTimeout(timeoutMs);
+    }
+
+    @Override
+    public int getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public void sendHeader() throws IOException {
+        writeLock.lock();
+        try {
+            outputStream.write("AMQP".getBytes("US-ASCII"));
+            outputStream.write(0);
+            outputStream.write(AMQP.PROTOCOL.MAJOR);
+            outputStream.write(AMQP.PROTOCOL.MINOR);
+            outputStream.write(AMQP.PROTOCOL.REVISION);
+            outputStream.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void initialize(AMQConnection connection) {
+        this.connection = connection;
+        transportConnection.startReading();
+    }
+
+    @Override
+    public Frame readFrame() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void writeFrame(Frame frame) throws IOException {
+        writeLock.lock();
+        try {
+            frame.writeTo(outputStream);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeLock.lock();
+        try {
+            outputStream.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        transportConnection.close();
+    }
+
+    @Override
+    public void read(ByteBuffer buffer) {
+        final AMQConnection amqConnection = this.connection;
+        this.inbound = buffer;
+        try {
+            Frame frame;
+            while ((frame = frameBuilder.readFrame()) != null) {
+                boolean noProblem = amqConnection.handleReadFrame(frame);
+                if (noProblem && (!amqConnection.isRunning() || amqConnection.hasBrokerInitiatedShutdown())) {
+                    // looks like the frame was Close-Ok or Close
+                    dispatch(amqConnection::doFinalShutdown, amqConnection);
+                    break;
+                }
+            }
+        } catch (Throwable ex) {
+            failed(ex);
+        } finally {
+            this.inbound = null;
+        }
+    }
+
+    @Override
+    public void readTimedOut() {
+        final AMQConnection amqConnection = this.connection;
+        if (amqConnection != null) {
+            // missed heartbeats are counted in the transport thread, like frames,
+            // only the resulting shutdown is dispatched
+            try {
+                amqConnection.handleReadTimeout();
+            } catch (SocketTimeoutException e) {
+                failed(e);
+            }
+        }
+    }
+
+    @Override
+    public void failed(Throwable cause) {
+        final AMQConnection amqConnection = this.connection;
+        if (amqConnection != null && amqConnection.isOpen()) {
+            dispatch(() -> amqConnection.handleIoError(cause), amqConnection);
+        } else {
+            close();
+        }
+    }
+
+    private void dispatch(Runnable task, AMQConnection amqConnection) {
+        // connection shutdown and recovery must not run in the transport thread
+        if (shutdownExecutor != null) {
+            shutdownExecutor.execute(task);
+        } else {
+            String name = "rabbitmq-connection-shutdown-" + amqConnection;
+            Environment.newThread(threadFactory, task, name).start();
+        }
+    }
+
+    private class TransportWriteChannel implements GatheringByteChannel {
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long total = 0;
+            for (int i = offset; i < offset + length; i++) {
+                total += srcs[i].remaining();
+            }
+            transportConnection.write(srcs, offset, length);
+            return total;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) throws IOException {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return (int) write(new ByteBuffer[] {src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            TransportFrameHandler.this.close();
+        }
+    }
+
+    private class TransportReadChannel implements ReadableByteChannel {
+
+        @Override
+        public int read(ByteBuffer dst) {
+            ByteBuffer src = inbound;
+            if (src == null || !src.hasRemaining()) {
+                return 0;
+            }
+            int length = Math.min(src.remaining(), dst.remaining());
+            ByteBuffer slice = src.duplicate();
+            slice.limit(slice.position() + length);
+            dst.put(slice);
+            src.position(src.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
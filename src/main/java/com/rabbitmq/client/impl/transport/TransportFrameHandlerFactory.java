@@ -0,0 +1,78 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import com.rabbitmq.client.Address;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.SslContextFactory;
+import com.rabbitmq.client.impl.AbstractFrameHandlerFactory;
+import com.rabbitmq.client.impl.ByteArrayPool;
+import com.rabbitmq.client.impl.FrameHandler;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@link com.rabbitmq.client.impl.FrameHandlerFactory} that opens connections
+ * with a {@link Transport}.
+ *
+ * @see Transport
+ * @see TransportFrameHandler
+ * @since 6.0.0
+ */
+public class TransportFrameHandlerFactory extends AbstractFrameHandlerFactory {
+
+    private final Transport transport;
+
+    private final SslContextFactory sslContextFactory;
+
+    private final ThreadFactory threadFactory;
+
+    private final ExecutorService shutdownExecutor;
+
+    private final ByteArrayPool byteArrayPool;
+
+    public TransportFrameHandlerFactory(int connectionTimeout, Transport transport, boolean ssl, SslContextFactory sslContextFactory,
+        ThreadFactory threadFactory, ExecutorService shutdownExecutor, ByteArrayPool byteArrayPool) {
+        super(connectionTimeout, null, ssl);
+        this.transport = transport;
+        this.sslContextFactory = sslContextFactory;
+        this.threadFactory = threadFactory;
+        this.shutdownExecutor = shutdownExecutor;
+        this.byteArrayPool = byteArrayPool;
+    }
+
+    @Override
+    public FrameHandler create(Address addr, String connectionName) throws IOException {
+        int portNumber = ConnectionFactory.portOrDefault(addr.getPort(), ssl);
+        SSLContext sslContext = ssl ? sslContextFactory.create(connectionName) : null;
+        TransportContext context = new TransportContext(connectionName, connectionTimeout, sslContext, threadFactory);
+        TransportFrameHandler frameHandler = new TransportFrameHandler(threadFactory, shutdownExecutor, byteArrayPool);
+        TransportConnection transportConnection = transport.connect(
+            new InetSocketAddress(addr.getHost(), portNumber), context, frameHandler
+        );
+        frameHandler.setTransportConnection(transportConnection);
+        return frameHandler;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+}
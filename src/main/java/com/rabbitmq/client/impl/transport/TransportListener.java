@@ -0,0 +1,62 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Listener for the inbound bytes and events of a {@link TransportConnection}.
+ * <p>
+ * Implemented by the client. The transport must call the listener
+ * of a given connection from one thread at a time.
+ * <p>
+ * This interface is considered a SPI and is likely to move between
+ * minor and patch releases.
+ *
+ * @see Transport
+ * @since 6.0.0
+ */
+public interface TransportListener {
+
+    /**
+     * Bytes have been received.
+     * <p>
+     * The listener consumes all the remaining bytes of the buffer, which the transport
+     * can reuse as soon as the method returns. Frames can span several calls.
+     *
+     * @param buffer the received bytes
+     */
+    void read(ByteBuffer buffer);
+
+    /**
+     * No bytes have been received for the read timeout.
+     *
+     * @see TransportConnection#setReadTimeout(int)
+     */
+    void readTimedOut();
+
+    /**
+     * The connection has failed.
+     * <p>
+     * The end of the stream must be notified with an {@link java.io.EOFException}.
+     * The transport does not notify the connection anymore after this call.
+     *
+     * @param cause the cause of the failure
+     */
+    void failed(Throwable cause);
+
+}
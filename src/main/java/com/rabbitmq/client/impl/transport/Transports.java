@@ -0,0 +1,45 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl.transport;
+
+import java.util.ServiceLoader;
+
+/**
+ * Discovery of {@link Transport}s provided by optional modules.
+ *
+ * @see Transport
+ * @since 6.0.0
+ */
+public final class Transports {
+
+    private Transports() { }
+
+    /**
+     * Find the first available {@link Transport} declared with
+     * {@link ServiceLoader} (in {@code META-INF/services/com.rabbitmq.client.impl.transport.Transport}).
+     *
+     * @return the transport, or null if no transport is available
+     */
+    public static Transport discover() {
+        for (Transport transport : ServiceLoader.load(Transport.class, Transport.class.getClassLoader())) {
+            if (transport.isAvailable()) {
+                return transport;
+            }
+        }
+        return null;
+    }
+}
@@ -15,19 +15,16 @@
 
 package com.rabbitmq.tools.jsonrpc;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.TreeNode;
-import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ValueNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -55,67 +52,123 @@ public class JacksonJsonRpcMapper implements JsonRpcMapper {
 
     @Override
     public JsonRpcRequest parse(String requestBody, ServiceDescription description) {
-        JsonFactory jsonFactory = new MappingJsonFactory();
+        try (JsonParser parser = mapper.getFactory().createParser(requestBody)) {
+            return parseRequest(parser, description);
+        } catch (IOException e) {
+            throw new JsonRpcMappingException("Error during JSON parsing", e);
+        }
+    }
+
+    @Override
+    public JsonRpcRequest parse(byte[] requestBody, ServiceDescription description) {
+        try (JsonParser parser = mapper.getFactory().createParser(requestBody)) {
+            return parseRequest(parser, description);
+        } catch (IOException e) {
+            throw new JsonRpcMappingException("Error during JSON parsing", e);
+        }
+    }
+
+    @Override
+    public JsonRpcResponse parse(String responseBody, Class<?> expectedReturnType) {
+        try (JsonParser parser = mapper.getFactory().createParser(responseBody)) {
+            return parseResponse(parser, expectedReturnType);
+        } catch (IOException e) {
+            throw new JsonRpcMappingException("Error during JSON parsing", e);
+        }
+    }
+
+    @Override
+    public JsonRpcResponse parse(byte[] responseBody, Class<?> expectedReturnType) {
+        try (JsonParser parser = mapper.getFactory().createParser(responseBody)) {
+            return parseResponse(parser, expectedReturnType);
+        } catch (IOException e) {
+            throw new JsonRpcMappingException("Error during JSON parsing", e);
+        }
+    }
+
+    @Override
+    public String write(Object input) {
+        try {
+            return mapper.writeValueAsString(input);
+        } catch (JsonProcessingException e) {
+            throw new JsonRpcMappingException("Error during JSON serialization", e);
+        }
+    }
+
+    @Override
+    public byte[] writeAsBytes(Object input) {
+        try {
+            return mapper.writeValueAsBytes(input);
+        } catch (JsonProcessingException e) {
+            throw new JsonRpcMappingException("Error during JSON serialization", e);
+        }
+    }
+
+    private JsonRpcRequest parseRequest(JsonParser parser, ServiceDescription description) throws IOException {
         String method = null, version = null;
-        final List<TreeNode> parameters = new ArrayList<>();
         Object id = null;
-        try (JsonParser parser = jsonFactory.createParser(requestBody)) {
-            while (parser.nextToken() != null) {
-                JsonToken token = parser.currentToken();
-                if (token == JsonToken.FIELD_NAME) {
-                    String name = parser.currentName();
-                    token = parser.nextToken();
-                    if ("method".equals(name)) {
-                        method = parser.getValueAsString();
-                    } else if ("id".equals(name)) {
-                        TreeNode node = parser.readValueAsTree();
-                        if (node instanceof ValueNode) {
-                            ValueNode idNode = (ValueNode) node;
-                            if (idNode.isNull()) {
-                                id = null;
-                            } else if (idNode.isTextual()) {
-                                id = idNode.asText();
-                            } else if (idNode.isNumber()) {
-                                id = Long.valueOf(idNode.asLong());
-                            } else {
-                                LOGGER.warn("ID type not null, text, or number {}, ignoring", idNode);
+        // parameters converted as soon as they are parsed, when the method is known at this point
+        List<Object> convertedParameters = null;
+        // parameters kept as trees otherwise, until the method is known
+        List<TreeNode> parameters = null;
+        while (parser.nextToken() != null) {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                token = parser.nextToken();
+                if ("method".equals(name)) {
+                    method = parser.getValueAsString();
+                } else if ("id".equals(name)) {
+                    id = readId(parser, token);
+                } else if ("version".equals(name)) {
+                    version = parser.getValueAsString();
+                } else if ("params".equals(name)) {
+                    if (token != JsonToken.START_ARRAY) {
+                        throw new IllegalStateException("Field params must be an array");
+                    }
+                    ProcedureDescription proc = method == null ? null : description.getProcedure(method);
+                    if (proc != null && proc.internal_getMethod() != null) {
+                        Class<?>[] parameterTypes = proc.internal_getMethod().getParameterTypes();
+                        convertedParameters = new ArrayList<>(parameterTypes.length);
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            int i = convertedParameters.size();
+                            // extra parameters are kept, the arity mismatch is reported on invocation
+                            Class<?> parameterType = i < parameterTypes.length ? parameterTypes[i] : Object.class;
+                            try {
+                                convertedParameters.add(convert(parser, parameterType));
+                            } catch (IOException e) {
+                                throw new JsonRpcMappingException("Error during parameter conversion", e);
                             }
-                        } else {
-                            LOGGER.warn("ID not a scalar value {}, ignoring", node);
                         }
-                    } else if ("version".equals(name)) {
-                        version = parser.getValueAsString();
-                    } else if ("params".equals(name)) {
-                        if (token == JsonToken.START_ARRAY) {
-                            while (parser.nextToken() != JsonToken.END_ARRAY) {
-                                parameters.add(parser.readValueAsTree());
-                            }
-                        } else {
-                            throw new IllegalStateException("Field params must be an array");
+                    } else {
+                        parameters = new ArrayList<>();
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            parameters.add(parser.readValueAsTree());
                         }
                     }
+                } else {
+                    parser.skipChildren();
                 }
             }
-        } catch (IOException e) {
-            throw new JsonRpcMappingException("Error during JSON parsing", e);
         }
 
         if (method == null) {
             throw new IllegalArgumentException("Could not find method to invoke in request");
         }
 
-        List<Object> convertedParameters = new ArrayList<>(parameters.size());
-        if (!parameters.isEmpty()) {
-            ProcedureDescription proc = description.getProcedure(method, parameters.size());
-            Method internalMethod = proc.internal_getMethod();
-            for (int i = 0; i < internalMethod.getParameterCount(); i++) {
-                TreeNode parameterNode = parameters.get(i);
-                try {
-                    Class<?> parameterType = internalMethod.getParameterTypes()[i];
-                    Object value = convert(parameterNode, parameterType);
-                    convertedParameters.add(value);
-                } catch (IOException e) {
-                    throw new JsonRpcMappingException("Error during parameter conversion", e);
+        if (convertedParameters == null) {
+            convertedParameters = new ArrayList<>(parameters == null ? 0 : parameters.size());
+            if (parameters != null && !parameters.isEmpty()) {
+                ProcedureDescription proc = description.getProcedure(method, parameters.size());
+                Class<?>[] parameterTypes = proc.internal_getMethod().getParameterTypes();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    TreeNode parameterNode = parameters.get(i);
+                    try {
+                        Object value = convert(parameterNode, parameterTypes[i]);
+                        convertedParameters.add(value);
+                    } catch (IOException e) {
+                        throw new JsonRpcMappingException("Error during parameter conversion", e);
+                    }
                 }
             }
         }
@@ -126,49 +179,70 @@ public class JacksonJsonRpcMapper implements JsonRpcMapper {
         );
     }
 
-    @Override
+    private Object readId(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return Long.valueOf(parser.getValueAsLong());
+            case START_OBJECT:
+            case START_ARRAY:
+                TreeNode node = parser.readValueAsTree();
+                LOGGER.warn("ID not a scalar value {}, ignoring", node);
+                return null;
+            default:
+                LOGGER.warn("ID type not null, text, or number {}, ignoring", parser.getText());
+                return null;
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    public JsonRpcResponse parse(String responseBody, Class<?> expectedReturnType) {
-        JsonFactory jsonFactory = new MappingJsonFactory();
+    private JsonRpcResponse parseResponse(JsonParser parser, Class<?> expectedReturnType) throws IOException {
         Object result = null;
         JsonRpcException exception = null;
         Map<String, Object> errorMap = null;
-        try (JsonParser parser = jsonFactory.createParser(responseBody)) {
-            while (parser.nextToken() != null) {
-                JsonToken token = parser.currentToken();
-                if (token == JsonToken.FIELD_NAME) {
-                    String name = parser.currentName();
-                    if ("result".equals(name)) {
-                        parser.nextToken();
-                        if (expectedReturnType == Void.TYPE) {
-                            result = null;
-                        } else {
-                            result = convert(parser.readValueAsTree(), expectedReturnType);
-                        }
-                    } else if ("error".equals(name)) {
-                        errorMap = (Map<String, Object>) convert(parser.readValueAsTree(), Map.class);
-                        exception = new JsonRpcException(
-                            errorMap.toString(),
-                            (String) errorMap.get("name"),
-                            errorMap.get("code") == null ? 0 : (Integer) errorMap.get("code"),
-                            (String) errorMap.get("message"),
-                            errorMap
-                        );
+        while (parser.nextToken() != null) {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("result".equals(name)) {
+                    if (expectedReturnType == Void.TYPE) {
+                        parser.skipChildren();
+                        result = null;
+                    } else {
+                        result = convert(parser, expectedReturnType);
                     }
+                } else if ("error".equals(name)) {
+                    errorMap = (Map<String, Object>) convert(parser, Map.class);
+                    exception = new JsonRpcException(
+                        errorMap.toString(),
+                        (String) errorMap.get("name"),
+                        errorMap.get("code") == null ? 0 : (Integer) errorMap.get("code"),
+                        (String) errorMap.get("message"),
+                        errorMap
+                    );
+                } else {
+                    parser.skipChildren();
                 }
             }
-        } catch (IOException e) {
-            throw new JsonRpcMappingException("Error during JSON parsing", e);
         }
         return new JsonRpcResponse(result, errorMap, exception);
     }
 
-    @Override
-    public String write(Object input) {
-        try {
-            return mapper.writeValueAsString(input);
-        } catch (JsonProcessingException e) {
-            throw new JsonRpcMappingException("Error during JSON serialization", e);
+    /**
+     * Converts the value the parser is positioned on,
+     * without building an intermediate tree.
+     * @since 6.0.0
+     */
+    protected Object convert(JsonParser parser, Class<?> expectedType) throws IOException {
+        if (expectedType == Character.TYPE) {
+            return parser.getText().charAt(0);
+        } else {
+            return mapper.readValue(parser, expectedType);
         }
     }
 
@@ -25,7 +25,8 @@ import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
@@ -121,17 +122,19 @@ public class JsonRpcClient extends RpcClient implements InvocationHandler {
      * @throws TimeoutException if a response is not received within the timeout specified, if any
      */
     public Object call(String method, Object[] params) throws IOException, JsonRpcException, TimeoutException {
-        Map<String, Object> request = new HashMap<String, Object>();
+        // the method comes before the parameters, so that the server
+        // can convert them as it parses the request
+        Map<String, Object> request = new LinkedHashMap<String, Object>();
         request.put("id", null);
         request.put("method", method);
         request.put("version", ServiceDescription.JSON_RPC_VERSION);
         params = (params == null) ? new Object[0] : params;
         request.put("params", params);
-        String requestStr = mapper.write(request);
+        byte[] requestBytes = mapper.writeAsBytes(request);
         try {
-            String replyStr = this.stringCall(requestStr);
+            byte[] replyBytes = this.primitiveCall(requestBytes);
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Reply string: {}", replyStr);
+                LOGGER.debug("Reply string: {}", new String(replyBytes, StandardCharsets.UTF_8));
             }
             Class<?> expectedType;
             if ("system.describe".equals(method) && params.length == 0) {
@@ -140,7 +143,7 @@ public class JsonRpcClient extends RpcClient implements InvocationHandler {
                 ProcedureDescription proc = serviceDescription.getProcedure(method, params.length);
                 expectedType = proc.getReturnType();
             }
-            JsonRpcMapper.JsonRpcResponse reply = mapper.parse(replyStr, expectedType);
+            JsonRpcMapper.JsonRpcResponse reply = mapper.parse(replyBytes, expectedType);
 
             return checkReply(reply);
         } catch (ShutdownSignalException ex) {
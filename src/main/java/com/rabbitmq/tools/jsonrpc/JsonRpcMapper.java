@@ -15,6 +15,8 @@
 
 package com.rabbitmq.tools.jsonrpc;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Abstraction to handle JSON parsing and generation.
  * Used by {@link JsonRpcServer} and {@link JsonRpcClient}.
@@ -49,6 +51,43 @@ public interface JsonRpcMapper {
      */
     String write(Object input);
 
+    /**
+     * Parses a JSON RPC request from its UTF-8 encoded form.
+     * The default implementation decodes the request
+     * and delegates to {@link #parse(String, ServiceDescription)}.
+     * @param requestBody
+     * @param description
+     * @return
+     * @since 6.0.0
+     */
+    default JsonRpcRequest parse(byte[] requestBody, ServiceDescription description) {
+        return parse(new String(requestBody, StandardCharsets.UTF_8), description);
+    }
+
+    /**
+     * Parses a JSON RPC response from its UTF-8 encoded form.
+     * The default implementation decodes the response
+     * and delegates to {@link #parse(String, Class)}.
+     * @param responseBody
+     * @param expectedType
+     * @return
+     * @since 6.0.0
+     */
+    default JsonRpcResponse parse(byte[] responseBody, Class<?> expectedType) {
+        return parse(new String(responseBody, StandardCharsets.UTF_8), expectedType);
+    }
+
+    /**
+     * Serialize an object into UTF-8 encoded JSON.
+     * The default implementation encodes the result of {@link #write(Object)}.
+     * @param input
+     * @return
+     * @since 6.0.0
+     */
+    default byte[] writeAsBytes(Object input) {
+        return write(input).getBytes(StandardCharsets.UTF_8);
+    }
+
     class JsonRpcRequest {
 
         private final Object id;
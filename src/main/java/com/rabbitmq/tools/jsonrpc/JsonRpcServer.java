@@ -22,11 +22,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * JSON-RPC Server class.
@@ -39,6 +46,12 @@ import java.util.Map;
  * <p>
  * {@link JsonRpcServer} delegates JSON parsing and generating to
  * a {@link JsonRpcMapper}.
+ * <p>
+ * The procedures are bound to method handles when the server is created,
+ * and requests and responses are parsed and generated straight from
+ * and to the message bodies, unless {@link #matchingMethod(String, Object[])},
+ * {@link #handleStringCall(String, AMQP.BasicProperties)} or {@link #doCall(String)}
+ * are overridden.
  *
  * @see com.rabbitmq.client.RpcServer
  * @see JsonRpcClient
@@ -61,6 +74,15 @@ public class JsonRpcServer extends StringRpcServer {
      * The instance backing this server.
      */
     public Object interfaceInstance;
+    /**
+     * Method handles of the procedures, indexed by name and arity.
+     * Null if the procedures are looked up with {@link #matchingMethod(String, Object[])}.
+     */
+    private Map<String, ProcedureHandle[]> dispatchTable;
+    /**
+     * Whether requests are processed as bytes, without converting them to strings.
+     */
+    private boolean bytesProcessing;
 
     public JsonRpcServer(Channel channel,
         Class<?> interfaceClass,
@@ -122,6 +144,60 @@ public class JsonRpcServer extends StringRpcServer {
         this.interfaceClass = interfaceClass;
         this.interfaceInstance = interfaceInstance;
         this.serviceDescription = new ServiceDescription(interfaceClass);
+        if (!isOverridden("matchingMethod", String.class, Object[].class)) {
+            this.dispatchTable = createDispatchTable(this.serviceDescription, interfaceInstance);
+        }
+        this.bytesProcessing = !isOverridden("handleStringCall", String.class, AMQP.BasicProperties.class)
+            && !isOverridden("doCall", String.class);
+    }
+
+    private boolean isOverridden(String methodName, Class<?>... parameterTypes) {
+        try {
+            return getClass().getMethod(methodName, parameterTypes).getDeclaringClass() != JsonRpcServer.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Map<String, ProcedureHandle[]> createDispatchTable(ServiceDescription serviceDescription, Object interfaceInstance) {
+        Map<String, ProcedureHandle[]> dispatchTable = new HashMap<>();
+        MethodType invocationType = MethodType.methodType(Object.class, Object[].class);
+        for (ProcedureDescription proc : serviceDescription.getProcs()) {
+            Method method = proc.internal_getMethod();
+            int arity = method.getParameterCount();
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup().unreflect(method)
+                    .bindTo(interfaceInstance)
+                    .asSpreader(Object[].class, arity)
+                    .asType(invocationType);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // e.g. non-public interface, reflection is used for this procedure
+                LOGGER.debug("Could not create method handle for {}, using reflection", method, e);
+                continue;
+            }
+            ProcedureHandle[] handles = dispatchTable.get(proc.name);
+            if (handles == null || handles.length <= arity) {
+                handles = handles == null ? new ProcedureHandle[arity + 1] : Arrays.copyOf(handles, arity + 1);
+                dispatchTable.put(proc.name, handles);
+            }
+            handles[arity] = new ProcedureHandle(method, handle);
+        }
+        return dispatchTable;
+    }
+
+    /**
+     * Overridden to parse the request and generate the response
+     * without going through strings, unless the string handling
+     * methods are overridden.
+     */
+    @Override
+    public byte[] handleCall(byte[] requestBody, AMQP.BasicProperties replyProperties) {
+        if (bytesProcessing) {
+            return doCall(requestBody);
+        } else {
+            return super.handleCall(requestBody, replyProperties);
+        }
     }
 
     /**
@@ -140,15 +216,44 @@ public class JsonRpcServer extends StringRpcServer {
      * @return a JSON-RPC response string (a JSON encoded value)
      */
     public String doCall(String requestBody) {
-        Object id;
-        String method;
-        Object[] params;
-        String response;
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Request: {}", requestBody);
         }
+        String response = mapper.write(process(() -> mapper.parse(requestBody, serviceDescription)));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Response: {}", response);
+        }
+        return response;
+    }
+
+    /**
+     * Runs a single JSON-RPC request.
+     *
+     * @param requestBody the JSON-RPC request (a UTF-8 JSON encoded value)
+     * @return a JSON-RPC response (a UTF-8 JSON encoded value)
+     * @since 6.0.0
+     */
+    public byte[] doCall(byte[] requestBody) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Request: {}", new String(requestBody, StandardCharsets.UTF_8));
+        }
+        byte[] response = mapper.writeAsBytes(process(() -> mapper.parse(requestBody, serviceDescription)));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Response: {}", new String(response, StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    /**
+     * Private API - parses, dispatches a request and builds the response object.
+     */
+    private Map<String, Object> process(Supplier<JsonRpcMapper.JsonRpcRequest> requestParser) {
+        Object id;
+        String method;
+        Object[] params;
+        Map<String, Object> response;
         try {
-            JsonRpcMapper.JsonRpcRequest request = mapper.parse(requestBody, serviceDescription);
+            JsonRpcMapper.JsonRpcRequest request = requestParser.get();
             if (request == null) {
                 response = errorResponse(null, 400, "Bad Request", null);
             } else if (!ServiceDescription.JSON_RPC_VERSION.equals(request.getVersion())) {
@@ -164,19 +269,15 @@ public class JsonRpcServer extends StringRpcServer {
                 } else {
                     Object result;
                     try {
-                        Method matchingMethod = matchingMethod(method, params);
-                        if (LOGGER.isDebugEnabled()) {
-                            Collection<String> parametersValuesAndTypes = new ArrayList<String>();
-                            if (params != null) {
-                                for (Object param : params) {
-                                    parametersValuesAndTypes.add(
-                                        String.format("%s (%s)", param, param == null ? "?" : param.getClass())
-                                    );
-                                }
-                            }
-                            LOGGER.debug("About to invoke {} method with parameters {}", matchingMethod, parametersValuesAndTypes);
+                        ProcedureHandle handle = dispatchTable == null ? null : lookupHandle(method, params.length);
+                        if (handle == null) {
+                            Method matchingMethod = matchingMethod(method, params);
+                            logInvocation(matchingMethod, params);
+                            result = matchingMethod.invoke(interfaceInstance, params);
+                        } else {
+                            logInvocation(handle.method, params);
+                            result = handle.invoke(interfaceInstance, params);
                         }
-                        result = matchingMethod.invoke(interfaceInstance, params);
                         if (LOGGER.isDebugEnabled()) {
                             LOGGER.debug("Invocation returned {} ({})", result, result == null ? "?" : result.getClass());
                         }
@@ -191,12 +292,26 @@ public class JsonRpcServer extends StringRpcServer {
             // Bogus request!
             response = errorResponse(null, 400, "Bad Request", null);
         }
+        return response;
+    }
+
+    private ProcedureHandle lookupHandle(String methodName, int arity) {
+        ProcedureHandle[] handles = dispatchTable.get(methodName);
+        return handles == null || arity >= handles.length ? null : handles[arity];
+    }
 
+    private static void logInvocation(Method method, Object[] params) {
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Response: {}", response);
+            Collection<String> parametersValuesAndTypes = new ArrayList<String>();
+            if (params != null) {
+                for (Object param : params) {
+                    parametersValuesAndTypes.add(
+                        String.format("%s (%s)", param, param == null ? "?" : param.getClass())
+                    );
+                }
+            }
+            LOGGER.debug("About to invoke {} method with parameters {}", method, parametersValuesAndTypes);
         }
-
-        return response;
     }
 
     /**
@@ -212,11 +327,11 @@ public class JsonRpcServer extends StringRpcServer {
     }
 
     /**
-     * Construct and encode a JSON-RPC error response for the request
+     * Construct a JSON-RPC error response for the request
      * ID given, using the code, message, and possible
      * (JSON-encodable) argument passed in.
      */
-    private String errorResponse(Object id, int code, String message, Object errorArg) {
+    private Map<String, Object> errorResponse(Object id, int code, String message, Object errorArg) {
         Map<String, Object> err = new HashMap<String, Object>();
         err.put("name", "JSONRPCError");
         err.put("code", code);
@@ -226,25 +341,60 @@ public class JsonRpcServer extends StringRpcServer {
     }
 
     /**
-     * Construct and encode a JSON-RPC success response for the
+     * Construct a JSON-RPC success response for the
      * request ID given, using the result value passed in.
      */
-    private String resultResponse(Object id, Object result) {
+    private Map<String, Object> resultResponse(Object id, Object result) {
         return response(id, "result", result);
     }
 
     /**
      * Private API - used by errorResponse and resultResponse.
      */
-    private String response(Object id, String label, Object value) {
+    private Map<String, Object> response(Object id, String label, Object value) {
         Map<String, Object> resp = new HashMap<String, Object>();
         resp.put("version", ServiceDescription.JSON_RPC_VERSION);
         if (id != null) {
             resp.put("id", id);
         }
         resp.put(label, value);
-        String respStr = mapper.write(resp);
-        return respStr;
+        return resp;
+    }
+
+    /**
+     * Private API - a procedure bound to a method handle, invoked with the same
+     * outcome as a reflective invocation of the procedure's method: exceptions thrown
+     * by the procedure are wrapped in an {@link InvocationTargetException} and parameters
+     * that would need a conversion are handed over to reflection.
+     */
+    private static final class ProcedureHandle {
+
+        private final Method method;
+        private final MethodHandle handle;
+        private final Class<?>[] parameterTypes;
+        private final Class<?>[] wrappedParameterTypes;
+
+        private ProcedureHandle(Method method, MethodHandle handle) {
+            this.method = method;
+            this.handle = handle;
+            this.parameterTypes = method.getParameterTypes();
+            this.wrappedParameterTypes = MethodType.methodType(void.class, parameterTypes).wrap().parameterArray();
+        }
+
+        Object invoke(Object interfaceInstance, Object[] params) throws IllegalAccessException, InvocationTargetException {
+            for (int i = 0; i < params.length; i++) {
+                Object param = params[i];
+                if (param == null ? parameterTypes[i].isPrimitive() : !wrappedParameterTypes[i].isInstance(param)) {
+                    // e.g. widening conversion or argument mismatch
+                    return method.invoke(interfaceInstance, params);
+                }
+            }
+            try {
+                return handle.invokeExact(params);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
     }
 
     /**
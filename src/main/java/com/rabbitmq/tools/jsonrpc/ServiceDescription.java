@@ -42,6 +42,8 @@ public class ServiceDescription {
 
     /** Map from procedure name to {@link ProcedureDescription} */
     private Map<String, ProcedureDescription> procedures;
+    /** Map from procedure name to {@link ProcedureDescription}, null for overloaded names */
+    private Map<String, ProcedureDescription> proceduresByName;
 
     public ServiceDescription(Map<String, Object> rawServiceDescription) {
         JSONUtil.tryFill(this, rawServiceDescription);
@@ -49,6 +51,7 @@ public class ServiceDescription {
 
     public ServiceDescription(Class<?> klass) {
         this.procedures = new HashMap<>();
+        this.proceduresByName = new HashMap<>();
         for (Method m: klass.getMethods()) {
             ProcedureDescription proc = new ProcedureDescription(m);
             addProcedure(proc);
@@ -67,6 +70,7 @@ public class ServiceDescription {
     /** Private API - used via reflection during parsing/loading */
     public void setProcs(Collection<Map<String, Object>> p) {
         procedures = new HashMap<>();
+        proceduresByName = new HashMap<>();
         for (Map<String, Object> pm: p) {
             ProcedureDescription proc = new ProcedureDescription(pm);
             addProcedure(proc);
@@ -76,6 +80,11 @@ public class ServiceDescription {
     /** Private API - used during initialization */
     private void addProcedure(ProcedureDescription proc) {
         procedures.put(proc.name + "/" + proc.arity(), proc);
+        if (proceduresByName.containsKey(proc.name)) {
+            proceduresByName.put(proc.name, null);
+        } else {
+            proceduresByName.put(proc.name, proc);
+        }
     }
 
     /**
@@ -91,4 +100,14 @@ public class ServiceDescription {
         }
         return proc;
     }
+
+    /**
+     * Looks up a single ProcedureDescription by name only.
+     * Useful to learn about the signature of a procedure before its arity is known.
+     * @return the ProcedureDescription, or null if no procedure or several procedures have this name
+     * @since 6.0.0
+     */
+    public ProcedureDescription getProcedure(String name) {
+        return proceduresByName == null ? null : proceduresByName.get(name);
+    }
 }
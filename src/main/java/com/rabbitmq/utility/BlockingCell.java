@@ -16,12 +16,21 @@
 
 package com.rabbitmq.utility;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Simple one-shot IPC mechanism. Essentially a one-place buffer that cannot be emptied once filled.
+ * <p>
+ * Waiting relies on a {@link ReentrantLock} rather than on the object monitor,
+ * so a virtual thread waiting for a value does not pin its carrier thread.
  */
 public class BlockingCell<T> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition filled = lock.newCondition();
+
     /** Indicator of not-yet-filledness */
     private boolean _filled = false;
 
@@ -44,11 +53,16 @@ public class BlockingCell<T> {
      *
      * @throws InterruptedException if this thread is interrupted
      */
-    public synchronized T get() throws InterruptedException {
-        while (!_filled) {
-            wait();
+    public T get() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!_filled) {
+                filled.await();
+            }
+            return _value;
+        } finally {
+            lock.unlock();
         }
-        return _value;
     }
 
     /**
@@ -60,30 +74,35 @@ public class BlockingCell<T> {
      * @return the waited-for value
      * @throws InterruptedException if this thread is interrupted
      */
-    public synchronized T get(long timeout) throws InterruptedException, TimeoutException {
+    public T get(long timeout) throws InterruptedException, TimeoutException {
         if (timeout == INFINITY) return get();
 
         if (timeout < 0) {
             throw new IllegalArgumentException("Timeout cannot be less than zero");
         }
 
-        long now = System.nanoTime() / NANOS_IN_MILLI;
-        long maxTime = now + timeout;
-        while (!_filled && (now = (System.nanoTime() / NANOS_IN_MILLI)) < maxTime) {
-            wait(maxTime - now);
-        }
+        lock.lock();
+        try {
+            long now = System.nanoTime() / NANOS_IN_MILLI;
+            long maxTime = now + timeout;
+            while (!_filled && (now = (System.nanoTime() / NANOS_IN_MILLI)) < maxTime) {
+                filled.await(maxTime - now, TimeUnit.MILLISECONDS);
+            }
 
-        if (!_filled)
-            throw new TimeoutException();
+            if (!_filled)
+                throw new TimeoutException();
 
-        return _value;
+            return _value;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * As get(), but catches and ignores InterruptedException, retrying until a value appears.
      * @return the waited-for value
      */
-    public synchronized T uninterruptibleGet() {
+    public T uninterruptibleGet() {
         boolean wasInterrupted = false;
         try {
             while (true) {
@@ -110,7 +129,7 @@ public class BlockingCell<T> {
      * @param timeout timeout in milliseconds. -1 means 'infinity': never time out
      * @return the waited-for value
      */
-    public synchronized T uninterruptibleGet(int timeout) throws TimeoutException {
+    public T uninterruptibleGet(int timeout) throws TimeoutException {
         long now = System.nanoTime() / NANOS_IN_MILLI;
         long runTime = now + timeout;
         boolean wasInterrupted = false;
@@ -136,13 +155,18 @@ public class BlockingCell<T> {
      * Store a value in this BlockingCell, throwing {@link IllegalStateException} if the cell already has a value.
      * @param newValue the new value to store
      */
-    public synchronized void set(T newValue) {
-        if (_filled) {
-            throw new IllegalStateException("BlockingCell can only be set once");
+    public void set(T newValue) {
+        lock.lock();
+        try {
+            if (_filled) {
+                throw new IllegalStateException("BlockingCell can only be set once");
+            }
+            _value = newValue;
+            _filled = true;
+            filled.signalAll();
+        } finally {
+            lock.unlock();
         }
-        _value = newValue;
-        _filled = true;
-        notifyAll();
     }
 
     /**
@@ -150,11 +174,16 @@ public class BlockingCell<T> {
      * @return true if this call to setIfUnset actually updated the BlockingCell; false if the cell already had a value.
      * @param newValue the new value to store
      */
-    public synchronized boolean setIfUnset(T newValue) {
-        if (_filled) {
-            return false;
+    public boolean setIfUnset(T newValue) {
+        lock.lock();
+        try {
+            if (_filled) {
+                return false;
+            }
+            set(newValue);
+            return true;
+        } finally {
+            lock.unlock();
         }
-        set(newValue);
-        return true;
     }
 }
@@ -23,6 +23,7 @@ import org.junit.Test;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -67,6 +68,11 @@ public class JacksonJsonRpcTest extends AbstractJsonRpcTest {
             fail("Remote procedure throwing exception, an exception should have been thrown");
         } catch (UndeclaredThrowableException e) {
             assertTrue(e.getCause() instanceof JsonRpcException);
+            JsonRpcException jsonRpcException = (JsonRpcException) e.getCause();
+            assertEquals(500, jsonRpcException.code);
+            // the exception thrown by the procedure is reported wrapped, as with a reflective invocation
+            Map<?, ?> error = (Map<?, ?>) ((Map<?, ?>) jsonRpcException.error).get("error");
+            assertTrue(error.containsKey("targetException"));
         }
     }
 }
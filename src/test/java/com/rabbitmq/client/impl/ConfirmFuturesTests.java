@@ -0,0 +1,78 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.rabbitmq.client.PublishNackedException;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConfirmFutures}
+ */
+public class ConfirmFuturesTests {
+
+    private final ConfirmFutures futures = new ConfirmFutures();
+
+    @Test public void multipleAckCompletesRange() {
+        CompletableFuture<Void> first = futures.add(1);
+        CompletableFuture<Void> second = futures.add(2);
+        CompletableFuture<Void> third = futures.add(3);
+        futures.confirmed(2, true, false);
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        futures.confirmed(3, false, false);
+        assertTrue(third.isDone());
+        assertTrue(futures.isEmpty());
+    }
+
+    @Test public void outOfOrderAck() {
+        CompletableFuture<Void> first = futures.add(1);
+        CompletableFuture<Void> second = futures.add(2);
+        futures.confirmed(2, false, false);
+        assertFalse(first.isDone());
+        assertTrue(second.isDone());
+        futures.confirmed(1, false, false);
+        assertTrue(first.isDone());
+        assertTrue(futures.isEmpty());
+    }
+
+    @Test public void nackCompletesExceptionally() throws InterruptedException {
+        CompletableFuture<Void> future = futures.add(1);
+        futures.confirmed(1, false, true);
+        try {
+            future.get();
+            throw new AssertionError("future should have completed exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PublishNackedException);
+        }
+    }
+
+    @Test public void failCompletesAllFutures() {
+        CompletableFuture<Void> first = futures.add(1);
+        CompletableFuture<Void> second = futures.add(2);
+        futures.fail(new IllegalStateException());
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(futures.isEmpty());
+    }
+}
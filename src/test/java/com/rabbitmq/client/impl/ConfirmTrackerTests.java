@@ -0,0 +1,93 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConfirmTracker}
+ */
+public class ConfirmTrackerTests {
+
+    private final ConfirmTracker tracker = new ConfirmTracker();
+
+    @Test public void emptyWhenNothingPublished() {
+        assertTrue(tracker.isEmpty());
+    }
+
+    @Test public void singleConfirms() {
+        publish(1, 3);
+        assertFalse(tracker.isEmpty());
+        tracker.confirmed(2, false);
+        assertTrue(tracker.isUnconfirmed(1));
+        assertFalse(tracker.isUnconfirmed(2));
+        assertTrue(tracker.isUnconfirmed(3));
+        tracker.confirmed(1, false);
+        assertFalse(tracker.isUnconfirmed(1));
+        assertFalse(tracker.isEmpty());
+        tracker.confirmed(3, false);
+        assertTrue(tracker.isEmpty());
+    }
+
+    @Test public void multipleConfirms() {
+        publish(1, 10);
+        tracker.confirmed(8, false);
+        tracker.confirmed(5, true);
+        for (long seqNo = 1; seqNo <= 5; seqNo++) {
+            assertFalse(tracker.isUnconfirmed(seqNo));
+        }
+        assertTrue(tracker.isUnconfirmed(6));
+        assertFalse(tracker.isUnconfirmed(8));
+        tracker.confirmed(7, true);
+        assertTrue(tracker.isUnconfirmed(9));
+        assertFalse(tracker.isEmpty());
+        tracker.confirmed(10, true);
+        assertTrue(tracker.isEmpty());
+    }
+
+    @Test public void duplicateConfirmsAreIgnored() {
+        publish(1, 2);
+        tracker.confirmed(2, false);
+        tracker.confirmed(2, false);
+        tracker.confirmed(1, true);
+        tracker.confirmed(1, false);
+        assertTrue(tracker.isEmpty());
+    }
+
+    @Test public void manyOutOfOrderConfirms() {
+        int count = 100000;
+        publish(1, count);
+        // confirm backwards, so that the out-of-order ring has to grow
+        for (long seqNo = count; seqNo > 1; seqNo--) {
+            tracker.confirmed(seqNo, false);
+        }
+        assertTrue(tracker.isUnconfirmed(1));
+        assertFalse(tracker.isUnconfirmed(count));
+        assertFalse(tracker.isEmpty());
+        tracker.confirmed(1, false);
+        assertTrue(tracker.isEmpty());
+    }
+
+    private void publish(long from, long to) {
+        for (long seqNo = from; seqNo <= to; seqNo++) {
+            tracker.published(seqNo);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import com.rabbitmq.client.Consumer;
+import com.rabbitmq.client.DefaultConsumer;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConsumerRegistry}
+ */
+public class ConsumerRegistryTests {
+
+    private final ConsumerRegistry registry = new ConsumerRegistry();
+
+    @Test public void emptyRegistry() {
+        assertNull(registry.get("ctag"));
+        assertNull(registry.remove("ctag"));
+        assertTrue(registry.consumers().isEmpty());
+    }
+
+    @Test public void singleConsumer() {
+        Consumer consumer = new DefaultConsumer(null);
+        registry.put("ctag", consumer);
+        assertSame(consumer, registry.get("ctag"));
+        // equal tag, different instance
+        assertSame(consumer, registry.get(new String("ctag")));
+        assertNull(registry.get("other"));
+        assertEquals(1, registry.consumers().size());
+        assertSame(consumer, registry.remove("ctag"));
+        assertNull(registry.get("ctag"));
+    }
+
+    @Test public void severalConsumers() {
+        Consumer consumer1 = new DefaultConsumer(null);
+        Consumer consumer2 = new DefaultConsumer(null);
+        Consumer consumer3 = new DefaultConsumer(null);
+        registry.put("ctag-1", consumer1);
+        registry.put("ctag-2", consumer2);
+        registry.put("ctag-3", consumer3);
+        assertSame(consumer1, registry.get("ctag-1"));
+        assertSame(consumer2, registry.get("ctag-2"));
+        assertSame(consumer3, registry.get("ctag-3"));
+        assertEquals(3, registry.consumers().size());
+
+        registry.remove("ctag-1");
+        registry.remove("ctag-3");
+        assertNull(registry.get("ctag-1"));
+        assertSame(consumer2, registry.get("ctag-2"));
+        assertEquals(1, registry.consumers().size());
+    }
+
+    @Test public void consumersIsASnapshot() {
+        registry.put("ctag-1", new DefaultConsumer(null));
+        assertEquals(1, registry.consumers().size());
+        Map<String, Consumer> snapshot = registry.consumers();
+        registry.put("ctag-2", new DefaultConsumer(null));
+        assertEquals(1, snapshot.size());
+        assertEquals(2, registry.consumers().size());
+    }
+}
@@ -0,0 +1,177 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.LongString;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LazyBasicProperties}
+ */
+public class LazyBasicPropertiesTests {
+
+    @Test public void propertiesAreDecodedLikeEagerProperties() throws IOException {
+        Map<String, Object> headers = new HashMap<String, Object>();
+        headers.put("string", "caf\u00e9");
+        headers.put("int", 42);
+        headers.put("decimal", new BigDecimal("1.5"));
+        headers.put("nested", Collections.singletonMap("key", 1L));
+        headers.put("list", Arrays.asList(1, "a"));
+        headers.put("null", null);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+            .contentType("text/plain")
+            .headers(headers)
+            .deliveryMode(2)
+            .priority(5)
+            .correlationId("\u20ac")
+            .timestamp(new Date(1700000000000L))
+            .appId("app")
+            .build();
+        byte[] payload = properties.toFrame(1, 123456789012L).getPayload();
+
+        AMQP.BasicProperties eager = eager(payload);
+        LazyBasicProperties lazy = new LazyBasicProperties(payload);
+
+        assertEquals(123456789012L, lazy.getBodySize());
+        assertEquals(eager.getContentType(), lazy.getContentType());
+        assertEquals(eager.getDeliveryMode(), lazy.getDeliveryMode());
+        assertEquals(eager.getPriority(), lazy.getPriority());
+        assertEquals(eager.getCorrelationId(), lazy.getCorrelationId());
+        assertEquals(eager.getTimestamp(), lazy.getTimestamp());
+        assertEquals(eager.getAppId(), lazy.getAppId());
+        assertNull(lazy.getContentEncoding());
+        assertNull(lazy.getReplyTo());
+        assertNull(lazy.getClusterId());
+        assertEquals(eager.getHeaders(), lazy.getHeaders());
+    }
+
+    @Test public void headerEntriesAreDecodedOnLookup() throws IOException {
+        Map<String, Object> headers = new HashMap<String, Object>();
+        headers.put("a", "first");
+        headers.put("b", 2);
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder().headers(headers).build();
+        LazyBasicProperties lazy = new LazyBasicProperties(properties.toFrame(1, 0).getPayload());
+
+        Map<String, Object> lazyHeaders = lazy.getHeaders();
+        assertTrue(lazyHeaders instanceof LazyTable);
+        assertEquals("first", lazyHeaders.get("a").toString());
+        assertTrue(lazyHeaders.get("a") instanceof LongString);
+        assertEquals(2, lazyHeaders.get("b"));
+        assertTrue(lazyHeaders.containsKey("b"));
+        assertFalse(lazyHeaders.containsKey("c"));
+        assertNull(lazyHeaders.get("c"));
+        assertEquals(2, lazyHeaders.size());
+        // mutable, like eagerly decoded headers
+        lazyHeaders.put("c", 3);
+        assertEquals(3, lazyHeaders.get("c"));
+    }
+
+    @Test public void repeatedHeaderNameIsDecodedLikeEagerTable() throws IOException {
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entries);
+        for (Object[] entry : new Object[][] {{"a", 1}, {"b", 2}, {"a", 3}}) {
+            out.writeByte(1);
+            out.writeBytes((String) entry[0]);
+            out.writeByte('I');
+            out.writeInt((Integer) entry[1]);
+        }
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        new DataOutputStream(table).writeInt(entries.size());
+        entries.writeTo(table);
+        byte[] bytes = table.toByteArray();
+        Map<String, Object> eager = new ValueReader(new DataInputStream(new ByteArrayInputStream(bytes))).readTable();
+
+        LazyTable lazy = new LazyTable(bytes, 4, bytes.length - 4);
+        assertEquals(eager.get("a"), lazy.get("a"));
+        assertTrue(lazy.containsKey("a"));
+        assertEquals(2, lazy.get("b"));
+        assertEquals(eager, lazy);
+        assertEquals(eager.get("a"), lazy.get("a"));
+
+        // same value before and after the whole table is decoded
+        lazy = new LazyTable(bytes, 4, bytes.length - 4);
+        Object beforeDecoding = lazy.get("a");
+        assertEquals(2, lazy.size());
+        assertEquals(beforeDecoding, lazy.get("a"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test public void nestedValuesAreDecodedOnce() throws IOException {
+        Map<String, Object> headers = new HashMap<String, Object>();
+        headers.put("nested", Collections.singletonMap("key", 1L));
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder().headers(headers).build();
+        LazyBasicProperties lazy = new LazyBasicProperties(properties.toFrame(1, 0).getPayload());
+
+        Map<String, Object> lazyHeaders = lazy.getHeaders();
+        Map<String, Object> nested = (Map<String, Object>) lazyHeaders.get("nested");
+        nested.put("other", 2);
+        assertSame(nested, lazyHeaders.get("nested"));
+        assertEquals(2, ((Map<String, Object>) lazyHeaders.get("nested")).get("other"));
+        // the modified value is kept when the whole table is decoded
+        assertEquals(1, lazyHeaders.size());
+        assertSame(nested, lazyHeaders.get("nested"));
+        assertSame(nested, lazyHeaders.entrySet().iterator().next().getValue());
+    }
+
+    @Test public void lazyPropertiesCanBeEncodedAgain() throws IOException {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+            .contentType("application/json")
+            .messageId("42")
+            .headers(Collections.<String, Object>singletonMap("key", "value"))
+            .build();
+        byte[] payload = properties.toFrame(1, 10).getPayload();
+        LazyBasicProperties lazy = new LazyBasicProperties(payload);
+
+        assertArrayEquals(payload, lazy.toFrame(1, 10).getPayload());
+        assertEquals("application/json", lazy.builder().build().getContentType());
+        assertEquals(lazy, new LazyBasicProperties(payload));
+        assertEquals(lazy.hashCode(), new LazyBasicProperties(payload).hashCode());
+    }
+
+    @Test public void emptyProperties() throws IOException {
+        LazyBasicProperties lazy = new LazyBasicProperties(
+            new AMQP.BasicProperties.Builder().build().toFrame(1, 0).getPayload());
+        assertNull(lazy.getHeaders());
+        assertNull(lazy.getContentType());
+        assertNull(lazy.getTimestamp());
+    }
+
+    private static AMQP.BasicProperties eager(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        in.readShort(); // class id
+        return new AMQP.BasicProperties(in);
+    }
+}
@@ -22,6 +22,9 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
@@ -175,4 +178,64 @@ public class WorkPoolTests {
         List<Object> workList = new ArrayList<Object>(16);
         assertNull(this.pool.nextWorkBlock(workList, 1));
     }
+
+    /**
+     * Test concurrent producers and workers keep per-client ordering.
+     * @throws Exception untested
+     */
+    @Test public void concurrentWorkKeepsOrdering() throws Exception {
+        final int clients = 8;
+        final int itemsPerClient = 10000;
+        final WorkPool<String, Integer> concurrentPool = new WorkPool<String, Integer>(-1);
+        final Map<String, List<Integer>> processed = new ConcurrentHashMap<String, List<Integer>>();
+        for (int i = 0; i < clients; i++) {
+            concurrentPool.registerKey("client" + i);
+            processed.put("client" + i, new ArrayList<Integer>());
+        }
+        final AtomicBoolean producing = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < clients; i++) {
+            final String key = "client" + i;
+            threads.add(new Thread(() -> {
+                for (int item = 0; item < itemsPerClient; item++) {
+                    concurrentPool.addWorkItem(key, item);
+                }
+            }));
+        }
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            workers.add(new Thread(() -> {
+                List<Integer> block = new ArrayList<Integer>();
+                while (true) {
+                    block.clear();
+                    String key = concurrentPool.nextWorkBlock(block, 16);
+                    if (key == null) {
+                        if (!producing.get()) {
+                            return;
+                        }
+                        Thread.yield();
+                        continue;
+                    }
+                    // no other worker can process the same client concurrently
+                    List<Integer> items = processed.get(key);
+                    synchronized (items) {
+                        items.addAll(block);
+                    }
+                    concurrentPool.finishWorkBlock(key);
+                }
+            }));
+        }
+        for (Thread thread : workers) thread.start();
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        producing.set(false);
+        for (Thread thread : workers) thread.join();
+
+        for (List<Integer> items : processed.values()) {
+            assertEquals(itemsPerClient, items.size());
+            for (int i = 0; i < itemsPerClient; i++) {
+                assertEquals(Integer.valueOf(i), items.get(i));
+            }
+        }
+    }
 }
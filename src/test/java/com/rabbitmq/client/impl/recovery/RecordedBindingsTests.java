@@ -0,0 +1,99 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.impl.recovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RecordedBindings}
+ */
+public class RecordedBindingsTests {
+
+    private final RecordedBindings bindings = new RecordedBindings();
+
+    private static RecordedBinding queueBinding(String source, String destination, String routingKey) {
+        return new RecordedQueueBinding(null).source(source).destination(destination).routingKey(routingKey);
+    }
+
+    @Test public void recordReplacesEqualBinding() {
+        RecordedBinding b1 = queueBinding("x", "q", "rk");
+        RecordedBinding b2 = queueBinding("x", "q", "rk");
+        bindings.record(b1);
+        bindings.record(b2);
+        assertEquals(1, bindings.size());
+        assertSame(b2, bindings.snapshot().get(0));
+        assertTrue(bindings.remove(queueBinding("x", "q", "rk")));
+        assertFalse(bindings.remove(queueBinding("x", "q", "rk")));
+        assertEquals(0, bindings.size());
+        assertFalse(bindings.hasSource("x"));
+    }
+
+    @Test public void bindingsAreKeptInRecordingOrder() {
+        RecordedBinding b1 = queueBinding("x1", "q1", "rk");
+        RecordedBinding b2 = queueBinding("x2", "q2", "rk");
+        RecordedBinding b3 = queueBinding("x1", "q2", "rk");
+        bindings.record(b1);
+        bindings.record(b2);
+        bindings.record(b3);
+        assertEquals(Arrays.asList(b1, b2, b3), bindings.snapshot());
+    }
+
+    @Test public void removeWithDestination() {
+        RecordedBinding b1 = queueBinding("x1", "q1", "rk1");
+        RecordedBinding b2 = queueBinding("x1", "q1", "rk2");
+        RecordedBinding b3 = queueBinding("x2", "q2", "rk");
+        bindings.record(b1);
+        bindings.record(b2);
+        bindings.record(b3);
+        Set<RecordedBinding> removed = bindings.removeWithDestination("q1");
+        assertEquals(2, removed.size());
+        assertTrue(removed.contains(b1));
+        assertTrue(removed.contains(b2));
+        assertFalse(bindings.hasSource("x1"));
+        assertTrue(bindings.hasSource("x2"));
+        assertEquals(Arrays.asList(b3), bindings.snapshot());
+        assertTrue(bindings.removeWithDestination("q1").isEmpty());
+    }
+
+    @Test public void renameDestination() {
+        RecordedBinding b1 = queueBinding("x", "amq.gen-1", "rk1");
+        RecordedBinding b2 = queueBinding("x", "amq.gen-1", "rk2");
+        RecordedBinding b3 = queueBinding("x", "q", "rk");
+        bindings.record(b1);
+        bindings.record(b2);
+        bindings.record(b3);
+        bindings.renameDestination("amq.gen-1", "amq.gen-2");
+        assertEquals("amq.gen-2", b1.getDestination());
+        assertEquals("amq.gen-2", b2.getDestination());
+        assertTrue(bindings.withDestination("amq.gen-1").isEmpty());
+        List<RecordedBinding> renamed = bindings.withDestination("amq.gen-2");
+        assertEquals(Arrays.asList(b1, b2), renamed);
+        assertEquals(3, bindings.size());
+        // renamed bindings can still be looked up by equality
+        assertTrue(bindings.remove(queueBinding("x", "amq.gen-2", "rk1")));
+        assertEquals(2, bindings.size());
+        assertTrue(bindings.hasSource("x"));
+    }
+}
@@ -0,0 +1,120 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.impl.nio.BufferedWriteChannel;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BufferedWriteChannelTest {
+
+    @Test
+    public void keepWhatTheSocketDoesNotTake() throws IOException {
+        LimitedChannel socket = new LimitedChannel();
+        BufferedWriteChannel channel = new BufferedWriteChannel(socket, 16);
+        Random random = new Random();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 100; i++) {
+            byte[] first = new byte[random.nextInt(200)];
+            byte[] second = new byte[random.nextInt(200)];
+            random.nextBytes(first);
+            random.nextBytes(second);
+            expected.write(first);
+            expected.write(second);
+            socket.limit = random.nextInt(300);
+            ByteBuffer[] srcs = new ByteBuffer[] {ByteBuffer.wrap(first), ByteBuffer.wrap(second)};
+            assertEquals(first.length + second.length, channel.write(srcs));
+            assertFalse(srcs[0].hasRemaining());
+            assertFalse(srcs[1].hasRemaining());
+            if (random.nextBoolean()) {
+                socket.limit = random.nextInt(300);
+                channel.writeBacklog();
+            }
+        }
+
+        socket.limit = Integer.MAX_VALUE;
+        assertTrue(channel.writeBacklog());
+        assertFalse(channel.hasBacklog());
+        assertArrayEquals(expected.toByteArray(), socket.bytes.toByteArray());
+    }
+
+    @Test
+    public void writesAfterBacklogAreAppended() throws IOException {
+        LimitedChannel socket = new LimitedChannel();
+        BufferedWriteChannel channel = new BufferedWriteChannel(socket, 4);
+        socket.limit = 2;
+        channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}));
+        assertTrue(channel.hasBacklog());
+        socket.limit = 100;
+        // must not reach the socket before the backlog
+        channel.write(ByteBuffer.wrap(new byte[] {5, 6}));
+        assertArrayEquals(new byte[] {1, 2}, socket.bytes.toByteArray());
+        assertTrue(channel.writeBacklog());
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6}, socket.bytes.toByteArray());
+    }
+
+    private static class LimitedChannel implements GatheringByteChannel {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int limit = Integer.MAX_VALUE;
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                while (srcs[i].hasRemaining() && limit > 0) {
+                    bytes.write(srcs[i].get());
+                    limit--;
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[] {src});
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.impl.ByteArrayDataOutput;
+import com.rabbitmq.client.impl.Frame;
+import com.rabbitmq.client.impl.ValueWriter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ByteArrayDataOutputTest {
+
+    static final String[] STRINGS = new String[] {
+        "", "amq.direct", "caf\u00e9", "\u20ac10", "\ud83d\udc07 rabbit",
+        "unpaired \ud83d surrogate", "end \udc07", "\u07ff\u0800\uffff"
+    };
+
+    @Test
+    public void utf8LengthMatchesStringEncoding() {
+        for (String str : STRINGS) {
+            assertEquals(str, str.getBytes(StandardCharsets.UTF_8).length, Frame.utf8Length(str));
+        }
+    }
+
+    @Test
+    public void writeUtf8MatchesStringEncoding() {
+        for (String str : STRINGS) {
+            ByteArrayDataOutput out = new ByteArrayDataOutput(1);
+            out.writeUtf8(str, Frame.utf8Length(str));
+            assertArrayEquals(str, str.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        }
+    }
+
+    @Test
+    public void writeUtfMatchesDataOutputStream() throws IOException {
+        for (String str : STRINGS) {
+            for (String s : new String[] {str, str + "\u0000"}) {
+                ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                new DataOutputStream(expected).writeUTF(s);
+                ByteArrayDataOutput out = new ByteArrayDataOutput(1);
+                out.writeUTF(s);
+                assertArrayEquals(s, expected.toByteArray(), out.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    public void writeUtfRejectsTooLongString() {
+        char[] chars = new char[65536 / 2];
+        Arrays.fill(chars, '\u00e9');
+        ByteArrayDataOutput out = new ByteArrayDataOutput(1);
+        try {
+            out.writeUTF(new String(chars));
+            fail("String longer than 65535 bytes in modified UTF-8 should be rejected");
+        } catch (UTFDataFormatException e) {
+            assertEquals(0, out.size());
+        }
+    }
+
+    @Test
+    public void valueWriterEncodesLikeWithStream() throws IOException {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("k\u00e9y", "v\u20acl");
+        Map<String, Object> table = new LinkedHashMap<>();
+        for (int i = 0; i < STRINGS.length; i++) {
+            table.put("s" + i + STRINGS[i], STRINGS[i]);
+        }
+        table.put("int", 42);
+        table.put("long", 42L);
+        table.put("double", 4.2d);
+        table.put("float", 4.2f);
+        table.put("short", (short) 42);
+        table.put("byte", (byte) 42);
+        table.put("boolean", true);
+        table.put("decimal", new BigDecimal("4.2"));
+        table.put("date", new Date(1000000L));
+        table.put("bytes", new byte[] {1, 2, 3});
+        table.put("array", Arrays.asList("a", 1, "\u00e9"));
+        table.put("table", nested);
+        table.put("null", null);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ValueWriter streamWriter = new ValueWriter(new DataOutputStream(expected));
+        streamWriter.writeShortstr("short \u00e9");
+        streamWriter.writeLongstr("long \ud83d\udc07");
+        streamWriter.writeTable(table);
+        streamWriter.flush();
+
+        ByteArrayDataOutput actual = new ByteArrayDataOutput(16);
+        ValueWriter bufferWriter = new ValueWriter(actual);
+        bufferWriter.writeShortstr("short \u00e9");
+        bufferWriter.writeLongstr("long \ud83d\udc07");
+        bufferWriter.writeTable(table);
+
+        assertEquals(expected.size(), actual.size());
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+}
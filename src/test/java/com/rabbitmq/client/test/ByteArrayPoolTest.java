@@ -0,0 +1,80 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.impl.ByteArrayPool;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ByteArrayPoolTest {
+
+    @Test
+    public void releasedArrayIsReused() {
+        ByteArrayPool pool = new ByteArrayPool();
+        byte[] array = pool.acquire(100);
+        assertThat(array.length, is(100));
+        pool.release(array);
+        assertThat(pool.acquire(100), sameInstance(array));
+        assertThat(pool.acquire(100), not(sameInstance(array)));
+    }
+
+    @Test
+    public void arraysArePooledByExactLength() {
+        ByteArrayPool pool = new ByteArrayPool();
+        byte[] array = pool.acquire(100);
+        pool.release(array);
+        assertThat(pool.acquire(99).length, is(99));
+        assertThat(pool.acquire(101).length, is(101));
+        assertThat(pool.acquire(100), sameInstance(array));
+    }
+
+    @Test
+    public void poolIsBounded() {
+        ByteArrayPool pool = new ByteArrayPool(1000, 2, 1);
+        // array too long
+        byte[] tooLong = new byte[1001];
+        pool.release(tooLong);
+        assertThat(pool.acquire(1001), not(sameInstance(tooLong)));
+
+        // only one array per size class
+        byte[] first = new byte[10];
+        byte[] second = new byte[10];
+        pool.release(first);
+        pool.release(second);
+        assertThat(pool.acquire(10), sameInstance(first));
+        assertThat(pool.acquire(10), not(sameInstance(second)));
+
+        // only two size classes
+        byte[] otherLength = new byte[20];
+        byte[] thirdLength = new byte[30];
+        pool.release(otherLength);
+        pool.release(thirdLength);
+        assertThat(pool.acquire(20), sameInstance(otherLength));
+        assertThat(pool.acquire(30), not(sameInstance(thirdLength)));
+    }
+
+    @Test
+    public void emptyArrayIsNotPooled() {
+        ByteArrayPool pool = new ByteArrayPool();
+        assertThat(pool.acquire(0).length, is(0));
+        pool.release(new byte[0]);
+        assertThat(pool.acquire(0).length, is(0));
+    }
+}
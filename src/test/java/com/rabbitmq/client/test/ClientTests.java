@@ -17,6 +17,7 @@
 package com.rabbitmq.client.test;
 
 import com.rabbitmq.client.JacksonJsonRpcTest;
+import com.rabbitmq.tools.jsonrpc.JsonRpcServerTest;
 import com.rabbitmq.utility.IntAllocatorTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -55,12 +56,21 @@ import org.junit.runners.Suite;
     ChannelAsyncCompletableFutureTest.class,
     RecoveryDelayHandlerTest.class,
     FrameBuilderTest.class,
+    ByteArrayPoolTest.class,
+    ByteArrayDataOutputTest.class,
+    ShortStringCacheTest.class,
+    TimerWheelTest.class,
+    MpscNioQueueTest.class,
+    BufferedWriteChannelTest.class,
+    TransportFrameHandlerTest.class,
+    SocketFrameHandlerTest.class,
     PropertyFileInitialisationTest.class,
     ClientVersionTest.class,
     TestUtilsTest.class,
     StrictExceptionHandlerTest.class,
     NoAutoRecoveryWhenTcpWindowIsFullTest.class,
     JacksonJsonRpcTest.class,
+    JsonRpcServerTest.class,
     AddressTest.class,
     DefaultRetryHandlerTest.class,
     NioDeadlockOnConnectionClosing.class,
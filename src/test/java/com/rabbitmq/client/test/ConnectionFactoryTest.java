@@ -27,6 +27,9 @@ import com.rabbitmq.client.impl.ConnectionParams;
 import com.rabbitmq.client.impl.CredentialsProvider;
 import com.rabbitmq.client.impl.FrameHandler;
 import com.rabbitmq.client.impl.FrameHandlerFactory;
+import com.rabbitmq.client.impl.nio.SocketChannelFrameHandlerFactory;
+import com.rabbitmq.client.impl.transport.Transport;
+import com.rabbitmq.client.impl.transport.TransportFrameHandlerFactory;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -147,4 +150,34 @@ public class ConnectionFactoryTest {
         assertThat(addressResolver.get(), allOf(notNullValue(), instanceOf(ListAddressResolver.class)));
     }
 
+    @Test public void transportIsUsedWhenAvailable() throws Exception {
+        Transport transport = mock(Transport.class);
+        when(transport.isAvailable()).thenReturn(true);
+        ConnectionFactory connectionFactory = new ConnectionFactory();
+        connectionFactory.setTransport(transport);
+        assertThat(createFrameHandlerFactory(connectionFactory), instanceOf(TransportFrameHandlerFactory.class));
+    }
+
+    @Test public void transportFallsBackToNio() throws Exception {
+        Transport transport = mock(Transport.class);
+        when(transport.isAvailable()).thenReturn(true);
+        when(transport.supportsTls()).thenReturn(false);
+        ConnectionFactory connectionFactory = new ConnectionFactory();
+        connectionFactory.setTransport(transport);
+        connectionFactory.useSslProtocol();
+        assertThat(createFrameHandlerFactory(connectionFactory), instanceOf(SocketChannelFrameHandlerFactory.class));
+
+        Transport unavailableTransport = mock(Transport.class);
+        when(unavailableTransport.isAvailable()).thenReturn(false);
+        connectionFactory = new ConnectionFactory();
+        connectionFactory.setTransport(unavailableTransport);
+        assertThat(createFrameHandlerFactory(connectionFactory), instanceOf(SocketChannelFrameHandlerFactory.class));
+    }
+
+    private static FrameHandlerFactory createFrameHandlerFactory(ConnectionFactory connectionFactory) throws Exception {
+        java.lang.reflect.Method method = ConnectionFactory.class.getDeclaredMethod("createFrameHandlerFactory");
+        method.setAccessible(true);
+        return (FrameHandlerFactory) method.invoke(connectionFactory);
+    }
+
 }
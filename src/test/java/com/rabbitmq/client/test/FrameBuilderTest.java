@@ -100,6 +100,37 @@ public class FrameBuilderTest {
         assertThat(frame.getPayload().length, is(3));
     }
 
+    @Test
+    public void buildFrameWithHeaderAndPayloadSplitAcrossCalls() throws IOException {
+        byte[] payload = new byte[1000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        ByteBuffer frameBytes = ByteBuffer.allocate(payload.length + 8);
+        frameBytes.put(b(3)).putShort((short) 42).putInt(payload.length).put(payload).put(end());
+        frameBytes.flip();
+
+        buffer = ByteBuffer.allocate(frameBytes.capacity());
+        buffer.flip();
+        builder = new FrameBuilder(channel, buffer);
+        // header split in the middle, then payload in several chunks
+        int[] chunks = new int[] { 2, 3, 300, 500, 203 };
+        Frame frame = null;
+        for (int chunk : chunks) {
+            assertThat(frame, nullValue());
+            buffer.clear();
+            for (int i = 0; i < chunk; i++) {
+                buffer.put(frameBytes.get());
+            }
+            buffer.flip();
+            frame = builder.readFrame();
+        }
+        assertThat(frame, notNullValue());
+        assertThat(frame.type, is(3));
+        assertThat(frame.channel, is(42));
+        assertThat(frame.getPayload(), is(payload));
+    }
+
     @Test
     public void protocolMismatchHeader() throws IOException {
         ByteBuffer[] buffers = new ByteBuffer[] {
@@ -1,6 +1,7 @@
 package com.rabbitmq.client.test;
 
 import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.impl.AMQCommand;
 import com.rabbitmq.client.impl.Frame;
 import com.rabbitmq.client.impl.nio.ByteBufferOutputStream;
 import org.junit.Test;
@@ -9,9 +10,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -67,6 +70,73 @@ public class FrameTest {
         checkWrittenChunks(totalFrameSize, channel);
     }
 
+    @Test public void writeFramesWithGatheringChannel() throws IOException {
+        List<Frame> frames = new ArrayList<Frame>();
+        Random random = new Random();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 200; i++) {
+            byte[] payload = new byte[random.nextInt(i % 10 == 0 ? 20000 : 2000) + 1];
+            random.nextBytes(payload);
+            Frame frame = new Frame(AMQP.FRAME_BODY, 1, payload);
+            frames.add(frame);
+            frame.writeTo(new DataOutputStream(expected));
+        }
+
+        AccumulatorGatheringByteChannel channel = new AccumulatorGatheringByteChannel();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        DataOutputStream outputStream = new DataOutputStream(new ByteBufferOutputStream(channel, buffer));
+        for (Frame frame : frames) {
+            frame.writeTo(outputStream);
+        }
+        outputStream.flush();
+
+        assertThat(channel.bytes.toByteArray(), equalTo(expected.toByteArray()));
+        assertThat(channel.writes < frames.size(), equalTo(true));
+    }
+
+    @Test public void writeWithGatheringChannelOverSharedBuffer() throws IOException {
+        AccumulatorGatheringByteChannel channel = new AccumulatorGatheringByteChannel();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        // another stream is using the buffer when this one is created
+        buffer.put(new byte[100]);
+        DataOutputStream outputStream = new DataOutputStream(new ByteBufferOutputStream(channel, buffer));
+        // the other stream's write sequence ends
+        buffer.clear();
+
+        byte[] bytes = new byte[50];
+        new Random().nextBytes(bytes);
+        outputStream.write(bytes);
+        outputStream.flush();
+
+        assertThat(channel.bytes.toByteArray(), equalTo(bytes));
+    }
+
+    @Test public void writeBodyFragmentWithoutCopy() throws IOException {
+        byte[] body = new byte[100];
+        new Random().nextBytes(body);
+        Frame frame = Frame.fromBodyFragment(1, body, 10, 50);
+        assertThat(frame.size(), equalTo(50 + AMQCommand.EMPTY_FRAME_SIZE));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        frame.writeTo(new DataOutputStream(bytes));
+        byte[] written = bytes.toByteArray();
+        assertThat(written.length, equalTo(frame.size()));
+        assertThat(Arrays.copyOfRange(written, 7, 57), equalTo(Arrays.copyOfRange(body, 10, 60)));
+        assertThat(frame.getPayload(), equalTo(Arrays.copyOfRange(body, 10, 60)));
+    }
+
+    @Test public void ownedCopyDoesNotShareBody() {
+        byte[] body = new byte[] {1, 2, 3, 4};
+        Frame frame = Frame.fromBodyFragment(1, body, 1, 2);
+        Frame copy = frame.ownedCopy();
+        body[1] = 42;
+        assertThat(copy.getPayload(), equalTo(new byte[] {2, 3}));
+        assertThat(frame.getPayload(), equalTo(new byte[] {42, 3}));
+
+        Frame inbound = new Frame(AMQP.FRAME_BODY, 1, body);
+        assertThat(inbound.ownedCopy() == inbound, equalTo(true));
+    }
+
     private void checkWrittenChunks(int totalFrameSize, AccumulatorWritableByteChannel channel) {
         int totalWritten  = 0;
         for (byte[] chunk : channel.chunks) {
@@ -107,6 +177,50 @@ public class FrameTest {
         }
     }
 
+    private static class AccumulatorGatheringByteChannel implements GatheringByteChannel {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int writes = 0;
+
+        Random random = new Random();
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            writes++;
+            // simulates partial writes
+            long toWrite = random.nextInt(50000) + 1;
+            long written = 0;
+            for (int i = offset; i < offset + length && written < toWrite; i++) {
+                while (srcs[i].hasRemaining() && written < toWrite) {
+                    bytes.write(srcs[i].get());
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) throws IOException {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return (int) write(new ByteBuffer[] {src});
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+        }
+    }
+
     private static class AccumulatorReadableByteChannel implements ReadableByteChannel {
 
         private List<Byte> bytesOfFrames = new LinkedList<Byte>();
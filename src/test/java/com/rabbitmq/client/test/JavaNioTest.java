@@ -186,6 +186,18 @@ public class JavaNioTest {
         assertEquals(1, count.get());
     }
 
+    @Test public void singleSelector() throws Exception {
+        ConnectionFactory cf = new ConnectionFactory();
+        cf.useNio();
+        cf.setNioParams(new NioParams().setSingleSelector(true).setNbIoThreads(2));
+        try (Connection c1 = cf.newConnection(); Connection c2 = cf.newConnection()) {
+            for (int i = 0; i < 10; i++) {
+                sendAndVerifyMessage(c1, 76390);
+                sendAndVerifyMessage(c2, 100);
+            }
+        }
+    }
+
     private void sendAndVerifyMessage(Connection connection, int size) throws Exception {
         CountDownLatch latch = new CountDownLatch(1);
         boolean messageReceived = basicGetBasicConsume(connection, QUEUE, latch, size);
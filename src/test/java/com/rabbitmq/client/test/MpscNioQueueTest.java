@@ -0,0 +1,154 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.impl.nio.MpscNioQueue;
+import com.rabbitmq.client.impl.nio.WriteQueueFullPolicy;
+import com.rabbitmq.client.impl.nio.WriteRequest;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MpscNioQueueTest {
+
+    @Test
+    public void pollInInsertionOrder() throws InterruptedException {
+        MpscNioQueue queue = new MpscNioQueue(10, WriteQueueFullPolicy.failFast());
+        assertTrue(queue.isEmpty());
+        List<WriteRequest> requests = new ArrayList<WriteRequest>();
+        for (int i = 0; i < 10; i++) {
+            WriteRequest request = new TestWriteRequest(0, i);
+            requests.add(request);
+            assertTrue(queue.offer(request));
+        }
+        assertEquals(10, queue.size());
+        for (WriteRequest request : requests) {
+            assertSame(request, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void failFastWhenFull() throws InterruptedException {
+        MpscNioQueue queue = new MpscNioQueue(2, WriteQueueFullPolicy.failFast());
+        assertTrue(queue.offer(new TestWriteRequest(0, 0)));
+        assertTrue(queue.offer(new TestWriteRequest(0, 1)));
+        assertFalse(queue.offer(new TestWriteRequest(0, 2)));
+        assertEquals(2, queue.size());
+        queue.poll();
+        assertTrue(queue.offer(new TestWriteRequest(0, 2)));
+    }
+
+    @Test
+    public void blockUntilTimeoutWhenFull() throws InterruptedException {
+        MpscNioQueue queue = new MpscNioQueue(1, WriteQueueFullPolicy.block(100));
+        assertTrue(queue.offer(new TestWriteRequest(0, 0)));
+        long start = System.nanoTime();
+        assertFalse(queue.offer(new TestWriteRequest(0, 1)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void blockUntilRoomWhenFull() throws InterruptedException {
+        final MpscNioQueue queue = new MpscNioQueue(1, WriteQueueFullPolicy.block(10000));
+        assertTrue(queue.offer(new TestWriteRequest(0, 0)));
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            queue.poll();
+        });
+        consumer.start();
+        assertTrue(queue.offer(new TestWriteRequest(0, 1)));
+        consumer.join();
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void callbackPolicyIsCalledWhenFull() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger(0);
+        MpscNioQueue queue = new MpscNioQueue(1, (request, waitedNanos) -> calls.incrementAndGet() < 3);
+        assertTrue(queue.offer(new TestWriteRequest(0, 0)));
+        assertFalse(queue.offer(new TestWriteRequest(0, 1)));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void concurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int requestsPerProducer = 50000;
+        final MpscNioQueue queue = new MpscNioQueue(1000, WriteQueueFullPolicy.block(10000));
+        final CountDownLatch latch = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            final int producer = i;
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < requestsPerProducer; j++) {
+                        assertTrue(queue.offer(new TestWriteRequest(producer, j)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        int[] expected = new int[producers];
+        int received = 0;
+        long deadline = System.currentTimeMillis() + 30000;
+        while (received < producers * requestsPerProducer && System.currentTimeMillis() < deadline) {
+            TestWriteRequest request = (TestWriteRequest) queue.poll();
+            if (request != null) {
+                assertEquals(expected[request.producer]++, request.sequence);
+                received++;
+            }
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(producers * requestsPerProducer, received);
+        assertTrue(queue.isEmpty());
+    }
+
+    private static class TestWriteRequest implements WriteRequest {
+
+        private final int producer, sequence;
+
+        private TestWriteRequest(int producer, int sequence) {
+            this.producer = producer;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void handle(DataOutputStream dataOutputStream) {
+
+        }
+    }
+}
@@ -38,13 +38,20 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -106,6 +113,135 @@ public class RpcTest {
         client.close();
     }
 
+    @Test
+    public void asyncRpc() throws Exception {
+        rpcServer = new TestRpcServer(serverChannel, queue);
+        new Thread(() -> {
+            try {
+                rpcServer.mainloop();
+            } catch (Exception e) {
+                // safe to ignore when loops ends/server is canceled
+            }
+        }).start();
+        RpcClient client = new RpcClient(clientChannel, "", queue, 1000);
+        List<CompletableFuture<RpcClient.Response>> responses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            responses.add(client.asyncCall(null, ("hello" + i).getBytes()));
+        }
+        for (int i = 0; i < 10; i++) {
+            RpcClient.Response response = responses.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals("*** hello" + i + " ***", new String(response.getBody()));
+        }
+        assertEquals(0, client.getContinuationMap().size());
+        client.close();
+    }
+
+    @Test
+    public void asyncRpcResponseTimeout() throws Exception {
+        RpcClient client = new RpcClient(clientChannel, "", queue);
+        CompletableFuture<RpcClient.Response> response = client.asyncCall(null, "hello".getBytes(), 200);
+        try {
+            response.get(5, TimeUnit.SECONDS);
+            fail("The call should have timed out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertEquals(0, client.getContinuationMap().size());
+        client.close();
+    }
+
+    @Test
+    public void concurrentRpcServer() throws Exception {
+        CountDownLatch slowRequestLatch = new CountDownLatch(1);
+        rpcServer = new TestRpcServer(serverChannel, queue) {
+
+            @Override
+            public byte[] handleCall(Delivery request, AMQP.BasicProperties replyProperties) {
+                if ("slow".equals(new String(request.getBody()))) {
+                    try {
+                        slowRequestLatch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.handleCall(request, replyProperties);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            rpcServer.enableConcurrentProcessing(executor, 4);
+            new Thread(() -> {
+                try {
+                    rpcServer.mainloop();
+                } catch (Exception e) {
+                    // safe to ignore when loops ends/server is canceled
+                }
+            }).start();
+            RpcClient client = new RpcClient(clientChannel, "", queue, 5000);
+            CompletableFuture<RpcClient.Response> slowResponse = client.asyncCall(null, "slow".getBytes());
+            // the slow request does not prevent the others from being processed
+            for (int i = 0; i < 10; i++) {
+                RpcClient.Response response = client.doCall(null, ("hello" + i).getBytes());
+                assertEquals("*** hello" + i + " ***", new String(response.getBody()));
+            }
+            assertFalse(slowResponse.isDone());
+            slowRequestLatch.countDown();
+            assertEquals("*** slow ***", new String(slowResponse.get(5, TimeUnit.SECONDS).getBody()));
+            client.close();
+        } finally {
+            slowRequestLatch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentRpcServerKeepsDeliveringBehindSlowRequest() throws Exception {
+        CountDownLatch slowRequestLatch = new CountDownLatch(1);
+        CountDownLatch slowRequestStarted = new CountDownLatch(1);
+        rpcServer = new TestRpcServer(serverChannel, queue) {
+
+            @Override
+            public byte[] handleCall(Delivery request, AMQP.BasicProperties replyProperties) {
+                if ("slow".equals(new String(request.getBody()))) {
+                    slowRequestStarted.countDown();
+                    try {
+                        slowRequestLatch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.handleCall(request, replyProperties);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // only one request can be in flight beside the slow one
+            rpcServer.enableConcurrentProcessing(executor, 2);
+            new Thread(() -> {
+                try {
+                    rpcServer.mainloop();
+                } catch (Exception e) {
+                    // safe to ignore when loops ends/server is canceled
+                }
+            }).start();
+            RpcClient client = new RpcClient(clientChannel, "", queue, 2000);
+            CompletableFuture<RpcClient.Response> slowResponse = client.asyncCall(null, "slow".getBytes());
+            assertTrue(slowRequestStarted.await(5, TimeUnit.SECONDS));
+            // requests completing behind the slow one are acknowledged and release the prefetch count
+            for (int i = 0; i < 10; i++) {
+                RpcClient.Response response = client.doCall(null, ("hello" + i).getBytes());
+                assertEquals("*** hello" + i + " ***", new String(response.getBody()));
+                assertFalse(slowResponse.isDone());
+            }
+            slowRequestLatch.countDown();
+            assertEquals("*** slow ***", new String(slowResponse.get(5, TimeUnit.SECONDS).getBody()));
+            client.close();
+        } finally {
+            slowRequestLatch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void givenConsumerNotRecoveredCanCreateNewClientOnSameChannelAfterConnectionFailure() throws Exception {
         // see https://github.com/rabbitmq/rabbitmq-java-client/issues/382
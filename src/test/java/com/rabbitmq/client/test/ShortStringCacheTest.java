@@ -0,0 +1,76 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.impl.ShortStringCache;
+import com.rabbitmq.client.impl.ValueReader;
+import com.rabbitmq.client.impl.ValueWriter;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ShortStringCacheTest {
+
+    @Test
+    public void sameBytesGiveSameInstance() throws IOException {
+        ShortStringCache cache = new ShortStringCache(16);
+        String first = read(cache, "amq.ctag-1");
+        String second = read(cache, "amq.ctag-1");
+        assertEquals("amq.ctag-1", first);
+        assertSame(first, second);
+        assertEquals("routing.key", read(cache, "routing.key"));
+        assertSame(first, read(cache, "amq.ctag-1"));
+    }
+
+    @Test
+    public void stringsAreDecodedInUtf8() throws IOException {
+        ShortStringCache cache = new ShortStringCache(16);
+        String str = "caf\u00e9 \u20ac \ud83d\udc07";
+        assertEquals(str, read(cache, str));
+        assertEquals(str, read(cache, str));
+        assertEquals("", read(cache, ""));
+    }
+
+    @Test
+    public void entriesAreEvicted() throws IOException {
+        ShortStringCache cache = new ShortStringCache(1);
+        String first = read(cache, "a");
+        assertEquals("b", read(cache, "b"));
+        String again = read(cache, "a");
+        assertEquals("a", again);
+        assertNotSame(first, again);
+    }
+
+    @Test
+    public void readerWithoutCache() throws IOException {
+        assertEquals("exchange", read(null, "exchange"));
+    }
+
+    private static String read(ShortStringCache cache, String str) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ValueWriter(new DataOutputStream(bytes)).writeShortstr(str);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        return new ValueReader(in, cache).readShortstr();
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.impl.Frame;
+import com.rabbitmq.client.impl.SocketFrameHandler;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SocketFrameHandlerTest {
+
+    @Test
+    public void flushWritesEachTimeWithoutCoalescing() throws Exception {
+        RecordingSocket socket = new RecordingSocket();
+        SocketFrameHandler handler = new SocketFrameHandler(socket, null, null);
+        for (int i = 0; i < 3; i++) {
+            handler.writeFrame(frame(10));
+            handler.flush();
+        }
+        assertEquals(3, socket.out.writes);
+        assertEquals(3 * (10 + 8), socket.out.size());
+    }
+
+    @Test
+    public void flushesAreCombinedWithCoalescing() throws Exception {
+        RecordingSocket socket = new RecordingSocket();
+        final SocketFrameHandler handler = new SocketFrameHandler(socket, null, null,
+            (int) TimeUnit.SECONDS.toMicros(1), 0);
+        final CountDownLatch leaderDone = new CountDownLatch(1);
+        Thread leader = new Thread(() -> {
+            try {
+                handler.writeFrame(frame(10));
+                handler.flush();
+                leaderDone.countDown();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        leader.start();
+        // the leader parks until the end of the coalescing interval
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (leader.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue("leader should be waiting", System.nanoTime() < timeout);
+            Thread.sleep(1);
+        }
+        // the leader is waiting, this flush must return right away
+        handler.writeFrame(frame(20));
+        handler.flush();
+        assertEquals(0, socket.out.writes);
+        assertTrue(leaderDone.await(5, TimeUnit.SECONDS));
+        assertEquals(1, socket.out.writes);
+        assertEquals(10 + 8 + 20 + 8, socket.out.size());
+    }
+
+    @Test
+    public void thresholdTriggersImmediateFlush() throws Exception {
+        RecordingSocket socket = new RecordingSocket();
+        SocketFrameHandler handler = new SocketFrameHandler(socket, null, null,
+            (int) TimeUnit.SECONDS.toMicros(10), 100);
+        long start = System.nanoTime();
+        handler.writeFrame(frame(200));
+        handler.flush();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, socket.out.writes);
+        assertEquals(200 + 8, socket.out.size());
+    }
+
+    private static Frame frame(int payloadSize) {
+        return new Frame(AMQP.FRAME_BODY, 1, new byte[payloadSize]);
+    }
+
+    private static class RecordingSocket extends Socket {
+
+        final RecordingOutputStream out = new RecordingOutputStream();
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return out;
+        }
+    }
+
+    private static class RecordingOutputStream extends ByteArrayOutputStream {
+
+        volatile int writes = 0;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            super.write(b, off, len);
+            writes++;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.impl.nio.TimerWheel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimerWheelTest {
+
+    TimerWheel<String> wheel = new TimerWheel<String>(1000, 8);
+
+    List<String> expired = new ArrayList<String>();
+
+    Map<String, Long> deadlines = new HashMap<String, Long>();
+
+    TimerWheel.DeadlineHandler<String> handler = (item, now) -> {
+        long deadline = deadlines.get(item);
+        if (deadline > now) {
+            return deadline;
+        }
+        expired.add(item);
+        return 0;
+    };
+
+    @Test
+    public void itemsExpireAfterTheirDeadline() {
+        wheel.advance(0, handler);
+        schedule("a", 2500);
+        schedule("b", 5000);
+        wheel.advance(2000, handler);
+        assertTrue(expired.isEmpty());
+        wheel.advance(3000, handler);
+        assertEquals(1, expired.size());
+        assertEquals("a", expired.get(0));
+        wheel.advance(6000, handler);
+        assertEquals(2, expired.size());
+        assertEquals("b", expired.get(1));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pushedBackDeadlinesAreRescheduled() {
+        wheel.advance(0, handler);
+        schedule("a", 2000);
+        deadlines.put("a", 4000L);
+        wheel.advance(3000, handler);
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.size());
+        wheel.advance(5000, handler);
+        assertEquals(1, expired.size());
+    }
+
+    @Test
+    public void deadlinesBeyondTheWheelSpan() {
+        wheel.advance(0, handler);
+        // the wheel spans 8 seconds
+        schedule("a", 20000);
+        for (long now = 1000; now < 20000; now += 1000) {
+            wheel.advance(now, handler);
+            assertTrue(expired.isEmpty());
+        }
+        wheel.advance(21000, handler);
+        assertEquals(1, expired.size());
+    }
+
+    @Test
+    public void largeTimeJumps() {
+        wheel.advance(0, handler);
+        schedule("a", 1000);
+        schedule("b", 3000);
+        wheel.advance(1000000, handler);
+        assertEquals(2, expired.size());
+    }
+
+    private void schedule(String item, long deadline) {
+        deadlines.put(item, deadline);
+        wheel.schedule(item, deadline);
+    }
+}
@@ -0,0 +1,191 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.test;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.MissedHeartbeatException;
+import com.rabbitmq.client.impl.AMQConnection;
+import com.rabbitmq.client.impl.Frame;
+import com.rabbitmq.client.impl.transport.TransportConnection;
+import com.rabbitmq.client.impl.transport.TransportFrameHandler;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransportFrameHandlerTest {
+
+    @Test
+    public void framesAreEncodedOnFlush() throws Exception {
+        RecordingTransportConnection transportConnection = new RecordingTransportConnection();
+        TransportFrameHandler frameHandler = frameHandler(transportConnection);
+
+        List<Frame> frames = frames(20);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (Frame frame : frames) {
+            frameHandler.writeFrame(frame);
+            frame.writeTo(new DataOutputStream(expected));
+        }
+        frameHandler.flush();
+
+        assertThat(transportConnection.bytes.toByteArray(), equalTo(expected.toByteArray()));
+    }
+
+    @Test
+    public void inboundBytesAreDecodedAcrossReads() throws Exception {
+        RecordingTransportConnection transportConnection = new RecordingTransportConnection();
+        TransportFrameHandler frameHandler = frameHandler(transportConnection);
+        AMQConnection connection = mock(AMQConnection.class);
+        when(connection.handleReadFrame(any(Frame.class))).thenReturn(true);
+        when(connection.isRunning()).thenReturn(true);
+        frameHandler.initialize(connection);
+        assertThat(transportConnection.reading, is(true));
+
+        List<Frame> frames = frames(20);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Frame frame : frames) {
+            frame.writeTo(new DataOutputStream(bytes));
+        }
+        byte[] wire = bytes.toByteArray();
+        Random random = new Random();
+        int offset = 0;
+        while (offset < wire.length) {
+            int length = Math.min(wire.length - offset, random.nextInt(5000) + 1);
+            frameHandler.read(ByteBuffer.wrap(wire, offset, length));
+            offset += length;
+        }
+
+        ArgumentCaptor<Frame> captor = ArgumentCaptor.forClass(Frame.class);
+        verify(connection, times(frames.size())).handleReadFrame(captor.capture());
+        for (int i = 0; i < frames.size(); i++) {
+            assertThat(captor.getAllValues().get(i).getPayload(), equalTo(frames.get(i).getPayload()));
+        }
+    }
+
+    @Test
+    public void readTimeoutsAreHandledInTransportThread() throws Exception {
+        AtomicInteger createdThreads = new AtomicInteger(0);
+        TransportFrameHandler frameHandler = new TransportFrameHandler(runnable -> {
+            createdThreads.incrementAndGet();
+            return new Thread(runnable);
+        }, null, null);
+        frameHandler.setTransportConnection(new RecordingTransportConnection());
+        AMQConnection connection = mock(AMQConnection.class);
+        when(connection.isOpen()).thenReturn(true);
+        frameHandler.initialize(connection);
+
+        for (int i = 0; i < 10; i++) {
+            frameHandler.readTimedOut();
+        }
+        verify(connection, times(10)).handleReadTimeout();
+        assertThat(createdThreads.get(), is(0));
+
+        MissedHeartbeatException missedHeartbeat = new MissedHeartbeatException("missed heartbeats");
+        doThrow(missedHeartbeat).when(connection).handleReadTimeout();
+        frameHandler.readTimedOut();
+        // only the shutdown is dispatched
+        verify(connection, timeout(5000)).handleIoError(missedHeartbeat);
+        assertThat(createdThreads.get(), is(1));
+    }
+
+    private static TransportFrameHandler frameHandler(TransportConnection transportConnection) {
+        TransportFrameHandler frameHandler = new TransportFrameHandler(Thread::new, null, null);
+        frameHandler.setTransportConnection(transportConnection);
+        return frameHandler;
+    }
+
+    private static List<Frame> frames(int count) {
+        Random random = new Random();
+        List<Frame> frames = new ArrayList<Frame>();
+        for (int i = 0; i < count; i++) {
+            byte[] payload = new byte[random.nextInt(i % 5 == 0 ? 20000 : 500) + 1];
+            random.nextBytes(payload);
+            frames.add(new Frame(AMQP.FRAME_BODY, 1, payload));
+        }
+        return frames;
+    }
+
+    private static class RecordingTransportConnection implements TransportConnection {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        volatile boolean reading = false;
+
+        @Override
+        public void startReading() {
+            reading = true;
+        }
+
+        @Override
+        public void write(ByteBuffer[] buffers, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                while (buffers[i].hasRemaining()) {
+                    bytes.write(buffers[i].get());
+                }
+            }
+        }
+
+        @Override
+        public void setReadTimeout(int timeoutMs) {
+
+        }
+
+        @Override
+        public void close() {
+
+        }
+
+        @Override
+        public InetAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public int getLocalPort() {
+            return 0;
+        }
+
+        @Override
+        public InetAddress getAddress() {
+            return null;
+        }
+
+        @Override
+        public int getPort() {
+            return 0;
+        }
+    }
+}
@@ -2,15 +2,25 @@ package com.rabbitmq.client.test.functional;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.DefaultConsumer;
 import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.InlineDeliveryConsumer;
 import com.rabbitmq.client.test.BrokerTestCase;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -30,6 +40,54 @@ public class BasicConsume extends BrokerTestCase {
         assertTrue("Not all the messages have been received", nbOfExpectedMessagesHasBeenConsumed);
     }
 
+    @Test public void inlineDeliveryConsumer() throws Exception {
+        final String consumerThreadPrefix = "consumer-work-";
+        ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r);
+            thread.setName(consumerThreadPrefix + thread.getId());
+            return thread;
+        });
+        Connection c = connectionFactory.newConnection(executor);
+        try {
+            Channel ch = c.createChannel();
+            String q = ch.queueDeclare().getQueue();
+            int messageCount = 100;
+            for (int i = 0; i < messageCount; i++) {
+                ch.basicPublish("", q, null, String.valueOf(i).getBytes("UTF-8"));
+            }
+
+            CountDownLatch latch = new CountDownLatch(messageCount);
+            List<String> bodies = Collections.synchronizedList(new ArrayList<String>());
+            AtomicBoolean onConsumerThread = new AtomicBoolean(false);
+            ch.basicConsume(q, true, new InlineCountDownLatchConsumer(ch, latch) {
+                @Override
+                public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties, byte[] body) throws IOException {
+                    if (Thread.currentThread().getName().startsWith(consumerThreadPrefix)) {
+                        onConsumerThread.set(true);
+                    }
+                    bodies.add(new String(body, "UTF-8"));
+                    super.handleDelivery(consumerTag, envelope, properties, body);
+                }
+            });
+
+            assertTrue("Not all the messages have been received", latch.await(5, TimeUnit.SECONDS));
+            assertFalse("Deliveries should not be dispatched on consumer threads", onConsumerThread.get());
+            for (int i = 0; i < messageCount; i++) {
+                assertEquals(String.valueOf(i), bodies.get(i));
+            }
+        } finally {
+            c.close();
+            executor.shutdownNow();
+        }
+    }
+
+    static class InlineCountDownLatchConsumer extends CountDownLatchConsumer implements InlineDeliveryConsumer {
+
+        public InlineCountDownLatchConsumer(Channel channel, CountDownLatch latch) {
+            super(channel, latch);
+        }
+    }
+
     static class CountDownLatchConsumer extends DefaultConsumer {
 
         private final CountDownLatch latch;
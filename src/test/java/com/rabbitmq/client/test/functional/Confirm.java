@@ -26,14 +26,20 @@ import com.rabbitmq.client.ConfirmListener;
 import com.rabbitmq.client.DefaultConsumer;
 import com.rabbitmq.client.GetResponse;
 import com.rabbitmq.client.MessageProperties;
+import com.rabbitmq.client.PublishBatch;
 import com.rabbitmq.client.ShutdownSignalException;
 import com.rabbitmq.client.test.BrokerTestCase;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public class Confirm extends BrokerTestCase
@@ -237,6 +243,32 @@ public class Confirm extends BrokerTestCase
         }
     }
 
+    @Test public void publishBatch()
+        throws IOException, InterruptedException, TimeoutException {
+        long firstSeqNo = channel.getNextPublishSeqNo();
+        PublishBatch batch = new PublishBatch(NUM_MESSAGES);
+        for (long i = 0; i < NUM_MESSAGES; i++) {
+            batch.add("", "confirm-test", MessageProperties.PERSISTENT_BASIC,
+                      "nop".getBytes());
+        }
+        channel.basicPublishBatch(batch);
+        assertEquals(firstSeqNo + NUM_MESSAGES, channel.getNextPublishSeqNo());
+
+        channel.waitForConfirmsOrDie(60000);
+    }
+
+    @Test public void publishAsync()
+        throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>();
+        for (long i = 0; i < NUM_MESSAGES; i++) {
+            futures.add(channel.basicPublishAsync("", "confirm-test",
+                                                  MessageProperties.PERSISTENT_BASIC,
+                                                  "nop".getBytes()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .get(60, TimeUnit.SECONDS);
+    }
+
     @Test public void waitForConfirmsWithoutConfirmSelected()
         throws IOException, InterruptedException
     {
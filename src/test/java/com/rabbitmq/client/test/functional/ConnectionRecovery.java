@@ -877,6 +877,66 @@ public class ConnectionRecovery extends BrokerTestCase {
         }
     }
 
+    @Test public void pipelinedTopologyRecovery() throws Exception {
+        ConnectionFactory connectionFactory = buildConnectionFactoryWithRecoveryEnabled(false);
+        assertEquals(0, connectionFactory.getPipelinedTopologyRecoveryChannels());
+        connectionFactory.setPipelinedTopologyRecovery(2);
+        RecoverableConnection testConnection = (RecoverableConnection) connectionFactory.newConnection();
+        final List<TopologyRecoveryPhase> phases = new CopyOnWriteArrayList<TopologyRecoveryPhase>();
+        testConnection.addRecoveryListener(new RecoveryListener() {
+            @Override
+            public void handleRecovery(Recoverable recoverable) { }
+
+            @Override
+            public void handleRecoveryStarted(Recoverable recoverable) { }
+
+            @Override
+            public void handleTopologyRecoveryPhase(Recoverable recoverable, TopologyRecoveryPhase phase,
+                                                    int entityCount, java.time.Duration duration) {
+                phases.add(phase);
+            }
+        });
+        try {
+            final int queueCount = 20;
+            final String x = "tmp-x-pipelined";
+            final List<String> queues = new ArrayList<String>();
+            Channel testChannel = testConnection.createChannel();
+            testChannel.exchangeDeclare(x, "fanout", false, true, null);
+            for (int i = 0; i < queueCount; i++) {
+                String q = "tmp-q-pipelined-" + i;
+                queues.add(q);
+                testChannel.queueDeclare(q, false, false, true, null);
+                testChannel.queueBind(q, x, "");
+            }
+            String serverNamedQueue = testChannel.queueDeclare().getQueue();
+            testChannel.queueBind(serverNamedQueue, x, "");
+
+            TestUtils.closeAndWaitForRecovery(testConnection);
+            expectChannelRecovery(testChannel);
+            assertEquals(Arrays.asList(TopologyRecoveryPhase.EXCHANGES, TopologyRecoveryPhase.QUEUES,
+                TopologyRecoveryPhase.BINDINGS, TopologyRecoveryPhase.CONSUMERS), phases);
+
+            testChannel.confirmSelect();
+            testChannel.basicPublish(x, "", null, "msg".getBytes());
+            waitForConfirms(testChannel);
+            for (String q : queues) {
+                assertNotNull(testChannel.basicGet(q, true));
+            }
+            String recoveredServerNamedQueue = ((AutorecoveringConnection) testConnection).getRecordedBindings().stream()
+                .map(RecordedBinding::getDestination)
+                .filter(destination -> !queues.contains(destination))
+                .findFirst().get();
+            assertNotNull(testChannel.basicGet(recoveredServerNamedQueue, true));
+
+            for (String q : queues) {
+                testChannel.queueDelete(q);
+            }
+            testChannel.exchangeDelete(x);
+        } finally {
+            testConnection.close();
+        }
+    }
+
     private void assertConsumerCount(int exp, String q) throws IOException {
         assertEquals(exp, channel.queueDeclarePassive(q).getConsumerCount());
     }
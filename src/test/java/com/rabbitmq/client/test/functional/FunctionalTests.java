@@ -16,7 +16,12 @@
 
 package com.rabbitmq.client.test.functional;
 
+import com.rabbitmq.client.impl.ConfirmFuturesTests;
+import com.rabbitmq.client.impl.ConfirmTrackerTests;
+import com.rabbitmq.client.impl.ConsumerRegistryTests;
+import com.rabbitmq.client.impl.LazyBasicPropertiesTests;
 import com.rabbitmq.client.impl.WorkPoolTests;
+import com.rabbitmq.client.impl.recovery.RecordedBindingsTests;
 import com.rabbitmq.client.test.AbstractRMQTestSuite;
 import com.rabbitmq.client.test.Bug20004Test;
 import com.rabbitmq.client.test.RequiredPropertiesSuite;
@@ -66,6 +71,11 @@ import org.junit.runners.Suite;
     InternalExchange.class,
     CcRoutes.class,
     WorkPoolTests.class,
+    ConfirmTrackerTests.class,
+    ConfirmFuturesTests.class,
+    LazyBasicPropertiesTests.class,
+    ConsumerRegistryTests.class,
+    RecordedBindingsTests.class,
     HeadersExchangeValidation.class,
     ConsumerPriorities.class,
     Policies.class,
@@ -0,0 +1,142 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.client.test.performance;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.impl.VirtualThreads;
+import com.rabbitmq.client.test.TestUtils;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compares consumer dispatch on the default fixed thread pool
+ * with dispatch on virtual threads, for consumers that block
+ * (e.g. on a database or HTTP call) in each delivery.
+ */
+public class ConsumerDispatchBenchmark {
+
+    protected static class Parameters {
+        final String host;
+        final int port;
+        final int messageCount;
+        final int channelCount;
+        final int blockingTime;
+
+        public static CommandLine parseCommandLine(String[] args) {
+            CLIHelper helper = CLIHelper.defaultHelper();
+            helper.addOption(new Option("n", "messages", true, "number of messages to send"));
+            helper.addOption(new Option("c", "channels", true, "number of consuming channels"));
+            helper.addOption(new Option("b", "blocking", true, "time in ms each delivery blocks"));
+            return helper.parseCommandLine(args);
+        }
+
+        public Parameters(CommandLine cmd) {
+            host         = cmd.getOptionValue("h", "localhost");
+            port         = CLIHelper.getOptionValue(cmd, "p", AMQP.PROTOCOL.PORT);
+            messageCount = CLIHelper.getOptionValue(cmd, "n", 10000);
+            channelCount = CLIHelper.getOptionValue(cmd, "c", 200);
+            blockingTime = CLIHelper.getOptionValue(cmd, "b", 10);
+        }
+
+        public String toString() {
+            StringBuilder b = new StringBuilder();
+            b.append("host="       + host);
+            b.append(",port="      + port);
+            b.append(",messages="  + messageCount);
+            b.append(",channels="  + channelCount);
+            b.append(",blocking="  + blockingTime);
+            return b.toString();
+        }
+
+    }
+
+    protected final Parameters params;
+
+    public ConsumerDispatchBenchmark(Parameters p) {
+        params = p;
+    }
+
+    public long run(boolean virtualThreads) throws IOException, TimeoutException, InterruptedException {
+        ConnectionFactory connectionFactory = TestUtils.connectionFactory();
+        connectionFactory.setHost(params.host);
+        connectionFactory.setPort(params.port);
+        connectionFactory.setVirtualThreadDispatch(virtualThreads);
+        Connection connection = connectionFactory.newConnection();
+        try {
+            int messagesPerChannel = params.messageCount / params.channelCount;
+            final CountDownLatch latch = new CountDownLatch(messagesPerChannel * params.channelCount);
+            List<String> queues = new ArrayList<String>();
+            for (int i = 0; i < params.channelCount; i++) {
+                Channel channel = connection.createChannel();
+                String queue = channel.queueDeclare().getQueue();
+                channel.basicConsume(queue, true, new DefaultConsumer(channel) {
+                    @Override
+                    public void handleDelivery(String consumerTag, Envelope envelope,
+                                               AMQP.BasicProperties properties, byte[] body) {
+                        try {
+                            Thread.sleep(params.blockingTime);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        latch.countDown();
+                    }
+                });
+                queues.add(queue);
+            }
+
+            long start = System.nanoTime();
+            Channel publishingChannel = connection.createChannel();
+            byte[] body = "".getBytes();
+            for (int i = 0; i < messagesPerChannel; i++) {
+                for (String queue : queues) {
+                    publishingChannel.basicPublish("", queue, null, body);
+                }
+            }
+            latch.await(10, TimeUnit.MINUTES);
+            return System.nanoTime() - start;
+        } finally {
+            connection.abort();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLine cmd = Parameters.parseCommandLine(args);
+        if (cmd == null) return;
+        Parameters params = new Parameters(cmd);
+        System.out.println(params.toString());
+        ConsumerDispatchBenchmark test = new ConsumerDispatchBenchmark(params);
+        System.out.println("fixed thread pool -> " + test.run(false) / 1000000 + "ms");
+        if (VirtualThreads.isAvailable()) {
+            System.out.println("virtual threads   -> " + test.run(true) / 1000000 + "ms");
+        } else {
+            System.out.println("virtual threads   -> not available on this JVM");
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+package com.rabbitmq.client.test.performance;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.impl.AMQCommand;
+import com.rabbitmq.client.impl.AMQImpl;
+import com.rabbitmq.client.impl.Frame;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures allocations per delivery when assembling inbound messages
+ * with eager and lazy decoding of their properties.
+ * No broker needed: the benchmark feeds frames to commands
+ * like a channel does.
+ */
+public class PropertiesDecodingBenchmark {
+
+    protected static class Parameters {
+        final int messageCount;
+        final int headerCount;
+
+        public static CommandLine parseCommandLine(String[] args) {
+            CLIHelper helper = CLIHelper.defaultHelper();
+            helper.addOption(new Option("n", "messages", true, "number of messages to assemble"));
+            helper.addOption(new Option("e", "headers", true, "number of headers per message"));
+            return helper.parseCommandLine(args);
+        }
+
+        public Parameters(CommandLine cmd) {
+            messageCount = CLIHelper.getOptionValue(cmd, "n", 1000000);
+            headerCount  = CLIHelper.getOptionValue(cmd, "e", 10);
+        }
+
+        public String toString() {
+            StringBuilder b = new StringBuilder();
+            b.append("messages="  + messageCount);
+            b.append(",headers="  + headerCount);
+            return b.toString();
+        }
+
+    }
+
+    /** What the consumer reads from the properties of each delivery */
+    enum Access { NONE, CONTENT_TYPE, ONE_HEADER, ALL }
+
+    protected final Parameters params;
+    private final byte[] methodPayload;
+    private final byte[] headerPayload;
+    private final byte[] body = new byte[64];
+    private long sink;
+
+    public PropertiesDecodingBenchmark(Parameters p) throws IOException {
+        params = p;
+        Map<String, Object> headers = new HashMap<String, Object>();
+        for (int i = 0; i < params.headerCount; i++) {
+            headers.put("header-" + i, "value-" + i);
+        }
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+            .contentType("application/json")
+            .deliveryMode(2)
+            .messageId("message-id")
+            .timestamp(new java.util.Date())
+            .headers(headers)
+            .build();
+        methodPayload = new AMQImpl.Basic.Deliver("consumer-tag", 1L, false, "exchange", "routing-key")
+            .toFrame(1).getPayload();
+        headerPayload = properties.toFrame(1, body.length).getPayload();
+    }
+
+    /**
+     * @return allocated bytes per message
+     */
+    public long run(boolean lazy, Access access) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        // warm up
+        assemble(lazy, access, params.messageCount / 10);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        assemble(lazy, access, params.messageCount);
+        return (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / params.messageCount;
+    }
+
+    private void assemble(boolean lazy, Access access, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            AMQCommand command = new AMQCommand(lazy);
+            command.handleFrame(new Frame(AMQP.FRAME_METHOD, 1, methodPayload));
+            // the connection reads each frame into a new array
+            command.handleFrame(new Frame(AMQP.FRAME_HEADER, 1, headerPayload.clone()));
+            command.handleFrame(new Frame(AMQP.FRAME_BODY, 1, body));
+            AMQP.BasicProperties properties = (AMQP.BasicProperties) command.getContentHeader();
+            switch (access) {
+                case CONTENT_TYPE:
+                    sink += properties.getContentType().length();
+                    break;
+                case ONE_HEADER:
+                    sink += properties.getHeaders().get("header-0").hashCode();
+                    break;
+                case ALL:
+                    sink += properties.getContentType().length() + properties.getDeliveryMode()
+                        + properties.getMessageId().length() + properties.getTimestamp().getTime()
+                        + properties.getHeaders().size();
+                    break;
+                default:
+                    sink += properties.getBodySize();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLine cmd = Parameters.parseCommandLine(args);
+        if (cmd == null) return;
+        Parameters params = new Parameters(cmd);
+        System.out.println(params.toString());
+        PropertiesDecodingBenchmark test = new PropertiesDecodingBenchmark(params);
+        for (Access access : Access.values()) {
+            System.out.printf("%-13s eager -> %5d bytes/message, lazy -> %5d bytes/message%n",
+                access, test.run(false, access), test.run(true, access));
+        }
+        System.out.println("(" + test.sink + ")");
+    }
+
+}
@@ -0,0 +1,174 @@
+// Copyright (c) 2007-Present Pivotal Software, Inc.  All rights reserved.
+//
+// This software, the RabbitMQ Java client library, is triple-licensed under the
+// Mozilla Public License 1.1 ("MPL"), the GNU General Public License version 2
+// ("GPL") and the Apache License version 2 ("ASL"). For the MPL, please see
+// LICENSE-MPL-RabbitMQ. For the GPL, please see LICENSE-GPL2.  For the ASL,
+// please see LICENSE-APACHE2.
+//
+// This software is distributed on an "AS IS" basis, WITHOUT WARRANTY OF ANY KIND,
+// either express or implied. See the LICENSE file for specific language governing
+// rights and limitations of this software.
+//
+// If you have any questions regarding licensing, please contact us at
+// info@rabbitmq.com.
+
+
+package com.rabbitmq.tools.jsonrpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class JsonRpcServerTest {
+
+    Channel channel = mock(Channel.class);
+    ObjectMapper json = new ObjectMapper();
+
+    @Test
+    public void parametersAreParsedBeforeAndAfterMethod() throws Exception {
+        JsonRpcServer server = new JsonRpcServer(channel, "queue", Calculator.class, new DefaultCalculator());
+        assertEquals(3, call(server, "{\"version\":\"1.1\",\"id\":1,\"method\":\"add\",\"params\":[1,2]}").get("result"));
+        assertEquals(3, call(server, "{\"version\":\"1.1\",\"id\":1,\"params\":[1,2],\"method\":\"add\"}").get("result"));
+        assertEquals(
+            "hello world",
+            call(server, "{\"params\":[\"hello\",\"world\"],\"id\":1,\"method\":\"greet\",\"version\":\"1.1\"}").get("result")
+        );
+    }
+
+    @Test
+    public void overloadedProceduresAreDispatchedByArity() throws Exception {
+        JsonRpcServer server = new JsonRpcServer(channel, "queue", Calculator.class, new DefaultCalculator());
+        assertEquals("hello", call(server, "{\"version\":\"1.1\",\"id\":1,\"method\":\"greet\",\"params\":[\"hello\"]}").get("result"));
+        assertEquals(
+            "hello world",
+            call(server, "{\"version\":\"1.1\",\"id\":1,\"method\":\"greet\",\"params\":[\"hello\",\"world\"]}").get("result")
+        );
+    }
+
+    @Test
+    public void nonPublicInterfaceFallsBackToReflection() throws Exception {
+        JsonRpcServer server = new JsonRpcServer(channel, "queue", HiddenCalculator.class, new DefaultHiddenCalculator());
+        assertEquals(3, call(server, "{\"version\":\"1.1\",\"id\":1,\"method\":\"add\",\"params\":[1,2]}").get("result"));
+    }
+
+    @Test
+    public void overriddenMatchingMethodIsUsed() throws Exception {
+        AtomicInteger lookups = new AtomicInteger(0);
+        JsonRpcServer server = new JsonRpcServer(channel, "queue", Calculator.class, new DefaultCalculator()) {
+
+            @Override
+            public Method matchingMethod(String methodName, Object[] params) {
+                lookups.incrementAndGet();
+                return super.matchingMethod(methodName, params);
+            }
+        };
+        assertEquals(3, call(server, "{\"version\":\"1.1\",\"id\":1,\"method\":\"add\",\"params\":[1,2]}").get("result"));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void overriddenStringHandlingIsUsed() throws Exception {
+        List<String> requests = new ArrayList<>();
+        JsonRpcServer server = new JsonRpcServer(channel, "queue", Calculator.class, new DefaultCalculator()) {
+
+            @Override
+            public String doCall(String requestBody) {
+                requests.add(requestBody);
+                return super.doCall(requestBody);
+            }
+        };
+        String request = "{\"version\":\"1.1\",\"id\":1,\"method\":\"add\",\"params\":[1,2]}";
+        assertEquals(3, call(server, request).get("result"));
+        assertEquals(1, requests.size());
+        assertEquals(request, requests.get(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void procedureExceptionIsReportedAsInvocationTargetException() throws Exception {
+        String request = "{\"version\":\"1.1\",\"id\":1,\"method\":\"fail\",\"params\":[\"boom\"]}";
+        JsonRpcServer server = new JsonRpcServer(channel, "queue", Calculator.class, new DefaultCalculator());
+        JsonRpcServer reflectionServer = new JsonRpcServer(channel, "queue", Calculator.class, new DefaultCalculator()) {
+
+            @Override
+            public Method matchingMethod(String methodName, Object[] params) {
+                return super.matchingMethod(methodName, params);
+            }
+        };
+        for (JsonRpcServer s : new JsonRpcServer[] {server, reflectionServer}) {
+            Map<String, Object> response = call(s, request);
+            assertNull(response.get("result"));
+            Map<String, Object> error = (Map<String, Object>) response.get("error");
+            assertEquals(500, error.get("code"));
+            Map<String, Object> exception = (Map<String, Object>) error.get("error");
+            Map<String, Object> targetException = (Map<String, Object>) exception.get("targetException");
+            assertEquals("boom", targetException.get("message"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> call(JsonRpcServer server, String request) throws IOException {
+        byte[] response = server.handleCall(request.getBytes(StandardCharsets.UTF_8), null);
+        return json.readValue(response, Map.class);
+    }
+
+    public interface Calculator {
+
+        int add(int a, int b);
+
+        String greet(String name);
+
+        String greet(String greeting, String name);
+
+        void fail(String message);
+    }
+
+    public static class DefaultCalculator implements Calculator {
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public String greet(String name) {
+            return name;
+        }
+
+        @Override
+        public String greet(String greeting, String name) {
+            return greeting + " " + name;
+        }
+
+        @Override
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    interface HiddenCalculator {
+
+        int add(int a, int b);
+    }
+
+    static class DefaultHiddenCalculator implements HiddenCalculator {
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+    }
+}